@@ -2085,7 +2085,7 @@ public class Parser extends AbstractParser {
     }
 
     private static boolean isReservedWordSequence(final String name) {
-        TokenType tokenType = TokenLookup.lookupKeyword(name.toCharArray(), 0, name.length());
+        TokenType tokenType = TokenLookup.lookupKeyword(name, 0, name.length());
         return (tokenType != IDENT && !tokenType.isContextualKeyword() && !tokenType.isFutureStrict());
     }
 
@@ -2133,7 +2133,7 @@ public class Parser extends AbstractParser {
         if (ident.tokenType().isFutureStrict()) {
             return true;
         } else if (isEscapedIdent(ident)) {
-            TokenType tokenType = TokenLookup.lookupKeyword(ident.getName().toCharArray(), 0, ident.getName().length());
+            TokenType tokenType = TokenLookup.lookupKeyword(ident.getName(), 0, ident.getName().length());
             return (tokenType != IDENT && tokenType.isFutureStrict());
         }
         return false;
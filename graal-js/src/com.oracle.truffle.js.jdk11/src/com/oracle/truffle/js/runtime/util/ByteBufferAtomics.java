@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public final class ByteBufferAtomics {
+    private static final VarHandle INT32 = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INT64 = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private ByteBufferAtomics() {
+    }
+
+    public static int getIntVolatile(ByteBuffer buffer, int index) {
+        return (int) INT32.getVolatile(buffer, index);
+    }
+
+    public static void setIntVolatile(ByteBuffer buffer, int index, int value) {
+        INT32.setVolatile(buffer, index, value);
+    }
+
+    public static int compareAndExchangeInt(ByteBuffer buffer, int index, int expected, int newValue) {
+        return (int) INT32.compareAndExchange(buffer, index, expected, newValue);
+    }
+
+    public static int getAndAddInt(ByteBuffer buffer, int index, int delta) {
+        return (int) INT32.getAndAdd(buffer, index, delta);
+    }
+
+    public static int getAndBitwiseAndInt(ByteBuffer buffer, int index, int mask) {
+        return (int) INT32.getAndBitwiseAnd(buffer, index, mask);
+    }
+
+    public static int getAndBitwiseOrInt(ByteBuffer buffer, int index, int mask) {
+        return (int) INT32.getAndBitwiseOr(buffer, index, mask);
+    }
+
+    public static int getAndBitwiseXorInt(ByteBuffer buffer, int index, int mask) {
+        return (int) INT32.getAndBitwiseXor(buffer, index, mask);
+    }
+
+    public static int getAndSetInt(ByteBuffer buffer, int index, int newValue) {
+        return (int) INT32.getAndSet(buffer, index, newValue);
+    }
+
+    public static long getLongVolatile(ByteBuffer buffer, int index) {
+        return (long) INT64.getVolatile(buffer, index);
+    }
+
+    public static void setLongVolatile(ByteBuffer buffer, int index, long value) {
+        INT64.setVolatile(buffer, index, value);
+    }
+
+    public static long compareAndExchangeLong(ByteBuffer buffer, int index, long expected, long newValue) {
+        return (long) INT64.compareAndExchange(buffer, index, expected, newValue);
+    }
+
+    public static long getAndAddLong(ByteBuffer buffer, int index, long delta) {
+        return (long) INT64.getAndAdd(buffer, index, delta);
+    }
+
+    public static long getAndBitwiseAndLong(ByteBuffer buffer, int index, long mask) {
+        return (long) INT64.getAndBitwiseAnd(buffer, index, mask);
+    }
+
+    public static long getAndBitwiseOrLong(ByteBuffer buffer, int index, long mask) {
+        return (long) INT64.getAndBitwiseOr(buffer, index, mask);
+    }
+
+    public static long getAndBitwiseXorLong(ByteBuffer buffer, int index, long mask) {
+        return (long) INT64.getAndBitwiseXor(buffer, index, mask);
+    }
+
+    public static long getAndSetLong(ByteBuffer buffer, int index, long newValue) {
+        return (long) INT64.getAndSet(buffer, index, newValue);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+import sun.misc.Unsafe;
+
+public final class ByteBufferAtomics {
+    private ByteBufferAtomics() {
+    }
+
+    private static long address(ByteBuffer buffer, int index, int size) {
+        assert buffer.isDirect();
+        if (index < 0 || index > buffer.limit() - size) {
+            throw new IndexOutOfBoundsException();
+        }
+        long address = UNSAFE.getLong(buffer, ADDRESS_OFFSET) + index;
+        assert (address & (size - 1)) == 0 : "misaligned access";
+        return address;
+    }
+
+    public static int getIntVolatile(ByteBuffer buffer, int index) {
+        return UNSAFE.getIntVolatile(null, address(buffer, index, Integer.BYTES));
+    }
+
+    public static void setIntVolatile(ByteBuffer buffer, int index, int value) {
+        UNSAFE.putIntVolatile(null, address(buffer, index, Integer.BYTES), value);
+    }
+
+    public static int compareAndExchangeInt(ByteBuffer buffer, int index, int expected, int newValue) {
+        long address = address(buffer, index, Integer.BYTES);
+        int witness;
+        do {
+            witness = UNSAFE.getIntVolatile(null, address);
+        } while (witness == expected && !UNSAFE.compareAndSwapInt(null, address, expected, newValue));
+        return witness;
+    }
+
+    public static int getAndAddInt(ByteBuffer buffer, int index, int delta) {
+        return UNSAFE.getAndAddInt(null, address(buffer, index, Integer.BYTES), delta);
+    }
+
+    public static int getAndBitwiseAndInt(ByteBuffer buffer, int index, int mask) {
+        long address = address(buffer, index, Integer.BYTES);
+        int previous;
+        do {
+            previous = UNSAFE.getIntVolatile(null, address);
+        } while (!UNSAFE.compareAndSwapInt(null, address, previous, previous & mask));
+        return previous;
+    }
+
+    public static int getAndBitwiseOrInt(ByteBuffer buffer, int index, int mask) {
+        long address = address(buffer, index, Integer.BYTES);
+        int previous;
+        do {
+            previous = UNSAFE.getIntVolatile(null, address);
+        } while (!UNSAFE.compareAndSwapInt(null, address, previous, previous | mask));
+        return previous;
+    }
+
+    public static int getAndBitwiseXorInt(ByteBuffer buffer, int index, int mask) {
+        long address = address(buffer, index, Integer.BYTES);
+        int previous;
+        do {
+            previous = UNSAFE.getIntVolatile(null, address);
+        } while (!UNSAFE.compareAndSwapInt(null, address, previous, previous ^ mask));
+        return previous;
+    }
+
+    public static int getAndSetInt(ByteBuffer buffer, int index, int newValue) {
+        return UNSAFE.getAndSetInt(null, address(buffer, index, Integer.BYTES), newValue);
+    }
+
+    public static long getLongVolatile(ByteBuffer buffer, int index) {
+        return UNSAFE.getLongVolatile(null, address(buffer, index, Long.BYTES));
+    }
+
+    public static void setLongVolatile(ByteBuffer buffer, int index, long value) {
+        UNSAFE.putLongVolatile(null, address(buffer, index, Long.BYTES), value);
+    }
+
+    public static long compareAndExchangeLong(ByteBuffer buffer, int index, long expected, long newValue) {
+        long address = address(buffer, index, Long.BYTES);
+        long witness;
+        do {
+            witness = UNSAFE.getLongVolatile(null, address);
+        } while (witness == expected && !UNSAFE.compareAndSwapLong(null, address, expected, newValue));
+        return witness;
+    }
+
+    public static long getAndAddLong(ByteBuffer buffer, int index, long delta) {
+        return UNSAFE.getAndAddLong(null, address(buffer, index, Long.BYTES), delta);
+    }
+
+    public static long getAndBitwiseAndLong(ByteBuffer buffer, int index, long mask) {
+        long address = address(buffer, index, Long.BYTES);
+        long previous;
+        do {
+            previous = UNSAFE.getLongVolatile(null, address);
+        } while (!UNSAFE.compareAndSwapLong(null, address, previous, previous & mask));
+        return previous;
+    }
+
+    public static long getAndBitwiseOrLong(ByteBuffer buffer, int index, long mask) {
+        long address = address(buffer, index, Long.BYTES);
+        long previous;
+        do {
+            previous = UNSAFE.getLongVolatile(null, address);
+        } while (!UNSAFE.compareAndSwapLong(null, address, previous, previous | mask));
+        return previous;
+    }
+
+    public static long getAndBitwiseXorLong(ByteBuffer buffer, int index, long mask) {
+        long address = address(buffer, index, Long.BYTES);
+        long previous;
+        do {
+            previous = UNSAFE.getLongVolatile(null, address);
+        } while (!UNSAFE.compareAndSwapLong(null, address, previous, previous ^ mask));
+        return previous;
+    }
+
+    public static long getAndSetLong(ByteBuffer buffer, int index, long newValue) {
+        return UNSAFE.getAndSetLong(null, address(buffer, index, Long.BYTES), newValue);
+    }
+
+    private static final Unsafe UNSAFE = AccessController.doPrivileged(new PrivilegedAction<Unsafe>() {
+        @Override
+        public Unsafe run() {
+            try {
+                Field theUnsafeInstance = Unsafe.class.getDeclaredField("theUnsafe");
+                theUnsafeInstance.setAccessible(true);
+                return (Unsafe) theUnsafeInstance.get(Unsafe.class);
+            } catch (Exception e) {
+                throw new RuntimeException("exception while trying to get Unsafe.theUnsafe via reflection:", e);
+            }
+        }
+    });
+
+    private static final long ADDRESS_OFFSET;
+    static {
+        try {
+            ADDRESS_OFFSET = UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+        } catch (NoSuchFieldException e) {
+            throw new RuntimeException("exception while trying to get Buffer.address offset:", e);
+        }
+    }
+}
@@ -182,6 +182,19 @@ public final class GraalJSEvaluator implements JSParser {
         return doEvaluate(realm, lastNode, thisObj, frame, source, directEval.env.isStrictMode(), directEval);
     }
 
+    @TruffleBoundary(transferToInterpreterOnException = false)
+    @Override
+    public ScriptNode parseEval(JSContext context, Node lastNode, Source source) {
+        return parseEval(context, lastNode, source, false, null);
+    }
+
+    @TruffleBoundary(transferToInterpreterOnException = false)
+    @Override
+    public ScriptNode parseDirectEval(JSContext context, Node lastNode, Source source, Object evalEnv) {
+        DirectEvalContext directEval = (DirectEvalContext) evalEnv;
+        return parseEval(context, lastNode, source, directEval.env.isStrictMode(), directEval);
+    }
+
     private static JavaScriptNode parseInlineScript(JSContext context, Source source, Environment env, boolean isStrict) {
         ScriptNode script = JavaScriptTranslator.translateInlineScript(NodeFactory.getInstance(context), context, env, source, isStrict);
         RootCallTarget callTarget = script.getCallTarget();
@@ -201,12 +214,7 @@ public final class GraalJSEvaluator implements JSParser {
     private static Object doEvaluate(JSRealm realm, Node lastNode, Object thisObj, MaterializedFrame materializedFrame, Source source, boolean isStrict, DirectEvalContext directEval) {
         JSContext context = realm.getContext();
         ScriptNode scriptNode = parseEval(context, lastNode, source, isStrict, directEval);
-        return runParsed(scriptNode, realm, thisObj, materializedFrame);
-    }
-
-    private static Object runParsed(ScriptNode scriptNode, JSRealm realm, Object thisObj, MaterializedFrame materializedFrame) {
-        DynamicObject functionObj = JSFunction.create(realm, scriptNode.getFunctionData(), materializedFrame);
-        return scriptNode.run(JSArguments.createZeroArg(thisObj, functionObj));
+        return scriptNode.runInFrame(realm, thisObj, materializedFrame);
     }
 
     private static ScriptNode parseEval(JSContext context, Node lastNode, Source source, boolean isStrict, DirectEvalContext directEval) {
@@ -102,6 +102,7 @@ import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.JSNodeUtil;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.NodeFactory;
 import com.oracle.truffle.js.nodes.NodeFactory.BinaryOperation;
@@ -126,6 +127,7 @@ import com.oracle.truffle.js.nodes.access.VarWrapperNode;
 import com.oracle.truffle.js.nodes.access.WriteElementNode;
 import com.oracle.truffle.js.nodes.access.WriteNode;
 import com.oracle.truffle.js.nodes.access.WritePropertyNode;
+import com.oracle.truffle.js.nodes.arguments.AccessArgumentsArrayDirectlyNode;
 import com.oracle.truffle.js.nodes.binary.DualNode;
 import com.oracle.truffle.js.nodes.binary.JSBinaryNode;
 import com.oracle.truffle.js.nodes.binary.JSTypeofIdenticalNode;
@@ -173,6 +175,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSErrorType;
 import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.objects.Dead;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -200,6 +203,11 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
     protected final int prologLength;
     private final boolean isParentStrict;
 
+    /** Callee of the call expression being translated, if it is a function literal. */
+    private FunctionNode immediatelyInvokedFunction;
+    /** Lazily translated functions that are likely to be called soon after the script starts. */
+    private List<JSFunctionData> backgroundTranslationCandidates;
+
     protected GraalJSTranslator(LexicalContext lc, NodeFactory factory, JSContext context, Source source, String[] argumentNames, int prologLength, Environment environment, boolean isParentStrict) {
         super(lc);
         this.context = context;
@@ -288,7 +296,41 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
     }
 
     protected final JavaScriptNode transformFunction(FunctionNode functionNode) {
-        return transform(functionNode);
+        JavaScriptNode functionExpression = transform(functionNode);
+        scheduleBackgroundTranslation(functionNode);
+        return functionExpression;
+    }
+
+    /**
+     * Schedules the collected candidates for background translation once the enclosing function has
+     * been translated and its environment is complete. Functions containing eval are skipped since
+     * eval may translate code in the same environments concurrently.
+     */
+    private void scheduleBackgroundTranslation(FunctionNode enclosingFunction) {
+        if (backgroundTranslationCandidates != null) {
+            if (!enclosingFunction.hasEval() && !enclosingFunction.getFlag(FunctionNode.HAS_NESTED_EVAL)) {
+                for (JSFunctionData functionData : backgroundTranslationCandidates) {
+                    context.scheduleBackgroundTranslation(functionData);
+                }
+            }
+            backgroundTranslationCandidates = null;
+        }
+    }
+
+    /**
+     * Heuristic for functions that will probably be called right after the enclosing script has
+     * been translated: immediately invoked function expressions and top-level function
+     * declarations.
+     */
+    private boolean isBackgroundTranslationCandidate(FunctionNode functionNode) {
+        if (functionNode == immediatelyInvokedFunction) {
+            return true;
+        }
+        Iterator<FunctionNode> functions = lc.getFunctions();
+        FunctionNode current = functions.next();
+        assert current == functionNode;
+        FunctionNode parent = functions.hasNext() ? functions.next() : null;
+        return functionNode.isDeclared() && parent != null && parent.isProgram();
     }
 
     protected abstract GraalJSTranslator newTranslator(Environment env, LexicalContext savedLC);
@@ -357,8 +399,16 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 GraalJSTranslator translator = newTranslator(parentEnv, savedLC);
                 translator.translateFunctionOnDemand(functionNode, fd, isStrict, isArrowFunction, isGeneratorFunction, isAsyncFunction, isDerivedConstructor, isGlobal,
                                 needsNewTarget, needsParentFrame, functionName, hasSyntheticArguments);
+                translator.scheduleBackgroundTranslation(functionNode);
             });
             functionRoot = null;
+
+            if (context.getContextOptions().getBackgroundTranslationThreads() > 0 && isBackgroundTranslationCandidate(functionNode)) {
+                if (backgroundTranslationCandidates == null) {
+                    backgroundTranslationCandidates = new ArrayList<>();
+                }
+                backgroundTranslationCandidates.add(functionData);
+            }
         } else {
             try (EnvironmentCloseable functionEnv = enterFunctionEnvironment(isStrict, isArrowFunction, isGeneratorFunction, isDerivedConstructor, isAsyncFunction, isGlobal, hasSyntheticArguments)) {
                 FunctionEnvironment currentFunction = currentFunction();
@@ -893,7 +943,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         if (!functionNode.isArrow() && functionNode.needsArguments()) {
             currentFunction.reserveArgumentsSlot();
 
-            if (JSConfig.OptimizeApplyArguments && functionNode.getNumOfParams() == 0 && !functionNode.hasEval() && functionNode.hasApplyArgumentsCall() &&
+            if (JSConfig.OptimizeApplyArguments && (functionNode.getNumOfParams() == 0 || currentFunction.isStrictMode()) && !functionNode.hasEval() &&
                             checkDirectArgumentsAccess(functionNode, currentFunction)) {
                 currentFunction.setDirectArgumentsAccess(true);
             } else {
@@ -1085,6 +1135,108 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 }
             }
 
+            /**
+             * {@code arguments.length} and {@code arguments[index]} can be read from the frame.
+             */
+            private boolean isArgumentsRead(BaseNode baseNode) {
+                return baseNode.getBase() instanceof IdentNode && ((IdentNode) baseNode.getBase()).isArguments() && !baseNode.isOptionalChain() && !baseNode.isSuper();
+            }
+
+            @Override
+            public boolean enterAccessNode(AccessNode accessNode) {
+                if (JSConfig.OptimizeApplyArguments && isArgumentsRead(accessNode) && !accessNode.isPrivate() && JSAbstractArray.LENGTH.equals(accessNode.getProperty())) {
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public boolean enterIndexNode(IndexNode indexNode) {
+                if (JSConfig.OptimizeApplyArguments && isArgumentsRead(indexNode)) {
+                    indexNode.getIndex().accept(this);
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public boolean enterCallNode(CallNode callNode) {
+                // arguments[i]() passes the arguments object as the this value
+                if (callNode.getFunction() instanceof BaseNode && ((BaseNode) callNode.getFunction()).getBase() instanceof IdentNode &&
+                                ((IdentNode) ((BaseNode) callNode.getFunction()).getBase()).isArguments()) {
+                    directArgumentsAccess = false;
+                }
+                return true;
+            }
+
+            @Override
+            public boolean enterBinaryNode(BinaryNode binaryNode) {
+                if (binaryNode.isAssignment()) {
+                    checkAssignmentTarget(binaryNode.getAssignmentDest());
+                }
+                return true;
+            }
+
+            @Override
+            public boolean enterUnaryNode(UnaryNode unaryNode) {
+                if (unaryNode.isAssignment() || unaryNode.isTokenType(TokenType.DELETE)) {
+                    checkAssignmentTarget(unaryNode.getExpression());
+                }
+                return true;
+            }
+
+            @Override
+            public boolean enterForNode(ForNode forNode) {
+                if (forNode.isForInOrOf() && forNode.getInit() != null) {
+                    checkAssignmentTarget(forNode.getInit());
+                }
+                return true;
+            }
+
+            @Override
+            public boolean enterWithNode(WithNode withNode) {
+                directArgumentsAccess = false;
+                return false;
+            }
+
+            @Override
+            public boolean enterVarNode(VarNode varNode) {
+                if (varNode.getName().getName().equals(Environment.ARGUMENTS_NAME)) {
+                    // arguments is shadowed by a local variable
+                    directArgumentsAccess = false;
+                }
+                return true;
+            }
+
+            /**
+             * Writes to (or deletes) elements of the arguments object are not supported.
+             */
+            private void checkAssignmentTarget(Expression target) {
+                class ArgumentsReferenceVisitor extends com.oracle.js.parser.ir.visitor.NodeVisitor<LexicalContext> {
+                    boolean found;
+
+                    ArgumentsReferenceVisitor(LexicalContext lc) {
+                        super(lc);
+                    }
+
+                    @Override
+                    public boolean enterIdentNode(IdentNode identNode) {
+                        found |= identNode.isArguments() && !identNode.isPropertyName();
+                        return false;
+                    }
+
+                    @Override
+                    public boolean enterFunctionNode(FunctionNode nestedFunctionNode) {
+                        return false;
+                    }
+                }
+                ArgumentsReferenceVisitor visitor = new ArgumentsReferenceVisitor(new LexicalContext());
+                target.accept(visitor);
+                if (visitor.found) {
+                    directArgumentsAccess = false;
+                }
+            }
+
             @Override
             public boolean enterFunctionNode(FunctionNode nestedFunctionNode) {
                 if (nestedFunctionNode == functionNode) {
@@ -2188,6 +2340,14 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
 
     @Override
     public JavaScriptNode enterCallNode(CallNode callNode) {
+        Expression callee = callNode.getFunction();
+        if (callee instanceof AccessNode) {
+            // (function() {...}).call(this)
+            callee = ((AccessNode) callee).getBase();
+        }
+        if (callee instanceof FunctionNode) {
+            immediatelyInvokedFunction = (FunctionNode) callee;
+        }
         JavaScriptNode function = transform(callNode.getFunction());
         JavaScriptNode[] args = transformArgs(callNode.getArgs());
         if (callNode.isOptionalChain()) {
@@ -2738,6 +2898,9 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         if (accessNode.isOptionalChain()) {
             return createOptionalAccessNode(accessNode, base);
         }
+        if (isDirectArgumentsRead(base) && !accessNode.isPrivate() && JSAbstractArray.LENGTH.equals(accessNode.getProperty())) {
+            return tagExpression(factory.createReadArgumentsLengthDirectly(context, base), accessNode);
+        }
         JavaScriptNode read = createReadProperty(accessNode, base);
         tagExpression(read, accessNode);
         return read;
@@ -2805,9 +2968,16 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         if (indexNode.isOptionalChain()) {
             return createOptionalIndexNode(indexNode, base, index);
         }
+        if (isDirectArgumentsRead(base)) {
+            return tagExpression(factory.createReadArgumentsElementDirectly(context, base, index), indexNode);
+        }
         return tagExpression(factory.createReadElementNode(context, base, index), indexNode);
     }
 
+    private static boolean isDirectArgumentsRead(JavaScriptNode base) {
+        return JSNodeUtil.getWrappedNode(base) instanceof AccessArgumentsArrayDirectlyNode;
+    }
+
     private JavaScriptNode createOptionalIndexNode(IndexNode indexNode, JavaScriptNode base, JavaScriptNode index) {
         JavaScriptNode read = factory.createReadElementNode(context, filterOptionalChainTarget(base, indexNode.isOptional()), index);
         tagExpression(read, indexNode);
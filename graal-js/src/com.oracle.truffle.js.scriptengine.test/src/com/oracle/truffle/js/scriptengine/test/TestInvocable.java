@@ -45,6 +45,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.util.Iterator;
 import java.util.concurrent.Callable;
 
 import javax.script.Invocable;
@@ -123,6 +124,29 @@ public class TestInvocable {
         assertEquals(arg, c.call());
     }
 
+    @Test
+    public void getInterfaceRepeatedCalls() throws Exception {
+        ScriptEngine engine = getEngine();
+        Invocable inv = (Invocable) engine;
+
+        Object obj1 = engine.eval("var obj1 = { i: 0, hasNext() { return this.i < 3; }, next() { return this.i++; } }; obj1;");
+        Object obj2 = engine.eval("class Range { constructor() { this.i = 10; } hasNext() { return this.i < 12; } next() { return this.i++; } }; new Range();");
+        for (Object obj : new Object[]{obj1, obj2}) {
+            Iterator<?> it = inv.getInterface(obj, Iterator.class);
+            int sum = 0;
+            while (it.hasNext()) {
+                sum += ((Number) it.next()).intValue();
+            }
+            assertEquals(obj == obj1 ? 3 : 21, sum);
+        }
+
+        // a method replaced at run time is picked up by existing proxies
+        Iterator<?> it = inv.getInterface(obj1, Iterator.class);
+        engine.eval("obj1.hasNext = function() { return true; }; obj1.next = function() { return 'replaced'; };");
+        assertEquals(true, it.hasNext());
+        assertEquals("replaced", it.next());
+    }
+
     @Test
     public void getInterfaceNotImplemented() throws Exception {
         ScriptEngine engine = getEngine();
@@ -53,6 +53,8 @@ import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javax.script.AbstractScriptEngine;
@@ -705,24 +707,39 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private static boolean isInterfaceImplemented(final Class<?> iface, final Value obj) {
-        for (final Method method : iface.getMethods()) {
-            // ignore methods of java.lang.Object class
-            if (method.getDeclaringClass() == Object.class) {
-                continue;
-            }
-
-            // skip check for default methods - non-abstract, interface methods
-            if (!Modifier.isAbstract(method.getModifiers())) {
-                continue;
-            }
-
-            if (!obj.canInvokeMember(method.getName())) {
+        for (final String methodName : ABSTRACT_METHOD_NAMES.get(iface)) {
+            if (!obj.canInvokeMember(methodName)) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Names of the methods a script object has to provide to implement an interface, computed once
+     * per interface rather than by reflection on every {@link #getInterface} call.
+     */
+    private static final ClassValue<String[]> ABSTRACT_METHOD_NAMES = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> iface) {
+            Set<String> names = new LinkedHashSet<>();
+            for (final Method method : iface.getMethods()) {
+                // ignore methods of java.lang.Object class
+                if (method.getDeclaringClass() == Object.class) {
+                    continue;
+                }
+
+                // skip check for default methods - non-abstract, interface methods
+                if (!Modifier.isAbstract(method.getModifiers())) {
+                    continue;
+                }
+
+                names.add(method.getName());
+            }
+            return names.toArray(new String[names.size()]);
+        }
+    };
+
     /**
      * Detects jrunscript "init.js" and installs a JSAdapter polyfill if needed.
      */
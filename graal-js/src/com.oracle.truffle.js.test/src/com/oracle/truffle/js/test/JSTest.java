@@ -67,4 +67,21 @@ public abstract class JSTest {
     public static Engine.Builder newEngineBuilder() {
         return Engine.newBuilder().allowExperimentalOptions(true);
     }
+
+    /**
+     * Evaluates the source in a new context and returns the string representation of the result.
+     */
+    public static String runInNewContext(String source) {
+        return runInNewContext(newContextBuilder(), source);
+    }
+
+    /**
+     * Evaluates the source in a new context created by the given builder and returns the string
+     * representation of the result.
+     */
+    public static String runInNewContext(Context.Builder contextBuilder, String source) {
+        try (Context context = contextBuilder.build()) {
+            return context.eval(JavaScriptLanguage.ID, source).toString();
+        }
+    }
 }
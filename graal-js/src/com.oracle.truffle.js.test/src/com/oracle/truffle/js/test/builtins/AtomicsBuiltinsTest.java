@@ -80,4 +80,104 @@ public class AtomicsBuiltinsTest {
         }
     }
 
+    @Test
+    public void testConcurrentAdd() {
+        int agentCount = 4;
+        int iterations = 10000;
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.TEST262_MODE_NAME, "true").build()) {
+            String code = "let agentCount = " + agentCount + ";\n" //
+                            + "for (let i = 0; i < agentCount; i++) {\n" //
+                            + "  $262.agent.start(`\n" //
+                            + "    $262.agent.receiveBroadcast(function(sab) {\n" //
+                            + "      const i8a = new Int8Array(sab);\n" //
+                            + "      const i32a = new Int32Array(sab);\n" //
+                            + "      const i64a = new BigInt64Array(sab);\n" //
+                            + "      for (let j = 0; j < " + iterations + "; j++) {\n" //
+                            + "        Atomics.add(i32a, 0, 1);\n" //
+                            + "        Atomics.sub(i64a, 1, 1n);\n" //
+                            + "        Atomics.add(i8a, 16 + (j & 7), 1);\n" //
+                            + "      }\n" //
+                            + "      Atomics.add(i32a, 1, 1);\n" //
+                            + "      $262.agent.leaving();\n" //
+                            + "    });\n" //
+                            + "  `);\n" //
+                            + "}\n" //
+                            + "const sab = new SharedArrayBuffer(24);\n" //
+                            + "$262.agent.broadcast(sab);\n" //
+                            + "const i32a = new Int32Array(sab);\n" //
+                            + "while (Atomics.load(i32a, 1) < agentCount) {}\n" //
+                            + "const u8a = new Uint8Array(sab);\n" //
+                            + "let bytes = 0;\n" //
+                            + "for (let k = 16; k < 24; k++) { bytes += u8a[k]; }\n" //
+                            + "[Atomics.load(i32a, 0), Atomics.load(new BigInt64Array(sab), 1) === -BigInt(agentCount * " + iterations + "), bytes];";
+            Value result = context.eval(JavaScriptLanguage.ID, code);
+            Assert.assertEquals(agentCount * iterations, result.getArrayElement(0).asInt());
+            Assert.assertTrue(result.getArrayElement(1).asBoolean());
+            // each of the 8 bytes was incremented agentCount * iterations / 8 times, modulo 256
+            Assert.assertEquals(8 * ((agentCount * iterations / 8) & 0xFF), result.getArrayElement(2).asInt());
+        }
+    }
+
+    @Test
+    public void testSubWordElements() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "const sab = new SharedArrayBuffer(6);\n" //
+                            + "const i8a = new Int8Array(sab);\n" //
+                            + "const u16a = new Uint16Array(sab);\n" //
+                            + "const i16a = new Int16Array(sab);\n" //
+                            + "const r = [];\n" //
+                            + "r.push(Atomics.store(i8a, 1, -1));\n" //
+                            + "r.push(Atomics.add(i8a, 1, 2));\n" //
+                            + "r.push(Atomics.load(i8a, 1));\n" //
+                            + "r.push(Atomics.load(i8a, 0));\n" //
+                            + "r.push(Atomics.compareExchange(i16a, 1, 0, -2));\n" //
+                            + "r.push(Atomics.exchange(u16a, 1, 7));\n" //
+                            + "r.push(Atomics.or(i8a, 5, 0x80));\n" //
+                            + "r.push(Atomics.and(i8a, 5, 0x7f));\n" //
+                            + "r.push(Atomics.compareExchange(i16a, 2, 0, 5));\n" //
+                            + "r.push(Atomics.xor(i16a, 2, -1));\n" //
+                            + "r.push(Atomics.load(i16a, 2));\n" //
+                            + "r.join();";
+            Value result = context.eval(JavaScriptLanguage.ID, code);
+            Assert.assertEquals("-1,-1,1,0,0,65534,0,-128,0,5,-6", result.asString());
+        }
+    }
+
+    @Test
+    public void testWaitAsync() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.ECMASCRIPT_VERSION_NAME, "2022").build()) {
+            String code = "const i32a = new Int32Array(new SharedArrayBuffer(16));\n" //
+                            + "var log = [];\n" //
+                            + "const r1 = Atomics.waitAsync(i32a, 0, 1);\n" //
+                            + "const r2 = Atomics.waitAsync(i32a, 0, 0, 0);\n" //
+                            + "const r3 = Atomics.waitAsync(i32a, 0, 0);\n" //
+                            + "r3.value.then(v => log.push('notified:' + v));\n" //
+                            + "Atomics.waitAsync(i32a, 1, 0).value.then(v => log.push('later:' + v));\n" //
+                            + "const n = Atomics.notify(i32a, 0);\n" //
+                            + "[r1.async, r1.value, r2.async, r2.value, r3.async, n].join();";
+            Assert.assertEquals("false,not-equal,false,timed-out,true,1", context.eval(JavaScriptLanguage.ID, code).asString());
+            Assert.assertEquals("notified:ok", context.eval(JavaScriptLanguage.ID, "log.join()").asString());
+            // the main agent cannot block; a waiter notified after the checkpoint is settled at the next one
+            Assert.assertEquals(1, context.eval(JavaScriptLanguage.ID, "Atomics.notify(i32a, 1)").asInt());
+            Assert.assertEquals("notified:ok,later:ok", context.eval(JavaScriptLanguage.ID, "log.join()").asString());
+            Assert.assertEquals(0, context.eval(JavaScriptLanguage.ID, "Atomics.notify(i32a, 1)").asInt());
+        }
+    }
+
+    @Test
+    public void testWaitAsyncAwaited() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.TEST262_MODE_NAME, "true").option(JSContextOptions.ECMASCRIPT_VERSION_NAME, "2022").build()) {
+            String code = "const i32a = new Int32Array(new SharedArrayBuffer(16));\n" //
+                            + "var log = [];\n" //
+                            + "(async function() {\n" //
+                            + "  log.push(await Atomics.waitAsync(i32a, 0, 0, 10).value);\n" //
+                            + "  const waiting = Atomics.waitAsync(i32a, 1, 0).value;\n" //
+                            + "  Promise.resolve().then(() => Atomics.notify(i32a, 1));\n" //
+                            + "  log.push(await waiting);\n" //
+                            + "})();";
+            // the agent can block, so the evaluation does not return before the promises are settled
+            context.eval(JavaScriptLanguage.ID, code);
+            Assert.assertEquals("timed-out,ok", context.eval(JavaScriptLanguage.ID, "log.join()").asString());
+        }
+    }
 }
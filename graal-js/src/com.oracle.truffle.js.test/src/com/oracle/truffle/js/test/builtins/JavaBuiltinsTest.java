@@ -47,6 +47,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.junit.Test;
@@ -141,6 +142,35 @@ public class JavaBuiltinsTest extends JSTest {
         test("Java.from({a:'foo'});", "Cannot convert to JavaScript");
     }
 
+    @Test
+    public void testJavaFromPrimitiveArrays() {
+        String code = "var t = Java.from(arg); arg[0] = 0; t.push(t[0] + 1); '' + t;";
+        assertEquals("1,2,3,2", test(code, null, true, new int[]{1, 2, 3}));
+        assertEquals("-1,2,0", test(code, null, true, new byte[]{-1, 2}));
+        assertEquals("1.5,2,2.5", test(code, null, true, new double[]{1.5, 2}));
+        assertEquals("1,4294967296,2", test(code, null, true, new long[]{1, 4294967296L}));
+        assertEquals("a,,b,true", test("var t = Java.from(arg); t.push(t[1] === null); '' + t;", null, true, new String[]{"a", null, "b"}));
+    }
+
+    private static String testRestricted(String sourceCode, HostAccess hostAccess, Object arg) {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(hostAccess).allowHostClassLookup(className -> true).build()) {
+            context.getBindings("js").putMember("arg", arg);
+            return context.eval(JavaScriptLanguage.ID, sourceCode).toString();
+        }
+    }
+
+    @Test
+    public void testPrimitiveArraysRestrictedHostAccess() {
+        String from = "try { '' + Java.from(arg); } catch (e) { e.constructor.name; }";
+        String to = "try { String(Java.to([1, 2], 'int[]')[1]); } catch (e) { e.constructor.name; }";
+        assertEquals("TypeError", testRestricted(from, HostAccess.EXPLICIT, new int[]{1, 2, 3}));
+        assertEquals("TypeError", testRestricted(from, HostAccess.EXPLICIT, new String[]{"a"}));
+        assertEquals("TypeError", testRestricted(to, HostAccess.EXPLICIT, 0));
+        HostAccess arrayAccess = HostAccess.newBuilder(HostAccess.EXPLICIT).allowArrayAccess(true).build();
+        assertEquals("1,2,3", testRestricted(from, arrayAccess, new int[]{1, 2, 3}));
+        assertEquals("2", testRestricted(to, arrayAccess, 0));
+    }
+
     @Test
     public void testJavaTo() {
         String result = test("var t = Java.to({a:'foo'}); ''+t;");
@@ -155,6 +185,17 @@ public class JavaBuiltinsTest extends JSTest {
         test("var t = Java.to(1, 'int[]'); ''+t;", "is not an Object");
     }
 
+    @Test
+    public void testJavaToPrimitiveArrays() {
+        assertEquals("[1, 2, 3]", test("String(java.util.Arrays.toString(Java.to([1, 2, 3], 'int[]')));"));
+        assertEquals("[1, 2, 3]", test("var a = [0, 1, 2, 3]; a.shift(); String(java.util.Arrays.toString(Java.to(a, 'long[]')));"));
+        assertEquals("[1.0, 2.5]", test("var a = []; a.push(1); a.push(2.5); String(java.util.Arrays.toString(Java.to(a, 'double[]')));"));
+        assertEquals("[-1, 4]", test("String(java.util.Arrays.toString(Java.to([-1.0, 4], 'byte[]')));"));
+        assertEquals("[4294967296]", test("String(java.util.Arrays.toString(Java.to([4294967296], 'long[]')));"));
+        test("Java.to([1.5], 'int[]');", "UnsupportedTypeException");
+        test("Java.to([300], 'byte[]');", "UnsupportedTypeException");
+    }
+
     @Test
     public void testJavaSuper() {
         test("var t = Java.super({a:'foo'}); ''+t;");
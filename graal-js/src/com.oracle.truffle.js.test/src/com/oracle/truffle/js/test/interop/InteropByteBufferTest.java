@@ -48,10 +48,13 @@ import org.junit.Test;
 import com.oracle.truffle.js.test.JSTest;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class InteropByteBufferTest {
 
@@ -161,4 +164,118 @@ public class InteropByteBufferTest {
             assertEquals(jBuffer.get(2), 43);
         }
     }
+
+    @Test
+    public void testDirectBufferViewsShareMemory() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings("js").putMember("buffer", buffer);
+            Value views = context.eval(ID, "const ab = new ArrayBuffer(buffer);" +
+                            "const views = {f64: new Float64Array(ab, 8, 1), dv: new DataView(ab)};" +
+                            "views.dv.setInt32(0, 0x01020304);" +
+                            "views;");
+            assertEquals(0x01020304, buffer.getInt(0));
+            buffer.duplicate().order(ByteOrder.nativeOrder()).putDouble(8, 0.5);
+            assertEquals(0.5, views.getMember("f64").getArrayElement(0).asDouble(), 0);
+            assertEquals(16, context.eval(ID, "ab.byteLength").asInt());
+        }
+    }
+
+    @Test
+    public void testDirectBufferRegion() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        buffer.position(2).limit(6);
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings("js").putMember("buffer", buffer);
+            Value jsBuffer = context.eval(ID, "const ia = new Int8Array(new ArrayBuffer(buffer)); ia[0] = 42; ia[3] = 43; ia;");
+            assertEquals(4, jsBuffer.getArraySize());
+            assertEquals(42, buffer.get(2));
+            assertEquals(43, buffer.get(5));
+        }
+    }
+
+    @Test
+    public void testPartialHeapBuffer() {
+        byte[] array = new byte[]{1, 2, 3, 4, 5};
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings("js").putMember("sliced", ByteBuffer.wrap(array, 1, 3).slice());
+            context.getBindings("js").putMember("positioned", ByteBuffer.wrap(array, 1, 3));
+            assertEquals("TypeError", context.eval(ID, "try { new ArrayBuffer(sliced); } catch (e) { e.name; }").asString());
+            assertEquals("TypeError", context.eval(ID, "try { new ArrayBuffer(positioned); } catch (e) { e.name; }").asString());
+        }
+    }
+
+    @Test
+    public void testUnsupportedBuffers() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings("js").putMember("readOnly", ByteBuffer.allocateDirect(4).asReadOnlyBuffer());
+            context.getBindings("js").putMember("direct", ByteBuffer.allocateDirect(4));
+            assertEquals("TypeError", context.eval(ID, "try { new ArrayBuffer(readOnly); } catch (e) { e.name; }").asString());
+            assertEquals("TypeError", context.eval(ID, "try { new SharedArrayBuffer(direct); } catch (e) { e.name; }").asString());
+        }
+    }
+
+    @Test
+    public void testArrayBufferBufferElements() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value buffer = context.eval(ID, "var ab = new ArrayBuffer(16); new DataView(ab).setFloat64(8, 42.5, true); ab;");
+            assertTrue(buffer.hasBufferElements());
+            assertTrue(buffer.isBufferWritable());
+            assertEquals(16, buffer.getBufferSize());
+            assertEquals(42.5, buffer.readBufferDouble(ByteOrder.LITTLE_ENDIAN, 8), 0);
+
+            buffer.writeBufferInt(ByteOrder.BIG_ENDIAN, 0, 0x01020304);
+            assertEquals(1, buffer.readBufferByte(0));
+            assertEquals(0x0304, buffer.readBufferShort(ByteOrder.BIG_ENDIAN, 2));
+            assertEquals(0x01020304, context.eval(ID, "new DataView(ab).getInt32(0, false)").asInt());
+
+            try {
+                buffer.readBufferLong(ByteOrder.LITTLE_ENDIAN, 12);
+                fail("expected out of bounds access to fail");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testArrayBufferViewBufferElements() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, "var ab = new ArrayBuffer(32); new Float32Array(ab, 8, 2).set([1.5, -2.5]);");
+            Value typedArray = context.eval(ID, "new Float32Array(ab, 8, 2)");
+            assertTrue(typedArray.hasBufferElements());
+            assertEquals(8, typedArray.getBufferSize());
+            assertEquals(-2.5f, typedArray.readBufferFloat(ByteOrder.nativeOrder(), 4), 0);
+
+            Value dataView = context.eval(ID, "new DataView(ab, 16, 8)");
+            assertTrue(dataView.hasBufferElements());
+            assertEquals(8, dataView.getBufferSize());
+            dataView.writeBufferLong(ByteOrder.LITTLE_ENDIAN, 0, -1L);
+            assertEquals(-1, context.eval(ID, "new Int8Array(ab)[23]").asInt());
+            assertEquals(0, context.eval(ID, "new Int8Array(ab)[24]").asInt());
+
+            try {
+                dataView.readBufferByte(8);
+                fail("expected out of bounds access to fail");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+
+            Value array = context.eval(ID, "[1, 2, 3]");
+            assertFalse(array.hasBufferElements());
+        }
+    }
+
+    @Test
+    public void testDirectArrayBufferBufferElements() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings(ID).putMember("direct", direct);
+            Value view = context.eval(ID, "new Uint8Array(new ArrayBuffer(direct), 4)");
+            assertEquals(4, view.getBufferSize());
+            view.writeBufferShort(ByteOrder.BIG_ENDIAN, 2, (short) 0x0a0b);
+            assertEquals(0x0a, direct.get(6));
+            assertEquals(0x0b, direct.get(7));
+        }
+    }
 }
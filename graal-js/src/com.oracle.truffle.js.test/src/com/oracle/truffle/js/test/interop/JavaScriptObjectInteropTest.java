@@ -43,6 +43,7 @@ package com.oracle.truffle.js.test.interop;
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.HashMap;
 import java.util.Locale;
@@ -180,4 +181,52 @@ public class JavaScriptObjectInteropTest {
             mapsEqual(JAVA_MAP, (Map<?, ?>) o);
         }
     }
+
+    /**
+     * Test that member reads, writes and key enumeration from Java keep JavaScript semantics across
+     * many keys and shapes, including inherited accessors and non-writable properties.
+     */
+    @Test
+    public void testMemberAccessAcrossShapes() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value objects = context.eval(ID, "class P { get g() { return this.a * 2; } }\n" +
+                            "var objs = [];\n" +
+                            "for (var i = 0; i < 10; i++) { var o = new P(); o.a = i; o['k' + i] = i; objs.push(o); }\n" +
+                            "Object.defineProperty(objs[0], 'ro', {value: 1, writable: false, enumerable: true});\n" +
+                            "Object.freeze(objs[1]);\n" +
+                            "objs;");
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 10; i++) {
+                    Value o = objects.getArrayElement(i);
+                    assertEquals(i, o.getMember("a").asInt());
+                    assertEquals(i, o.getMember("k" + i).asInt());
+                    assertEquals(2 * i, o.getMember("g").asInt());
+                    assertTrue(o.getMember("missing") == null);
+                    assertTrue(o.getMemberKeys().contains("k" + i));
+                }
+            }
+            Value o2 = objects.getArrayElement(2);
+            o2.putMember("a", 21);
+            assertEquals(42, o2.getMember("g").asInt());
+            assertEquals(21, context.eval(ID, "objs[2].a").asInt());
+            o2.putMember("added", true);
+            assertEquals("a,k2,added", String.join(",", o2.getMemberKeys()));
+
+            Value o0 = objects.getArrayElement(0);
+            try {
+                o0.putMember("ro", 2);
+                fail("non-writable member should not be writable");
+            } catch (IllegalArgumentException e) {
+                // expected: the member is not writable
+            }
+            assertEquals(1, o0.getMember("ro").asInt());
+            try {
+                objects.getArrayElement(1).putMember("a", 2);
+                fail("member of a frozen object should not be writable");
+            } catch (UnsupportedOperationException e) {
+                // expected: the object is frozen
+            }
+            assertEquals(1, objects.getArrayElement(1).getMember("a").asInt());
+        }
+    }
 }
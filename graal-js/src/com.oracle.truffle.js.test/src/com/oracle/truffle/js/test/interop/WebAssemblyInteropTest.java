@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.interop;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.wasm.ToJSValueNode;
+import com.oracle.truffle.js.nodes.wasm.ToWebAssemblyValueNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.wasm.JSWebAssemblyMemory;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests of the conversions between JavaScript and WebAssembly values and memory buffers. The memory
+ * tests use a mock of the memory object exported by the WebAssembly language.
+ */
+public class WebAssemblyInteropTest extends JSTest {
+
+    @Override
+    public void setup() {
+        super.setup();
+        testHelper.enterContext();
+    }
+
+    @Override
+    public void close() {
+        testHelper.leaveContext();
+        super.close();
+    }
+
+    @Test
+    public void testDirectMemoryIsAliased() {
+        JSContext context = testHelper.getJSContext();
+        ByteBuffer memory = ByteBuffer.allocateDirect(16);
+        TestMemory wasmMemory = new TestMemory(testHelper.getRealm().getEnv().asGuestValue(memory));
+
+        DynamicObject arrayBuffer = JSWebAssemblyMemory.createBufferObject(context, wasmMemory);
+        assertTrue(JSArrayBuffer.isJSDirectArrayBuffer(arrayBuffer));
+        assertEquals(16, JSWebAssemblyMemory.getByteLength(context, wasmMemory));
+
+        ByteBuffer aliased = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+        memory.put(3, (byte) 42);
+        assertEquals(42, aliased.get(3));
+        aliased.put(5, (byte) 43);
+        assertEquals(43, memory.get(5));
+    }
+
+    @Test
+    public void testBufferElementsMemoryIsCopied() {
+        JSContext context = testHelper.getJSContext();
+        // not a multiple of 8, to exercise both the bulk and the tail of the copy
+        byte[] bytes = new byte[21];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 7);
+        }
+        TestMemory wasmMemory = new TestMemory(JSArrayBuffer.createArrayBuffer(context, bytes));
+
+        DynamicObject arrayBuffer = JSWebAssemblyMemory.createBufferObject(context, wasmMemory);
+        assertTrue(JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer));
+        assertEquals(bytes.length, JSWebAssemblyMemory.getByteLength(context, wasmMemory));
+
+        byte[] copy = JSAbstractBuffer.getByteArray(arrayBuffer);
+        assertNotSame(bytes, copy);
+        assertArrayEquals(bytes, copy);
+        bytes[0] = 1;
+        assertEquals(0, copy[0]);
+    }
+
+    @Test
+    public void testArrayMemoryIsCopied() {
+        JSContext context = testHelper.getJSContext();
+        TestMemory wasmMemory = new TestMemory(JSArray.createConstantIntArray(context, new int[]{1, 2, -3}));
+
+        DynamicObject arrayBuffer = JSWebAssemblyMemory.createBufferObject(context, wasmMemory);
+        assertEquals(3, JSWebAssemblyMemory.getByteLength(context, wasmMemory));
+        assertArrayEquals(new byte[]{1, 2, -3}, JSAbstractBuffer.getByteArray(arrayBuffer));
+    }
+
+    @Test
+    public void testToWebAssemblyValue() {
+        ToWebAssemblyValueNode node = adopt(ToWebAssemblyValueNode.create());
+        assertEquals(42, node.execute(42, "i32"));
+        assertEquals(1.5, node.execute(1.5, "f64"));
+        assertEquals(1.5f, node.execute(1.5, "f32"));
+        // values that need a conversion
+        assertEquals(42.0, node.execute(42, "f64"));
+        assertEquals(1, node.execute(4294967297.0, "i32"));
+        assertEquals(7, node.execute("7", "i32"));
+        assertEquals(1.0, node.execute(true, "f64"));
+        // the unboxed paths after the node has gone generic
+        assertEquals(42, node.execute(42, "i32"));
+        assertEquals(0.25f, node.execute(0.25, "f32"));
+    }
+
+    @Test
+    public void testToJSValue() {
+        ToJSValueNode node = adopt(ToJSValueNode.create());
+        assertEquals(42, node.execute(42));
+        assertEquals(1.5, node.execute(1.5f));
+        // values that need no conversion
+        assertEquals(2.5, node.execute(2.5));
+        assertEquals(7L, node.execute(7L));
+        // the unboxed paths after the node has gone generic
+        assertEquals(43, node.execute(43));
+        assertEquals(0.25, node.execute(0.25f));
+    }
+
+    @Test
+    public void testGrowFromWebAssembly() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            Assume.assumeTrue(engine.getLanguages().containsKey("wasm"));
+        }
+        try (Context context = JSTest.newContextBuilder(JavaScriptLanguage.ID, "wasm").option(JSContextOptions.WEBASSEMBLY_NAME, "true").build()) {
+            // (module (memory (export "mem") 1) (func (export "grow") (result i32) i32.const 1 memory.grow))
+            String code = "var bytes = new Uint8Array([0x00, 0x61, 0x73, 0x6d, 0x01, 0x00, 0x00, 0x00, " +
+                            "0x01, 0x05, 0x01, 0x60, 0x00, 0x01, 0x7f, " +
+                            "0x03, 0x02, 0x01, 0x00, " +
+                            "0x05, 0x03, 0x01, 0x00, 0x01, " +
+                            "0x07, 0x0e, 0x02, 0x03, 0x6d, 0x65, 0x6d, 0x02, 0x00, 0x04, 0x67, 0x72, 0x6f, 0x77, 0x00, 0x00, " +
+                            "0x0a, 0x08, 0x01, 0x06, 0x00, 0x41, 0x01, 0x40, 0x00, 0x0b]);" +
+                            "var exports = new WebAssembly.Instance(new WebAssembly.Module(bytes)).exports;" +
+                            "var before = exports.mem.buffer;" +
+                            "var sameBefore = before === exports.mem.buffer;" +
+                            "exports.grow();" +
+                            "var after = exports.mem.buffer;" +
+                            "[sameBefore, before.byteLength, after.byteLength, after === exports.mem.buffer].join();";
+            assertEquals("true,0,131072,true", context.eval(JavaScriptLanguage.ID, code).asString());
+        }
+    }
+
+    private static <T extends Node> T adopt(T node) {
+        Truffle.getRuntime().createCallTarget(new RootNode(null) {
+            @Child Node child = node;
+
+            @Override
+            public Object execute(VirtualFrame frame) {
+                return null;
+            }
+        });
+        return node;
+    }
+
+    /**
+     * Mock of a WebAssembly memory, which provides its contents via a {@code buffer()} method.
+     */
+    @ExportLibrary(InteropLibrary.class)
+    static final class TestMemory implements TruffleObject {
+
+        final Object buffer;
+
+        TestMemory(Object buffer) {
+            this.buffer = buffer;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean hasMembers() {
+            return true;
+        }
+
+        @SuppressWarnings({"static-method", "unused"})
+        @ExportMessage
+        Object getMembers(boolean includeInternal) {
+            return null;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isMemberReadable(String member) {
+            return JSWebAssemblyMemory.BUFFER.equals(member);
+        }
+
+        @ExportMessage
+        Object readMember(String member) throws UnknownIdentifierException {
+            if (!JSWebAssemblyMemory.BUFFER.equals(member)) {
+                throw UnknownIdentifierException.create(member);
+            }
+            return new TestBufferFunction(buffer);
+        }
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    static final class TestBufferFunction implements TruffleObject {
+
+        final Object buffer;
+
+        TestBufferFunction(Object buffer) {
+            this.buffer = buffer;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isExecutable() {
+            return true;
+        }
+
+        @SuppressWarnings("unused")
+        @ExportMessage
+        Object execute(Object[] arguments) {
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests that the fast paths of spread calls and {@code Function.prototype.apply} preserve the
+ * observable semantics of the generic paths.
+ */
+public class ApplySpreadArgumentsTest {
+
+    private static final String PRELUDE = "function join() { return Array.prototype.join.call(arguments); }\n" +
+                    "function repeat(f) { var out = []; for (var i = 0; i < 3; i++) { out.push(f()); } return out.join('|'); }\n";
+
+    @Test
+    public void testSpreadArrays() {
+        assertEquals("1,2,3|1,2,3|1,2,3", JSTest.runInNewContext(PRELUDE + "repeat(() => join(...[1, 2, 3]));"));
+        assertEquals("1.5,a,|1.5,a,|1.5,a,", JSTest.runInNewContext(PRELUDE + "repeat(() => join(...[1.5, 'a', {toString() { return ''; }}]));"));
+        assertEquals("0,,2|0,,2|0,,2", JSTest.runInNewContext(PRELUDE + "repeat(() => { var a = [0, , 2]; return join(...a); });"));
+        assertEquals("x,1,y|x,1,y|x,1,y", JSTest.runInNewContext(PRELUDE + "var fwd = (...args) => join(...args); repeat(() => fwd('x', 1, 'y'));"));
+    }
+
+    @Test
+    public void testSpreadModifiedIteration() {
+        assertEquals("1,2,3|9|9", JSTest.runInNewContext(PRELUDE + "var n = 0; repeat(() => { var a = [1, 2, 3]; if (n++ > 0) { a[Symbol.iterator] = function* () { yield 9; }; } return join(...a); });"));
+        assertEquals("1,2|1,2|q", JSTest.runInNewContext(PRELUDE + "var n = 0; var next = Object.getPrototypeOf([][Symbol.iterator]()).next;" +
+                        "repeat(() => { if (n++ == 2) { Object.getPrototypeOf([][Symbol.iterator]()).next = function() { return this.done ? {done: true} : (this.done = true, {value: 'q'}); }; }" +
+                        "return join(...[1, 2]); });"));
+        assertEquals("1,p,3|1,p,3|1,p,3", JSTest.runInNewContext(PRELUDE + "Array.prototype[1] = 'p'; repeat(() => join(...[1, , 3]));"));
+    }
+
+    @Test
+    public void testApply() {
+        assertEquals("1,2,3|1,2,3|1,2,3", JSTest.runInNewContext(PRELUDE + "repeat(() => join.apply(null, [1, 2, 3]));"));
+        assertEquals("a,b|a,b|a,b", JSTest.runInNewContext(PRELUDE + "function f() { var args = arguments; return join.apply(null, args); } repeat(() => f('a', 'b'));"));
+        assertEquals("a|a|a", JSTest.runInNewContext(PRELUDE + "function f() { var args = arguments; args.length = 1; return join.apply(null, args); } repeat(() => f('a', 'b'));"));
+        assertEquals("a,b,|a,b,|a,b,", JSTest.runInNewContext(PRELUDE + "function f() { var args = arguments; args.length = 3; return join.apply(null, args); } repeat(() => f('a', 'b'));"));
+        assertEquals("1,,3|1,,3|1,,3", JSTest.runInNewContext(PRELUDE + "repeat(() => join.apply(null, [1, , 3]));"));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests speculative background translation of lazily translated functions.
+ */
+public class BackgroundTranslationTest {
+
+    private static Context.Builder newContextBuilder() {
+        return JSTest.newContextBuilder().allowCreateThread(true).option(JSContextOptions.LAZY_TRANSLATION_NAME, "true").option(JSContextOptions.BACKGROUND_TRANSLATION_THREADS_NAME, "2");
+    }
+
+    private static JSFunctionData getFunctionData(Context context, String name) {
+        DynamicObject function = (DynamicObject) JSObject.get(JavaScriptLanguage.getJSRealm(context).getGlobalObject(), name);
+        return JSFunction.getFunctionData(function);
+    }
+
+    private static String declarations(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("function g").append(i).append("(a) { return a * ").append(i).append("; }\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testTranslatedBeforeFirstCall() throws InterruptedException {
+        int count = 20;
+        try (Context context = newContextBuilder().build()) {
+            context.eval(JavaScriptLanguage.ID, declarations(count));
+            for (int i = 0; i < count; i++) {
+                JSFunctionData functionData = getFunctionData(context, "g" + i);
+                assertTrue(functionData.hasLazyInit());
+                for (int wait = 0; !functionData.isRootTargetInitialized() && wait < 1000; wait++) {
+                    Thread.sleep(10);
+                }
+                // none of the functions has been called yet
+                assertTrue("g" + i, functionData.isRootTargetInitialized());
+            }
+            assertEquals(38, context.eval(JavaScriptLanguage.ID, "g19(2)").asInt());
+        }
+    }
+
+    @Test
+    public void testThreadCreationNotAllowed() throws InterruptedException {
+        try (Context context = newContextBuilder().allowCreateThread(false).build()) {
+            context.eval(JavaScriptLanguage.ID, declarations(1));
+            Thread.sleep(100);
+            assertFalse(getFunctionData(context, "g0").isRootTargetInitialized());
+            assertEquals(0, context.eval(JavaScriptLanguage.ID, "g0(2)").asInt());
+        }
+    }
+
+    @Test
+    public void testImmediatelyInvoked() {
+        assertEquals("42", JSTest.runInNewContext(newContextBuilder(), "(function() { var x = 40; return (function() { return x + 2; })(); })()"));
+        assertEquals("ok", JSTest.runInNewContext(newContextBuilder(), "var r; (function() { r = this.v; }).call({v: 'ok'}); r"));
+        assertEquals("3", JSTest.runInNewContext(newContextBuilder(), "var m = (function() { var n = 0; return { inc: function() { return ++n; } }; })(); m.inc(); m.inc(); m.inc()"));
+    }
+
+    @Test
+    public void testTopLevelDeclarations() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append("function f").append(i).append("(a) { let b = a + ").append(i).append("; return () => b; }\n");
+        }
+        sb.append("var sum = 0; for (var i = 0; i < 100; i++) sum += this['f' + i](1)(); sum");
+        assertEquals("5050", JSTest.runInNewContext(newContextBuilder(), sb.toString()));
+    }
+
+    @Test
+    public void testEval() {
+        assertEquals("3", JSTest.runInNewContext(newContextBuilder(), "var x = 1; function f() { return eval('x + 2'); } f()"));
+        assertEquals("local", JSTest.runInNewContext(newContextBuilder(), "(function() { var y = 'local'; return (function() { return eval('y'); })(); })()"));
+    }
+
+    @Test
+    public void testErrors() {
+        assertEquals("SyntaxError", JSTest.runInNewContext(newContextBuilder(), "(function() { try { (function() { eval('('); })(); } catch (e) { return e.name; } })()"));
+        assertEquals("ReferenceError", JSTest.runInNewContext(newContextBuilder(), "function g() { return undefinedVariable; } try { g(); } catch (e) { e.name }"));
+    }
+}
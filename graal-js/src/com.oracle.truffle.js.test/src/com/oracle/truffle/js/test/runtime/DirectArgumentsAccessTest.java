@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests reads of {@code arguments.length} and {@code arguments[i]} that are served directly from
+ * the frame without allocating the arguments object.
+ */
+public class DirectArgumentsAccessTest {
+
+    private static final String PRELUDE = "function repeat(f) { var out = []; for (var i = 0; i < 3; i++) { out.push(f()); } return out.join('|'); }\n";
+
+    @Test
+    public void testLengthAndElements() {
+        assertEquals("3:a,b,c|3:a,b,c|3:a,b,c", JSTest.runInNewContext(PRELUDE + "function f() { var r = []; for (var i = 0; i < arguments.length; i++) { r.push(arguments[i]); } return arguments.length + ':' + r; }" +
+                        "repeat(() => f('a', 'b', 'c'));"));
+        assertEquals("1:x,undefined|1:x,undefined|1:x,undefined", JSTest.runInNewContext(PRELUDE + "function f() { 'use strict'; return arguments.length + ':' + arguments[0] + ',' + arguments[1]; } repeat(() => f('x'));"));
+        assertEquals("2:1,2|2:1,2|2:1,2", JSTest.runInNewContext(PRELUDE + "function f(a) { 'use strict'; a = 5; return arguments.length + ':' + arguments[0] + ',' + arguments[1]; } repeat(() => f(1, 2));"));
+    }
+
+    @Test
+    public void testNonIndexKeys() {
+        assertEquals("true|true|true", JSTest.runInNewContext(PRELUDE + "function f() { return arguments['callee'] === f; } repeat(() => f(1));"));
+        assertEquals("3,p|3,p|3,p", JSTest.runInNewContext(PRELUDE + "Object.prototype[1] = 'p'; function f() { return arguments[0] + ',' + arguments[1]; } repeat(() => f(3));"));
+        assertEquals("b|b|b", JSTest.runInNewContext(PRELUDE + "function f() { 'use strict'; return arguments[0.5 + 0.5]; } repeat(() => f('a', 'b'));"));
+    }
+
+    @Test
+    public void testEscapedArguments() {
+        assertEquals("1:9|1:9|1:9", JSTest.runInNewContext(PRELUDE + "var g = { apply(t, args) { args[0] = 9; args.length = 1; } };" +
+                        "function f() { g.apply(this, arguments); return arguments.length + ':' + arguments[0]; } repeat(() => f(1, 2));"));
+        assertEquals("0:undefined|0:undefined|0:undefined", JSTest.runInNewContext(PRELUDE + "function f() { delete arguments[0]; arguments.length = 0; return arguments.length + ':' + arguments[0]; } repeat(() => f(1));"));
+        assertEquals("7|7|7", JSTest.runInNewContext(PRELUDE + "function f() { arguments[0] = 7; return arguments[0]; } repeat(() => f(1));"));
+        assertEquals("5|5|5", JSTest.runInNewContext(PRELUDE + "function f(a) { a = 5; return arguments[0]; } repeat(() => f(1));"));
+    }
+}
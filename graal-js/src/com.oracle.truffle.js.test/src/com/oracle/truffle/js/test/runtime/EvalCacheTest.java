@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests that scripts cached by eval call sites are evaluated in the right scope.
+ */
+public class EvalCacheTest {
+
+    private static Context.Builder newContextBuilder(int cacheSize) {
+        return JSTest.newContextBuilder().option(JSContextOptions.EVAL_CACHE_SIZE_NAME, String.valueOf(cacheSize));
+    }
+
+    private static void assertEval(String expected, String source) {
+        assertEquals(expected, JSTest.runInNewContext(newContextBuilder(2), source));
+        assertEquals(expected, JSTest.runInNewContext(newContextBuilder(0), source));
+    }
+
+    @Test
+    public void testDirectEval() {
+        assertEval("0,2,4,6,8", "function f(x) { return eval('x * 2'); } var r = []; for (var i = 0; i < 5; i++) r.push(f(i)); r.join()");
+        assertEval("a,b,c,a,b", "function f(s) { return eval(s); } var r = []; var a = 'a', b = 'b', c = 'c'; ['a', 'b', 'c', 'a', 'b'].forEach(s => r.push(f(s))); r.join()");
+        assertEval("1,2,3", "function f() { var r = []; for (var i = 1; i <= 3; i++) { let j = i; r.push(eval('j')); } return r.join(); } f()");
+    }
+
+    @Test
+    public void testDirectEvalDeclarations() {
+        assertEval("1,1,1", "function f() { eval('var v = 1'); return v; } [f(), f(), f()].join()");
+        assertEval("3", "var n = 0; for (var i = 0; i < 3; i++) eval('function g() { return ++n; }; g()'); n");
+    }
+
+    @Test
+    public void testDirectEvalThis() {
+        assertEval("1,2", "function f() { return eval('this.x'); } [f.call({x: 1}), f.call({x: 2})].join()");
+    }
+
+    @Test
+    public void testStrictness() {
+        assertEval("undefined,undefined", "function f() { 'use strict'; eval('var s = 1'); return typeof s; } [f(), f()].join()");
+        assertEval("number,number", "function f() { eval('var s = 1'); return typeof s; } [f(), f()].join()");
+    }
+
+    @Test
+    public void testIndirectEval() {
+        assertEval("global,global", "var x = 'global'; function f() { var x = 'local'; return (0, eval)('x'); } [f(), f()].join()");
+        assertEval("1,2,3", "var e = eval; var r = []; for (var i = 1; i <= 3; i++) r.push(e('i')); r.join()");
+    }
+
+    @Test
+    public void testSyntaxErrorNotCached() {
+        assertEval("SyntaxError,SyntaxError", "var r = []; for (var i = 0; i < 2; i++) { try { eval('('); } catch (e) { r.push(e.name); } } r.join()");
+    }
+
+    @Test
+    public void testCacheEviction() {
+        assertEval("0,1,2,3,0,1,2,3", "var r = []; for (var k = 0; k < 2; k++) for (var i = 0; i < 4; i++) r.push(eval(String(i))); r.join()");
+    }
+}
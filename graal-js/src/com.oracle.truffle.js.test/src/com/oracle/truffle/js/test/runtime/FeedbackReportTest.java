@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests the inline cache feedback report printed on exit.
+ */
+public class FeedbackReportTest {
+
+    private static final String SOURCE = "function get(o) { return o.x; }\n" +
+                    "for (var i = 0; i < 10; i++) { var o = {}; o['p' + i] = i; o.x = i; get(o); }\n" +
+                    "function call(f) { return f(); }\n" +
+                    "call(function a() {}); call(function b() {});\n" +
+                    "function elem(a) { return a[0]; }\n" +
+                    "[[1], [1.5], ['x'], new Int8Array(1), new Uint8Array(1), new Int32Array(1), new Float64Array(1)].forEach(elem);\n";
+
+    private static String runWithReport(String format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.FEEDBACK_REPORT_NAME, format).out(out).build()) {
+            context.eval(JavaScriptLanguage.ID, SOURCE);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testText() {
+        String report = runWithReport("text");
+        assertTrue(report, report.startsWith("Inline cache feedback report"));
+        assertTrue(report, report.contains("MEGAMORPHIC  PropertyGetNode"));
+        assertTrue(report, report.contains("cache limit reached"));
+        assertTrue(report, report.contains("POLYMORPHIC  "));
+        assertTrue(report, report.contains("Megamorphic property access sites using the lookup cache: "));
+    }
+
+    @Test
+    public void testJSON() {
+        String report = runWithReport("json");
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings(JavaScriptLanguage.ID).putMember("report", report);
+            assertTrue(report, context.eval(JavaScriptLanguage.ID,
+                            "JSON.parse(report).sites.some(s => s.kind === 'PropertyGetNode' && s.name === 'x' && s.state === 'megamorphic' && s.reasons.length > 0)").asBoolean());
+            assertTrue(report, context.eval(JavaScriptLanguage.ID, "JSON.parse(report).megamorphicPropertySites > 0").asBoolean());
+            // one row per call site, listing all callees seen there
+            assertTrue(report, context.eval(JavaScriptLanguage.ID,
+                            "var s = JSON.parse(report).sites.filter(s => s.code === 'f()'); s.length === 1 && s[0].state === 'polymorphic' && s[0].entries === 2 && s[0].name === 'a|b'").asBoolean());
+            assertTrue(report, context.eval(JavaScriptLanguage.ID,
+                            "var s = JSON.parse(report).sites.filter(s => s.code === 'a[0]' && s.kind === 'ReadElementNode[array]'); s.length === 1 && s[0].state === 'megamorphic'").asBoolean());
+        }
+    }
+
+    @Test
+    public void testSharedEngine() {
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        try (Engine engine = JSTest.newEngineBuilder().option(JSContextOptions.FEEDBACK_REPORT_NAME, "text").build()) {
+            Context context1 = JSTest.newContextBuilder().engine(engine).out(out1).build();
+            Context context2 = JSTest.newContextBuilder().engine(engine).out(out2).build();
+            context1.eval(JavaScriptLanguage.ID, SOURCE);
+            context2.eval(JavaScriptLanguage.ID, SOURCE);
+            context1.close();
+            context2.close();
+        }
+        // the report is printed once, when the last context is closed
+        assertEquals("", new String(out1.toByteArray(), StandardCharsets.UTF_8));
+        String report = new String(out2.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(report, report.indexOf("Inline cache feedback report"), report.lastIndexOf("Inline cache feedback report"));
+        assertTrue(report, report.contains("MEGAMORPHIC  PropertyGetNode"));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests for-in enumeration of objects whose keys are cached for the whole prototype chain.
+ */
+public class ForInEnumCacheTest {
+
+    private static String forInKeys(String setup) {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String source = setup + ";\n" +
+                            "function keys(o, mutate) { var r = []; for (var k in o) { r.push(k); if (mutate) mutate(o, k); } return r.join(); }\n" +
+                            "var out = []; for (var i = 0; i < 5; i++) { out.push(test()); } out.join('|');";
+            return context.eval(JavaScriptLanguage.ID, source).asString();
+        }
+    }
+
+    private static void assertForInKeys(String expected, String setup) {
+        assertEquals(String.join("|", expected, expected, expected, expected, expected), forInKeys(setup));
+    }
+
+    @Test
+    public void testPrototypeChain() {
+        assertForInKeys("a,b,c,p", "function P() {} P.prototype.p = 1; P.prototype.b = 2;" +
+                        "function test() { var o = new P(); o.a = 1; o.b = 2; o.c = 3; return keys(o); }");
+        assertForInKeys("x,y", "class C { constructor() { this.x = 1; this.y = 2; } m() {} }" +
+                        "function test() { return keys(new C()); }");
+    }
+
+    @Test
+    public void testShadowedByNonEnumerable() {
+        assertForInKeys("a", "var proto = {a: 1, b: 2};" +
+                        "function test() { var o = Object.create(proto); Object.defineProperty(o, 'b', {value: 3, enumerable: false}); return keys(o); }");
+    }
+
+    @Test
+    public void testDeleteDuringIteration() {
+        assertForInKeys("a,c", "function test() { var o = {a: 1, b: 2, c: 3}; return keys(o, function(o, k) { if (k === 'a') delete o.b; }); }");
+        assertForInKeys("a,p", "function test() { var proto = {p: 1, q: 2}; var o = Object.create(proto); o.a = 1;" +
+                        "return keys(o, function(o, k) { if (k === 'p') delete proto.q; }); }");
+    }
+
+    @Test
+    public void testPrototypeChange() {
+        assertForInKeys("a,p,q", "function test() { var o = {a: 1}; var r = keys(o); Object.setPrototypeOf(o, {p: 1, q: 2}); return keys(o); }");
+        assertForInKeys("a,0", "function test() { var o = {a: 1}; Object.prototype[0] = 0; try { return keys(o); } finally { delete Object.prototype[0]; } }");
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests scripts evaluated in every new context via {@link JSContextOptions#INIT_SCRIPTS}.
+ */
+public class InitScriptsTest {
+
+    private static File createScript(String code) throws IOException {
+        File file = File.createTempFile("init", ".js");
+        file.deleteOnExit();
+        Files.write(file.toPath(), code.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testSharedEngine() throws IOException {
+        File first = createScript("var counter = 0; function next() { return ++counter; }");
+        File second = createScript("var start = next();");
+        String initScripts = first.getPath() + "," + second.getPath();
+        try (Engine engine = JSTest.newEngineBuilder().option(JSContextOptions.INIT_SCRIPTS_NAME, initScripts).build()) {
+            for (int i = 0; i < 3; i++) {
+                try (Context context = JSTest.newContextBuilder().engine(engine).allowIO(true).build()) {
+                    assertEquals(1, context.eval(JavaScriptLanguage.ID, "start").asInt());
+                    assertEquals(3, context.eval(JavaScriptLanguage.ID, "next(); next()").asInt());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChildRealm() throws IOException {
+        File script = createScript("var initialized = (typeof initialized === 'undefined') ? 1 : initialized + 1;");
+        try (Context context = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.INIT_SCRIPTS_NAME, script.getPath()).option(JSContextOptions.V8_REALM_BUILTIN_NAME,
+                        "true").build()) {
+            assertEquals(1, context.eval(JavaScriptLanguage.ID, "initialized").asInt());
+            assertEquals(1, context.eval(JavaScriptLanguage.ID, "Realm.eval(Realm.create(), 'initialized')").asInt());
+        }
+    }
+
+    @Test
+    public void testModifiedScript() throws IOException {
+        File script = createScript("var version = 1;");
+        try (Engine engine = JSTest.newEngineBuilder().option(JSContextOptions.INIT_SCRIPTS_NAME, script.getPath()).build()) {
+            try (Context context = JSTest.newContextBuilder().engine(engine).allowIO(true).build()) {
+                assertEquals(1, context.eval(JavaScriptLanguage.ID, "version").asInt());
+            }
+            // the script is read only once per engine
+            Files.write(script.toPath(), "var version = 2;".getBytes(StandardCharsets.UTF_8));
+            try (Context context = JSTest.newContextBuilder().engine(engine).allowIO(true).build()) {
+                assertEquals(1, context.eval(JavaScriptLanguage.ID, "version").asInt());
+            }
+        }
+    }
+
+    @Test
+    public void testMissingScript() {
+        try (Context context = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.INIT_SCRIPTS_NAME, "does-not-exist.js").build()) {
+            context.eval(JavaScriptLanguage.ID, "1");
+            fail("expected error");
+        } catch (PolyglotException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("does-not-exist.js"));
+        }
+    }
+}
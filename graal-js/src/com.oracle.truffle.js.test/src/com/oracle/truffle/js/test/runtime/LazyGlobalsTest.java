@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests global properties whose values are only created on first access.
+ */
+public class LazyGlobalsTest {
+
+    private static Context.Builder newContextBuilder() {
+        return JSTest.newContextBuilder().option(JSContextOptions.INTL_402_NAME, "true");
+    }
+
+    @Test
+    public void testMaterializeOnRead() {
+        assertEquals("object,object,object,object", JSTest.runInNewContext(newContextBuilder(), "[typeof JSON, typeof Reflect, typeof Atomics, typeof Intl].join()"));
+        assertEquals("3", JSTest.runInNewContext(newContextBuilder(), "JSON.parse('[1,2,3]').length"));
+        assertEquals("true", JSTest.runInNewContext(newContextBuilder(), "JSON === globalThis.JSON && Reflect === Reflect"));
+        assertEquals("true,false,true", JSTest.runInNewContext(newContextBuilder(), "var d = Object.getOwnPropertyDescriptor(globalThis, 'Reflect'); [d.writable, d.enumerable, d.configurable].join()"));
+        assertEquals("function", JSTest.runInNewContext(newContextBuilder(), "typeof new Intl.Collator().compare"));
+    }
+
+    @Test
+    public void testOverwriteBeforeRead() {
+        assertEquals("1,2", JSTest.runInNewContext(newContextBuilder(), "Atomics = 1; var a = Atomics; JSON = 2; [a, JSON].join()"));
+        assertEquals("undefined", JSTest.runInNewContext(newContextBuilder(), "delete Intl; typeof Intl"));
+        assertEquals("42", JSTest.runInNewContext(newContextBuilder(), "Object.defineProperty(globalThis, 'Reflect', {value: 42}); Reflect"));
+    }
+
+    @Test
+    public void testKeys() {
+        assertEquals("true,true", JSTest.runInNewContext(newContextBuilder(), "var names = Object.getOwnPropertyNames(globalThis); [names.includes('JSON'), names.includes('Atomics')].join()"));
+    }
+
+    @Test
+    public void testIntlConstructorsWithoutGlobal() {
+        assertEquals("true", JSTest.runInNewContext(newContextBuilder(), "delete globalThis.Intl; 'a'.localeCompare('b') < 0"));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests property accesses that go through the megamorphic property cache.
+ */
+public class MegamorphicPropertyCacheTest {
+
+    private static Context.Builder newContextBuilder() {
+        return JSTest.newContextBuilder().option(JSContextOptions.PROPERTY_CACHE_LIMIT_NAME, "0");
+    }
+
+    @Test
+    public void testOwnAndPrototypeProperties() {
+        assertEquals("1,2,3,1,2,3", JSTest.runInNewContext(newContextBuilder(), "function get(o) { return o.x; }" +
+                        "var proto = {x: 3}; var r = [];" +
+                        "for (var i = 0; i < 2; i++) { r.push(get({x: 1}), get({y: 0, x: 2}), get(Object.create(proto))); }" +
+                        "r.join()"));
+    }
+
+    @Test
+    public void testPrototypeModification() {
+        assertEquals("3,4,undefined,5", JSTest.runInNewContext(newContextBuilder(), "function get(o) { return o.x; }" +
+                        "var proto = {x: 3}; var o = Object.create(proto); var r = [get(o)];" +
+                        "proto.x = 4; r.push(get(o)); delete proto.x; r.push(get(o));" +
+                        "Object.setPrototypeOf(o, {x: 5}); r.push(get(o)); r.join()"));
+    }
+
+    @Test
+    public void testAccessor() {
+        assertEquals("6,7", JSTest.runInNewContext(newContextBuilder(), "function get(o) { return o.x; }" +
+                        "var proto = { get x() { return this.y; } };" +
+                        "var a = Object.create(proto); a.y = 6; var b = Object.create(proto); b.y = 7;" +
+                        "get(a) + ',' + get(b)"));
+    }
+
+    @Test
+    public void testSet() {
+        assertEquals("2,1,42,3", JSTest.runInNewContext(newContextBuilder(), "'use strict'; function set(o, v) { o.x = v; }" +
+                        "var a = {x: 1}; set(a, 2);" +
+                        "var b = Object.freeze({x: 1}); try { set(b, 2); } catch (e) {}" +
+                        "var c = Object.create({ set x(v) { this.y = v; } }); set(c, 42);" +
+                        "var d = {x: 1}; set(d, 3);" +
+                        "[a.x, b.x, c.y, d.x].join()"));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests the per-shape allocation and property access statistics.
+ */
+public class ShapeStatisticsTest {
+
+    private static final String SOURCE = "class Point { constructor(x, y) { this.x = x; this.y = y; } }\n" +
+                    "function sum(p) { return p.x + p.y; }\n" +
+                    "var s = 0; for (var i = 0; i < 100; i++) { s += sum(new Point(i, i)); }\n" +
+                    "var d = {}; for (var i = 0; i < 1100; i++) { d['k' + i] = i; }\n";
+
+    @Test
+    public void testText() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.SHAPE_STATISTICS_NAME, "text").out(out).build()) {
+            context.eval(JavaScriptLanguage.ID, SOURCE);
+        }
+        String report = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(report, report.startsWith("Shape statistics: "));
+        assertTrue(report, report.contains("JSOrdinary"));
+        assertTrue(report, report.contains("{x, y}"));
+        assertTrue(report, report.contains("dictionary mode reason: set"));
+    }
+
+    @Test
+    public void testLiveJSON() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.SHAPE_STATISTICS_NAME, "json").out(new ByteArrayOutputStream()).build()) {
+            context.eval(JavaScriptLanguage.ID, SOURCE);
+            context.eval(JavaScriptLanguage.ID, "var stats = JSON.parse(Graal.shapeStatistics());");
+            assertTrue(context.eval(JavaScriptLanguage.ID, "stats.dictionaryConversions === 1 && stats.shapes[0].dictionaryConversions === 1").asBoolean());
+            // the first read at each site specializes the cache and is not a cache hit
+            assertTrue(context.eval(JavaScriptLanguage.ID, "stats.shapes.filter(s => s.shape.endsWith('{x, y}')).reduce((n, s) => n + s.cachedReads + s.uncachedReads, 0) >= 198").asBoolean());
+            assertTrue(context.eval(JavaScriptLanguage.ID, "stats.shapes.reduce((n, s) => n + s.allocations, 0) >= 100").asBoolean());
+            assertTrue(context.eval(JavaScriptLanguage.ID, "stats.shapes.filter(s => s.shape.endsWith('{x}')).reduce((n, s) => n + s.transitions + s.uncachedWrites, 0) >= 100").asBoolean());
+        }
+    }
+
+    @Test
+    public void testComputedKeys() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.SHAPE_STATISTICS_NAME, "json").out(new ByteArrayOutputStream()).build()) {
+            context.eval(JavaScriptLanguage.ID, "var o = {a: 1, b: 2, c: 3}; var keys = ['a', 'b', 'c']; var s = 0;" +
+                            "for (var i = 0; i < 300; i++) { s += o[keys[i % 3]]; o[keys[i % 3]] = i; }");
+            context.eval(JavaScriptLanguage.ID, "var stats = JSON.parse(Graal.shapeStatistics()).shapes.filter(s => s.shape.endsWith('{a, b, c}'));");
+            assertTrue(context.eval(JavaScriptLanguage.ID, "stats.reduce((n, s) => n + s.cachedReads + s.uncachedReads, 0) >= 297").asBoolean());
+            assertTrue(context.eval(JavaScriptLanguage.ID, "stats.reduce((n, s) => n + s.cachedWrites + s.uncachedWrites, 0) >= 297").asBoolean());
+        }
+    }
+
+    @Test
+    public void testCachedReadsCountHits() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.SHAPE_STATISTICS_NAME, "json").out(new ByteArrayOutputStream()).build()) {
+            context.eval(JavaScriptLanguage.ID, "function get(o) { return o.statsProp; } var o = {statsProp: 1}; for (var i = 0; i < 10; i++) { get(o); }");
+            context.eval(JavaScriptLanguage.ID, "var stats = JSON.parse(Graal.shapeStatistics()).shapes.filter(s => s.shape.endsWith('{statsProp}'));");
+            // only the reads served by the cache entry are counted, not the one that created it
+            assertEquals(9, context.eval(JavaScriptLanguage.ID, "stats.reduce((n, s) => n + s.cachedReads, 0)").asInt());
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertTrue(context.eval(JavaScriptLanguage.ID, "typeof Graal.shapeStatistics === 'undefined'").asBoolean());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests objects allocated with the large layout after slack tracking.
+ */
+public class SlackTrackingTest {
+
+    private static final String MANY_FIELDS = "function Point(i) { for (var j = 0; j < 30; j++) { this['f' + j] = i + j; } this.x = i; this.y = 'y' + i; }" +
+                    "var points = []; for (var i = 0; i < 100; i++) { points.push(new Point(i)); }";
+
+    @Test
+    public void testConstructor() {
+        assertEquals("99,y99,128,32", JSTest.runInNewContext(MANY_FIELDS + "var p = points[99]; [p.x, p.y, p.f29, Object.keys(p).length].join()"));
+        assertEquals("true,true", JSTest.runInNewContext(MANY_FIELDS + "[points[0] instanceof Point, Object.getPrototypeOf(points[99]) === Point.prototype].join()"));
+    }
+
+    @Test
+    public void testClass() {
+        assertEquals("20,19,true", JSTest.runInNewContext("class A { constructor(i) { for (var j = 0; j < 20; j++) { this['a' + j] = i * j; } } sum() { return this.a19; } }" +
+                        "var r; for (var i = 0; i < 50; i++) { r = new A(i); } [Object.keys(r).length, new A(1).sum(), r instanceof A].join()"));
+    }
+
+    @Test
+    public void testObjectLiteral() {
+        assertEquals("10,9,k", JSTest.runInNewContext("var o; for (var i = 0; i < 20; i++) { o = {a: 1, b: 2, c: 3, d: 4, e: 5, f: 6, g: 7, h: 8, i: 9, j: i}; o.k = 'k'; }" +
+                        "[Object.keys(o).length - 1, o.i, o.k].join()"));
+    }
+
+    @Test
+    public void testReshape() {
+        assertEquals("99,undefined,true,1", JSTest.runInNewContext(MANY_FIELDS + "var p = points[99]; delete p.f0; Object.setPrototypeOf(p, null);" +
+                        "var q = points[98]; Object.freeze(q); q.x = 0;" +
+                        "[p.x, p.f0, Object.isFrozen(q), Object.assign({}, points[50]).f1 - 50].join()"));
+        assertEquals("{\"a\":1,\"b\":2}", JSTest.runInNewContext("function C() { this.a = 1; this.b = 2; for (var j = 0; j < 10; j++) { this['c' + j] = j; } }" +
+                        "var c; for (var i = 0; i < 20; i++) { c = new C(); } for (var j = 0; j < 10; j++) { delete c['c' + j]; } JSON.stringify(c)"));
+    }
+}
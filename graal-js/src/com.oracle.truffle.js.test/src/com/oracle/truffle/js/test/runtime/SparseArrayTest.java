@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.array.SparseArrayMap;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests the segmented storage of sparse arrays.
+ */
+public class SparseArrayTest {
+
+    private static long orMinusOne(Long key) {
+        return key == null ? -1 : key;
+    }
+
+    @Test
+    public void testMapAgainstTreeMap() {
+        Random random = new Random(42);
+        SparseArrayMap map = new SparseArrayMap();
+        TreeMap<Long, Object> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            long index = random.nextBoolean() ? random.nextInt(500) : random.nextInt(100000);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    map.put(index, i);
+                    expected.put(index, i);
+                    break;
+                case 2:
+                    map.remove(index);
+                    expected.remove(index);
+                    break;
+                default:
+                    if (random.nextInt(100) == 0) {
+                        map.truncate(index);
+                        expected.tailMap(index).clear();
+                    }
+                    break;
+            }
+            assertEquals(expected.get(index), map.get(index));
+            assertEquals(orMinusOne(expected.higherKey(index)), map.higherKey(index));
+            assertEquals(orMinusOne(expected.lowerKey(index)), map.lowerKey(index));
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.isEmpty() ? -1 : expected.firstKey(), map.firstKey());
+        assertEquals(expected.isEmpty() ? -1 : expected.lastKey(), map.lastKey());
+        long index = map.firstKey();
+        for (Map.Entry<Long, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getKey().longValue(), index);
+            assertEquals(entry.getValue(), map.get(index));
+            index = map.higherKey(index);
+        }
+        assertEquals(-1, index);
+    }
+
+    @Test
+    public void testRandomWidelySpacedWrites() {
+        Random random = new Random(7);
+        SparseArrayMap map = new SparseArrayMap();
+        TreeMap<Long, Object> expected = new TreeMap<>();
+        long[] indices = new long[200000];
+        for (int i = 0; i < indices.length; i++) {
+            // every element in its own segment, written in random order
+            indices[i] = (random.nextLong() & 0xffffffffL) % 0xfffffffeL;
+            map.put(indices[i], i);
+            expected.put(indices[i], i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < indices.length; i += 2) {
+            map.remove(indices[i]);
+            expected.remove(indices[i]);
+        }
+        assertEquals(expected.size(), map.size());
+        long index = map.firstKey();
+        for (Map.Entry<Long, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getKey().longValue(), index);
+            assertEquals(entry.getValue(), map.get(index));
+            index = map.higherKey(index);
+        }
+        assertEquals(-1, index);
+        assertEquals(expected.lastKey().longValue(), map.lastKey());
+        assertEquals(orMinusOne(expected.lowerKey(expected.lastKey())), map.lowerKey(map.lastKey()));
+
+        assertEquals("20000,true", JSTest.runInNewContext("var a = []; var x = 12345; var keys = [];" +
+                        "for (var i = 0; i < 20000; i++) { x = (x * 48271) % 2147483647; keys.push(x * 2); a[x * 2] = i; }" +
+                        "var sorted = keys.slice().sort((p, q) => p - q); var k = Object.keys(a).map(Number);" +
+                        "[k.length, k.every((v, i) => v === sorted[i])].join()"));
+    }
+
+    @Test
+    public void testSparseArray() {
+        assertEquals("0,5,100000,3", JSTest.runInNewContext("var a = []; a[100000] = 3; a[5] = 2; a[0] = 1; Object.keys(a).concat(a.length - 100001 + 3).join()"));
+        assertEquals("1,2", JSTest.runInNewContext("var a = []; a[1e6] = 1; a[2e6] = 2; a.length = 2e6; a[1e6] = 2; [a.filter(x => true).length, a[1e6]].join()"));
+        assertEquals("4,a,b,c", JSTest.runInNewContext("var a = []; a[50000] = 'c'; a[100] = 'b'; a[0] = 'a'; a.splice(1, 99); var r = [a.indexOf('b') + 3]; r.concat(a.filter(x => true)).join()"));
+        assertEquals("x,a,true", JSTest.runInNewContext("var a = []; a[70000] = 'a'; a.unshift('x'); [a[0], a[70001], !(70000 in a)].join()"));
+    }
+
+    @Test
+    public void testFillHoles() {
+        assertEquals("20000,199990000,true", JSTest.runInNewContext("var a = new Array(20000); for (var i = a.length - 1; i >= 0; i--) { a[i] = i; }" +
+                        "var sum = 0; for (var i = 0; i < a.length; i++) { sum += a[i]; } a.push(1); [a.length - 1, sum, a[20000] === 1].join()"));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests WeakMap and WeakSet entries stored inline in the key and in the overflow map.
+ */
+public class WeakMapTest {
+
+    @Test
+    public void testManyMapsPerKey() {
+        assertEquals("0,1,2,3,4,5,6,7,8,9", JSTest.runInNewContext("var key = {}; var maps = [];" +
+                        "for (var i = 0; i < 10; i++) { var m = new WeakMap(); m.set(key, i); maps.push(m); }" +
+                        "maps.map(m => m.get(key)).join()"));
+        assertEquals("true,false,true,3", JSTest.runInNewContext("var key = {}; var a = new WeakMap(), b = new WeakMap(), c = new WeakMap();" +
+                        "a.set(key, 1); b.set(key, 2); c.set(key, 3);" +
+                        "var r = [a.delete(key), a.has(key), b.has(key)];" +
+                        "var d = new WeakMap(); d.set(key, 4); a.set(key, 5); r.push(c.get(key)); r.join()"));
+    }
+
+    @Test
+    public void testOverwriteAndDelete() {
+        assertEquals("2,true,false,undefined", JSTest.runInNewContext("var key = {}; var m = new WeakMap(); m.set(key, 1); m.set(key, 2);" +
+                        "[m.get(key), m.delete(key), m.delete(key), m.get(key)].join()"));
+        assertEquals("true,undefined", JSTest.runInNewContext("var key = Object.freeze({}); var m = new WeakMap(); m.set(key, undefined);" +
+                        "[m.has(key), m.get(key)].join()"));
+    }
+
+    @Test
+    public void testMapAndSetShareKey() {
+        assertEquals("true,1,true,false", JSTest.runInNewContext("var key = {}; var m = new WeakMap(); var s = new WeakSet();" +
+                        "s.add(key); m.set(key, 1); var r = [s.has(key), m.get(key), s.delete(key), s.has(key)]; r.join()"));
+        assertEquals("true,false", JSTest.runInNewContext("var key = new Proxy({}, {}); var s = new WeakSet(); s.add(key); [s.has(key), s.has({})].join()"));
+    }
+
+    @Test
+    public void testValueOfCollectedMapIsReleased() throws InterruptedException {
+        Object value = new Object();
+        WeakReference<Object> valueRef = new WeakReference<>(value);
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.getBindings(JavaScriptLanguage.ID).putMember("value", value);
+            value = null;
+            context.eval(JavaScriptLanguage.ID, "var key = {}; var other = new WeakMap(); other.set(key, 0);" +
+                            "(function() { var m = new WeakMap(); m.set(key, value); })(); delete this.value;");
+            // only read the key through the other map; this must release the collected map's value
+            for (int i = 0; i < 100 && valueRef.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+                context.eval(JavaScriptLanguage.ID, "other.get(key); other.has(key);");
+            }
+            assertNull(valueRef.get());
+        }
+    }
+}
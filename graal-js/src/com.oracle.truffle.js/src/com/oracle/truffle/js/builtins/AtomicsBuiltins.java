@@ -41,8 +41,6 @@
 package com.oracle.truffle.js.builtins;
 
 import java.nio.ByteBuffer;
-import java.util.function.BinaryOperator;
-import java.util.function.IntBinaryOperator;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -58,6 +56,7 @@ import com.oracle.truffle.js.builtins.AtomicsBuiltinsFactory.AtomicsStoreNodeGen
 import com.oracle.truffle.js.builtins.AtomicsBuiltinsFactory.AtomicsWaitNodeGen;
 import com.oracle.truffle.js.builtins.AtomicsBuiltinsFactory.AtomicsWakeNodeGen;
 import com.oracle.truffle.js.builtins.helper.SharedMemorySync;
+import com.oracle.truffle.js.builtins.helper.SharedMemorySync.ReadModifyWrite;
 import com.oracle.truffle.js.nodes.cast.JSToBigIntNode;
 import com.oracle.truffle.js.nodes.cast.JSToIndexNode;
 import com.oracle.truffle.js.nodes.cast.JSToInt32Node;
@@ -65,9 +64,11 @@ import com.oracle.truffle.js.nodes.cast.JSToIntegerAsLongNode;
 import com.oracle.truffle.js.nodes.cast.JSToNumberNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.nodes.promise.NewPromiseCapabilityNode;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
@@ -77,8 +78,12 @@ import com.oracle.truffle.js.runtime.SafeInteger;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
@@ -104,6 +109,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         exchange(3),
         wake(3),
         wait(4),
+        waitAsync(4),
         isLockFree(1),
 
         // ES9?
@@ -124,6 +130,8 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         public int getECMAScriptVersion() {
             if (this.equals(notify)) {
                 return JSConfig.ECMAScript2019;
+            } else if (this.equals(waitAsync)) {
+                return JSConfig.ECMAScript2022;
             }
             return JSConfig.ECMAScript2017;
         }
@@ -140,22 +148,24 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
             case store:
                 return AtomicsStoreNodeGen.create(context, builtin, args().fixedArgs(3).createArgumentNodes(context));
             case add:
-                return AtomicsComputeNodeGen.create(context, builtin, (a, b) -> a + b, (a, b) -> a.add(b), args().fixedArgs(3).createArgumentNodes(context));
+                return AtomicsComputeNodeGen.create(context, builtin, ReadModifyWrite.ADD, args().fixedArgs(3).createArgumentNodes(context));
             case sub:
-                return AtomicsComputeNodeGen.create(context, builtin, (a, b) -> a - b, (a, b) -> a.subtract(b), args().fixedArgs(3).createArgumentNodes(context));
+                return AtomicsComputeNodeGen.create(context, builtin, ReadModifyWrite.SUB, args().fixedArgs(3).createArgumentNodes(context));
             case and:
-                return AtomicsComputeNodeGen.create(context, builtin, (a, b) -> a & b, (a, b) -> a.and(b), args().fixedArgs(3).createArgumentNodes(context));
+                return AtomicsComputeNodeGen.create(context, builtin, ReadModifyWrite.AND, args().fixedArgs(3).createArgumentNodes(context));
             case or:
-                return AtomicsComputeNodeGen.create(context, builtin, (a, b) -> a | b, (a, b) -> a.or(b), args().fixedArgs(3).createArgumentNodes(context));
+                return AtomicsComputeNodeGen.create(context, builtin, ReadModifyWrite.OR, args().fixedArgs(3).createArgumentNodes(context));
             case xor:
-                return AtomicsComputeNodeGen.create(context, builtin, (a, b) -> a ^ b, (a, b) -> a.xor(b), args().fixedArgs(3).createArgumentNodes(context));
+                return AtomicsComputeNodeGen.create(context, builtin, ReadModifyWrite.XOR, args().fixedArgs(3).createArgumentNodes(context));
             case exchange:
-                return AtomicsComputeNodeGen.create(context, builtin, (a, b) -> b, (a, b) -> b, args().fixedArgs(3).createArgumentNodes(context));
+                return AtomicsComputeNodeGen.create(context, builtin, ReadModifyWrite.EXCHANGE, args().fixedArgs(3).createArgumentNodes(context));
             case wake:
             case notify:
                 return AtomicsWakeNodeGen.create(context, builtin, args().fixedArgs(3).createArgumentNodes(context));
             case wait:
-                return AtomicsWaitNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context));
+                return AtomicsWaitNodeGen.create(context, builtin, false, args().fixedArgs(4).createArgumentNodes(context));
+            case waitAsync:
+                return AtomicsWaitNodeGen.create(context, builtin, true, args().fixedArgs(4).createArgumentNodes(context));
             case isLockFree:
                 return AtomicsIsLockFreeNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
         }
@@ -662,36 +672,22 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
      */
     public abstract static class AtomicsComputeNode extends AtomicsOperationNode {
 
-        private final IntBinaryOperator intOperator;
-        private final BinaryOperator<BigInt> bigIntOperator;
+        private final ReadModifyWrite operation;
 
         @Child private JSToBigIntNode toBigIntNode;
         @Child private JSToIntegerAsLongNode toIntNode;
 
-        public AtomicsComputeNode(JSContext context, JSBuiltin builtin, IntBinaryOperator intOperator, BinaryOperator<BigInt> bigIntOperator) {
+        public AtomicsComputeNode(JSContext context, JSBuiltin builtin, ReadModifyWrite operation) {
             super(context, builtin);
-            this.intOperator = intOperator;
-            this.bigIntOperator = bigIntOperator;
+            this.operation = operation;
         }
 
         private int atomicDoInt(DynamicObject target, int index, int value) {
-            int initial;
-            int result;
-            do {
-                initial = SharedMemorySync.doVolatileGet(target, index);
-                result = intOperator.applyAsInt(initial, value);
-            } while (!SharedMemorySync.compareAndSwapInt(getContext(), target, index, initial, result));
-            return initial;
+            return SharedMemorySync.atomicReadModifyWriteInt(getContext(), target, index, value, operation);
         }
 
         private BigInt atomicDoBigInt(DynamicObject target, int index, BigInt value) {
-            BigInt initial;
-            BigInt result;
-            do {
-                initial = SharedMemorySync.doVolatileGetBigInt(target, index);
-                result = bigIntOperator.apply(initial, value);
-            } while (!SharedMemorySync.compareAndSwapBigInt(getContext(), target, index, initial, result));
-            return initial;
+            return SharedMemorySync.atomicReadModifyWriteBigInt(getContext(), target, index, value, operation);
         }
 
         @Specialization(guards = {"isInt8SharedBufferView(target)", "inboundFast(target,index)"})
@@ -808,22 +804,23 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
 
             JSAgentWaiterListEntry wl = SharedMemorySync.getWaiterList(getContext(), target, i);
 
+            WaiterRecord[] waiters;
             SharedMemorySync.enterCriticalSection(getContext(), wl);
             try {
-                int[] waiters = SharedMemorySync.removeWaiters(getContext(), wl, c);
-                int n;
-                for (n = 0; n < waiters.length; n++) {
-                    SharedMemorySync.wakeWaiter(getContext(), waiters[n]);
-                }
-                return n;
+                waiters = SharedMemorySync.removeWaiters(getContext(), wl, c);
             } finally {
                 SharedMemorySync.leaveCriticalSection(getContext(), wl);
             }
+            // wake outside of the critical section, so woken agents do not block on it
+            for (int n = 0; n < waiters.length; n++) {
+                SharedMemorySync.wakeWaiter(getContext(), waiters[n]);
+            }
+            return waiters.length;
         }
     }
 
     /**
-     * Thread Sleep.
+     * Thread Sleep, and the non-blocking variant Atomics.waitAsync.
      */
     public abstract static class AtomicsWaitNode extends AtomicsOperationNode {
 
@@ -831,11 +828,15 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         private static final String NOT_EQUAL = "not-equal";
         private static final String TIMED_OUT = "timed-out";
 
+        private final boolean async;
+
         @Child private JSToBigIntNode toBigIntNode;
         @Child private JSToInt32Node toInt32Node;
+        @Child private NewPromiseCapabilityNode newPromiseCapabilityNode;
 
-        public AtomicsWaitNode(JSContext context, JSBuiltin builtin) {
+        public AtomicsWaitNode(JSContext context, JSBuiltin builtin, boolean async) {
             super(context, builtin);
+            this.async = async;
         }
 
         protected AtomicsLoadNode createHelperNode() {
@@ -861,7 +862,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                 t = Integer.max(tmp.intValue(), 0);
             }
 
-            if (!SharedMemorySync.agentCanSuspend(getContext())) {
+            if (!async && !SharedMemorySync.agentCanSuspend(getContext())) {
                 throw createTypeErrorUnsupported();
             }
             JSAgentWaiterListEntry wl = SharedMemorySync.getWaiterList(getContext(), target, i);
@@ -871,19 +872,23 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                 boolean isNotEqual = isInt32 ? !(w instanceof Integer) || (int) w != (int) v
                                 : !(w instanceof BigInt) || ((BigInt) w).longValue() != v;
                 if (isNotEqual) {
-                    return NOT_EQUAL;
+                    return result(NOT_EQUAL);
                 }
-                int id = getContext().getJSAgent().getSignifier();
-                SharedMemorySync.addWaiter(getContext(), wl, id);
-                if (t < 0) {
-                    return TIMED_OUT;
+                if (async) {
+                    if (t == 0) {
+                        return result(TIMED_OUT);
+                    }
+                    PromiseCapabilityRecord promiseCapability = newPromiseCapability();
+                    WaiterRecord waiter = SharedMemorySync.addWaiter(getContext(), wl, t, promiseCapability);
+                    getContext().addAsyncWaiter(waiter);
+                    return asyncResult(true, promiseCapability.getPromise());
                 }
-                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, id, t);
-                if (awoken) {
-                    assert !wl.contains(id);
+                WaiterRecord waiter = SharedMemorySync.addWaiter(getContext(), wl, t, null);
+                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, waiter, t);
+                if (awoken || !SharedMemorySync.removeWaiter(getContext(), wl, waiter)) {
+                    assert !wl.contains(waiter);
                     return OK;
                 } else {
-                    SharedMemorySync.removeWaiter(getContext(), wl, id);
                     return TIMED_OUT;
                 }
             } finally {
@@ -891,6 +896,25 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
             }
         }
 
+        private Object result(String value) {
+            return async ? asyncResult(false, value) : value;
+        }
+
+        private DynamicObject asyncResult(boolean isAsync, Object value) {
+            DynamicObject resultObject = JSOrdinary.create(getContext(), getContext().getRealm());
+            JSObjectUtil.putDataProperty(getContext(), resultObject, "async", isAsync, JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(getContext(), resultObject, "value", value, JSAttributes.getDefault());
+            return resultObject;
+        }
+
+        private PromiseCapabilityRecord newPromiseCapability() {
+            if (newPromiseCapabilityNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                newPromiseCapabilityNode = insert(NewPromiseCapabilityNode.create(getContext()));
+            }
+            return newPromiseCapabilityNode.executeDefault();
+        }
+
         private int toInt32(Object v) {
             if (toInt32Node == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -42,7 +42,6 @@ package com.oracle.truffle.js.builtins;
 
 import java.nio.ByteBuffer;
 import java.util.EnumSet;
-import java.util.LinkedHashMap;
 import java.util.Objects;
 import java.util.StringJoiner;
 
@@ -173,7 +172,6 @@ import com.oracle.truffle.js.nodes.wasm.ExportByteSourceNode;
 import com.oracle.truffle.js.nodes.wasm.ToWebAssemblyIndexOrSizeNode;
 import com.oracle.truffle.js.nodes.wasm.ToWebAssemblyValueNode;
 import com.oracle.truffle.js.runtime.BigInt;
-import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.Evaluator;
 import com.oracle.truffle.js.runtime.GraalJSException;
@@ -238,6 +236,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.LRUCache;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 
@@ -1676,21 +1675,6 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         }
     }
 
-    static final class LRUCache<K, V> extends LinkedHashMap<K, V> {
-        private static final long serialVersionUID = 7813848977534444613L;
-        private final int maxCacheSize;
-
-        LRUCache(int maxCacheSize) {
-            super(16, 0.75F, true);
-            this.maxCacheSize = maxCacheSize;
-        }
-
-        @Override
-        protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
-            return size() > maxCacheSize;
-        }
-    }
-
     /**
      * Create (and potentially cache) dynamic function from parameter list and body strings.
      */
@@ -1862,10 +1846,24 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             Object maybeBuffer = getContext().getRealm().getEnv().asHostObject(buffer);
             if (maybeBuffer instanceof ByteBuffer) {
                 ByteBuffer byteBuffer = (ByteBuffer) maybeBuffer;
+                if (useShared) {
+                    errorBranch.enter();
+                    throw Errors.createTypeError("Cannot create a SharedArrayBuffer from a host ByteBuffer");
+                }
+                if (byteBuffer.isReadOnly()) {
+                    errorBranch.enter();
+                    throw Errors.createTypeError("Cannot create an ArrayBuffer from a read-only ByteBuffer");
+                }
                 if (isDirect.profile(byteBuffer.isDirect())) {
-                    return swapPrototype(JSArrayBuffer.createDirectArrayBuffer(getContext(), byteBuffer), newTarget);
+                    // the ArrayBuffer aliases the host memory, e.g. a memory-mapped file
+                    return swapPrototype(JSArrayBuffer.createDirectArrayBuffer(getContext(), directByteBufferRegion(byteBuffer)), newTarget);
                 } else {
-                    return swapPrototype(JSArrayBuffer.createArrayBuffer(getContext(), Boundaries.byteBufferArray(byteBuffer)), newTarget);
+                    byte[] array = heapByteBufferArray(byteBuffer);
+                    if (array == null) {
+                        errorBranch.enter();
+                        throw Errors.createTypeError("Cannot create an ArrayBuffer over a part of the backing array of a heap ByteBuffer");
+                    }
+                    return swapPrototype(JSArrayBuffer.createArrayBuffer(getContext(), array), newTarget);
                 }
             } else {
                 errorBranch.enter();
@@ -1873,6 +1871,32 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             }
         }
 
+        /**
+         * Returns a buffer over the bytes between the position and the limit of a direct buffer,
+         * sharing its memory.
+         */
+        @TruffleBoundary
+        private static ByteBuffer directByteBufferRegion(ByteBuffer byteBuffer) {
+            if (byteBuffer.position() == 0 && byteBuffer.limit() == byteBuffer.capacity()) {
+                return byteBuffer;
+            }
+            return byteBuffer.slice();
+        }
+
+        /**
+         * Returns the backing array of a heap buffer if the bytes between its position and its limit
+         * are exactly that array, so that both share the same memory, or {@code null} otherwise. A
+         * heap ArrayBuffer cannot share only a part of an array.
+         */
+        @TruffleBoundary
+        private static byte[] heapByteBufferArray(ByteBuffer byteBuffer) {
+            byte[] array = byteBuffer.array();
+            if (byteBuffer.arrayOffset() == 0 && byteBuffer.position() == 0 && byteBuffer.limit() == array.length) {
+                return array;
+            }
+            return null;
+        }
+
         @Override
         protected DynamicObject getIntrinsicDefaultProto(JSRealm realm) {
             return useShared ? realm.getSharedArrayBufferPrototype() : realm.getArrayBufferPrototype();
@@ -2492,6 +2516,9 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
                     throw jsex;
                 } catch (AbstractTruffleException tex) {
                     throw Errors.createLinkError(tex, this);
+                } finally {
+                    // the start function may have grown the memory
+                    getContext().getRealm().getAgent().webAssemblyExecuted();
                 }
             } catch (InteropException ex) {
                 throw Errors.shouldNotReachHere(ex);
@@ -75,6 +75,7 @@ import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.ForInEnumCache;
 import com.oracle.truffle.js.runtime.util.ForInIterator;
 
 /**
@@ -123,6 +124,8 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
         private final BranchProfile growProfile = BranchProfile.create();
         private final ConditionProfile fastOwnKeysProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile sameShapeProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile enumCacheProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile unchangedEnumCacheProfile = ConditionProfile.createBinaryProfile();
 
         private static final Object DONE = null;
         private static final int MAX_PROTO_DEPTH = 1000;
@@ -161,6 +164,9 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
         }
 
         private Object findNext(ForInIterator state) {
+            if (enumCacheProfile.profile(state.enumCache != null)) {
+                return findNextCached(state, state.enumCache);
+            }
             for (;;) {
                 DynamicObject object = state.object;
                 if (!state.objectWasVisited) {
@@ -250,6 +256,25 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
             }
         }
 
+        /**
+         * Iterates over the cached keys of the whole prototype chain. If the object or a prototype
+         * has been modified during iteration, we have to check that the key is still present.
+         */
+        private Object findNextCached(ForInIterator state, ForInEnumCache enumCache) {
+            String[] keys = enumCache.getKeys();
+            while (state.enumCacheIndex < keys.length) {
+                int index = state.enumCacheIndex++;
+                String key = keys[index];
+                if (unchangedEnumCacheProfile.profile(state.object.getShape() == enumCache.getReceiverShape() &&
+                                (index < enumCache.getOwnKeyCount() || enumCache.isValidFor(state.object)))) {
+                    return key;
+                } else if (ForInEnumCache.isEnumerableInPrototypeChain(state.object, key)) {
+                    return key;
+                }
+            }
+            return DONE;
+        }
+
         private static Object getKey(final Object next) {
             return next instanceof Property ? ((Property) next).getKey() : next;
         }
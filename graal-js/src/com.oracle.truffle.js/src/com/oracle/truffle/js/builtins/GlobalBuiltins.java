@@ -128,6 +128,7 @@ import com.oracle.truffle.js.runtime.JSConsoleUtil;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSErrorType;
 import com.oracle.truffle.js.runtime.JSException;
+import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.SafeInteger;
@@ -145,6 +146,7 @@ import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.LRUCache;
 
 /**
  * Contains builtins for the global object.
@@ -1198,9 +1200,12 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
      * {@link EvalNode}.
      */
     public abstract static class JSGlobalIndirectEvalNode extends JSBuiltinNode {
+        private final LRUCache<Source, ScriptNode> parseCache;
 
         public JSGlobalIndirectEvalNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
+            int cacheSize = context.getContextOptions().getEvalCacheSize();
+            this.parseCache = cacheSize > 0 ? new LRUCache<>(cacheSize) : null;
         }
 
         @Specialization
@@ -1232,7 +1237,21 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
             if (sourceName == null) {
                 sourceName = Evaluator.EVAL_SOURCE_NAME;
             }
-            return getContext().getEvaluator().evaluate(realm, this, Source.newBuilder(JavaScriptLanguage.ID, source, sourceName).build());
+            Source evalSource = Source.newBuilder(JavaScriptLanguage.ID, source, sourceName).build();
+            if (parseCache == null) {
+                return getContext().getEvaluator().evaluate(realm, this, evalSource);
+            }
+            ScriptNode script;
+            synchronized (parseCache) {
+                script = parseCache.get(evalSource);
+            }
+            if (script == null) {
+                script = getContext().getEvaluator().parseEval(getContext(), this, evalSource);
+                synchronized (parseCache) {
+                    parseCache.put(evalSource, script);
+                }
+            }
+            return script.runInFrame(realm, realm.getGlobalObject(), JSFrameUtil.NULL_MATERIALIZED_FRAME);
         }
 
         @Specialization
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.util.Arrays;
 import java.util.List;
 
 import com.oracle.truffle.api.CallTarget;
@@ -93,12 +94,20 @@ import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractConstantArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractContiguousDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractContiguousIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.java.JavaAccess;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuiltins.Java> {
@@ -417,10 +426,15 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             TruffleLanguage.Env env = getContext().getRealm().getEnv();
             if (env.isHostObject(javaArray)) {
                 try {
+                    // subject to the host access policy, so the bulk copy must not come first
                     long size = interop.getArraySize(javaArray);
                     if (size < 0 || size >= Integer.MAX_VALUE) {
                         throw Errors.createRangeErrorInvalidArrayLength();
                     }
+                    DynamicObject bulkResult = fromPrimitiveArray(getContext(), env.asHostObject(javaArray));
+                    if (bulkResult != null) {
+                        return bulkResult;
+                    }
                     DynamicObject jsArray = JSArray.createEmptyChecked(getContext(), size);
                     for (int i = 0; i < size; i++) {
                         Object element = foreignConvert(interop.readArrayElement(javaArray, i));
@@ -434,19 +448,74 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 if (hostObject instanceof List<?>) {
                     List<?> javaList = (List<?>) hostObject;
                     int len = Boundaries.listSize(javaList);
-                    DynamicObject jsArrayObj = JSArray.createEmptyChecked(getContext(), len);
-                    fromList(javaList, len, jsArrayObj);
-                    return jsArrayObj;
+                    return fromList(javaList, len);
                 }
             }
             needErrorBranches.enter();
             throw Errors.createTypeError("Cannot convert to JavaScript array.");
         }
 
-        private void fromList(List<?> javaList, int len, DynamicObject jsArrayObj) {
+        private DynamicObject fromList(List<?> javaList, int len) {
             objectListBranch.enter();
+            Object[] elements = new Object[len];
             for (int i = 0; i < len; i++) {
-                write(jsArrayObj, i, foreignConvert(Boundaries.listGet(javaList, i)));
+                elements[i] = foreignConvert(Boundaries.listGet(javaList, i));
+            }
+            return JSArray.createZeroBasedObjectArray(getContext(), elements);
+        }
+
+        /**
+         * Converts arrays of primitives and strings with a single copy into the matching dense
+         * array storage. Returns {@code null} if the array has to be converted element-wise.
+         */
+        @TruffleBoundary
+        private static DynamicObject fromPrimitiveArray(JSContext context, Object hostObject) {
+            if (hostObject instanceof int[]) {
+                return JSArray.createZeroBasedIntArray(context, ((int[]) hostObject).clone());
+            } else if (hostObject instanceof double[]) {
+                return JSArray.createZeroBasedDoubleArray(context, ((double[]) hostObject).clone());
+            } else if (hostObject instanceof byte[]) {
+                byte[] bytes = (byte[]) hostObject;
+                int[] ints = new int[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    ints[i] = bytes[i];
+                }
+                return JSArray.createZeroBasedIntArray(context, ints);
+            } else if (hostObject instanceof long[]) {
+                return fromLongArray(context, (long[]) hostObject);
+            } else if (hostObject instanceof String[]) {
+                String[] strings = (String[]) hostObject;
+                Object[] elements = new Object[strings.length];
+                for (int i = 0; i < strings.length; i++) {
+                    String str = strings[i];
+                    elements[i] = str == null ? Null.instance : str;
+                }
+                return JSArray.createZeroBasedObjectArray(context, elements);
+            }
+            return null;
+        }
+
+        private static DynamicObject fromLongArray(JSContext context, long[] longs) {
+            boolean allInt = true;
+            for (long value : longs) {
+                if (!JSRuntime.isSafeInteger(value)) {
+                    // not representable as a double without loss, keep the long values
+                    return null;
+                }
+                allInt = allInt && JSRuntime.longIsRepresentableAsInt(value);
+            }
+            if (allInt) {
+                int[] ints = new int[longs.length];
+                for (int i = 0; i < longs.length; i++) {
+                    ints[i] = (int) longs[i];
+                }
+                return JSArray.createZeroBasedIntArray(context, ints);
+            } else {
+                double[] doubles = new double[longs.length];
+                for (int i = 0; i < longs.length; i++) {
+                    doubles[i] = longs[i];
+                }
+                return JSArray.createZeroBasedDoubleArray(context, doubles);
             }
         }
     }
@@ -519,6 +588,12 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         private Object toArray(Object jsObj, Object arrayType, TruffleLanguage.Env env) {
             assert isJavaArrayClass(arrayType, env);
 
+            if (JSArray.isJSFastArray(jsObj)) {
+                Object primitiveArray = toPrimitiveArray((DynamicObject) jsObj, ((Class<?>) env.asHostObject(arrayType)).getComponentType());
+                if (primitiveArray != null && isArrayAccessAllowed(arrayType)) {
+                    return env.asGuestValue(primitiveArray);
+                }
+            }
             Object[] arr = toObjectArrayNode.executeObjectArray(jsObj);
             try {
                 Object result = newArray.instantiate(arrayType, arr.length);
@@ -530,6 +605,115 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 throw Errors.createTypeError(Boundaries.javaToString(e));
             }
         }
+
+        /**
+         * Whether the host access policy allows creating and writing arrays of the given type, as
+         * the element-wise conversion does.
+         */
+        private boolean isArrayAccessAllowed(Object arrayType) {
+            try {
+                return arrayElements.hasArrayElements(newArray.instantiate(arrayType, 0));
+            } catch (UnsupportedTypeException | ArityException | UnsupportedMessageException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Copies a dense int or double array into a new Java {@code int[]}, {@code long[]},
+         * {@code double[]} or {@code byte[]}. Returns {@code null} if the array has holes, is not
+         * backed by primitive storage, or contains an element that cannot be converted losslessly,
+         * in which case the element-wise conversion applies and reports the error.
+         */
+        @TruffleBoundary
+        private static Object toPrimitiveArray(DynamicObject jsArray, Class<?> componentType) {
+            if (!(componentType == int.class || componentType == long.class || componentType == double.class || componentType == byte.class)) {
+                return null;
+            }
+            ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(jsArray);
+            long length = JSAbstractArray.arrayGetLength(jsArray);
+            if (length == 0 || length > Integer.MAX_VALUE || arrayType.hasHoles(jsArray) ||
+                            arrayType.firstElementIndex(jsArray) != 0 || arrayType.lastElementIndex(jsArray) != length - 1) {
+                return null;
+            }
+            int len = (int) length;
+            int offset;
+            if (arrayType instanceof AbstractContiguousIntArray || arrayType instanceof AbstractContiguousDoubleArray) {
+                offset = JSAbstractArray.arrayGetArrayOffset(jsArray);
+            } else if (arrayType instanceof AbstractIntArray || arrayType instanceof AbstractDoubleArray || arrayType instanceof AbstractConstantArray) {
+                offset = 0;
+            } else {
+                return null;
+            }
+            Object storage = JSAbstractArray.arrayGetArray(jsArray);
+            if (storage instanceof int[]) {
+                return fromIntStorage((int[]) storage, offset, len, componentType);
+            } else if (storage instanceof double[]) {
+                return fromDoubleStorage((double[]) storage, offset, len, componentType);
+            } else if (storage instanceof byte[]) {
+                byte[] bytes = (byte[]) storage;
+                int[] ints = new int[len];
+                for (int i = 0; i < len; i++) {
+                    ints[i] = bytes[offset + i];
+                }
+                return fromIntStorage(ints, 0, len, componentType);
+            }
+            return null;
+        }
+
+        private static Object fromIntStorage(int[] storage, int offset, int len, Class<?> componentType) {
+            if (componentType == int.class) {
+                return Arrays.copyOfRange(storage, offset, offset + len);
+            } else if (componentType == long.class) {
+                long[] result = new long[len];
+                for (int i = 0; i < len; i++) {
+                    result[i] = storage[offset + i];
+                }
+                return result;
+            } else if (componentType == double.class) {
+                double[] result = new double[len];
+                for (int i = 0; i < len; i++) {
+                    result[i] = storage[offset + i];
+                }
+                return result;
+            } else {
+                assert componentType == byte.class;
+                byte[] result = new byte[len];
+                for (int i = 0; i < len; i++) {
+                    int value = storage[offset + i];
+                    if (value != (byte) value) {
+                        return null;
+                    }
+                    result[i] = (byte) value;
+                }
+                return result;
+            }
+        }
+
+        private static Object fromDoubleStorage(double[] storage, int offset, int len, Class<?> componentType) {
+            if (componentType == double.class) {
+                return Arrays.copyOfRange(storage, offset, offset + len);
+            }
+            long[] longs = new long[len];
+            for (int i = 0; i < len; i++) {
+                double value = storage[offset + i];
+                long longValue = (long) value;
+                if (longValue != value || !JSRuntime.isSafeInteger(longValue) || JSRuntime.isNegativeZero(value)) {
+                    return null;
+                }
+                longs[i] = longValue;
+            }
+            if (componentType == long.class) {
+                return longs;
+            }
+            int[] ints = new int[len];
+            for (int i = 0; i < len; i++) {
+                if (!JSRuntime.longIsRepresentableAsInt(longs[i])) {
+                    return null;
+                }
+                ints[i] = (int) longs[i];
+            }
+            return fromIntStorage(ints, 0, len, componentType);
+        }
     }
 
     abstract static class JavaSuperNode extends JSBuiltinNode {
@@ -40,14 +40,10 @@
  */
 package com.oracle.truffle.js.builtins;
 
-import java.util.WeakHashMap;
-
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.ConditionProfile;
-import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.js.builtins.WeakMapPrototypeBuiltinsFactory.JSWeakMapDeleteNodeGen;
 import com.oracle.truffle.js.builtins.WeakMapPrototypeBuiltinsFactory.JSWeakMapGetNodeGen;
 import com.oracle.truffle.js.builtins.WeakMapPrototypeBuiltinsFactory.JSWeakMapHasNodeGen;
@@ -62,6 +58,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.InvertedWeakMap;
 import com.oracle.truffle.js.runtime.util.WeakMap;
 
 /**
@@ -171,14 +168,11 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected Object getCached(DynamicObject thisObj, DynamicObject key,
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
                         @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
-                        @Cached("createClassProfile()") ValueProfile invertedKlassProfile,
                         @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
             WeakMap map = (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
             if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
-                Object inverted = invertedKlassProfile.profile(invertedGetter.getValue(key));
-                @SuppressWarnings("unchecked")
-                WeakHashMap<WeakMap, Object> invertedMap = (WeakHashMap<WeakMap, Object>) inverted;
-                Object value = mapGet(map, invertedMap);
+                InvertedWeakMap invertedMap = (InvertedWeakMap) invertedGetter.getValue(key);
+                Object value = invertedMap.get(map);
                 if (value != null) {
                     return value;
                 }
@@ -207,11 +201,6 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected static boolean notWeakMap(Object thisObj, Object key) {
             throw typeErrorWeakMapExpected();
         }
-
-        @TruffleBoundary(allowInlining = true)
-        private static Object mapGet(WeakMap map, WeakHashMap<WeakMap, Object> invertedMap) {
-            return invertedMap.get(map);
-        }
     }
 
     /**
@@ -227,14 +216,11 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected Object setCached(DynamicObject thisObj, DynamicObject key, Object value,
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
                         @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
-                        @Cached("createClassProfile()") ValueProfile invertedKlassProfile,
                         @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
             WeakMap map = (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
             if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
-                Object inverted = invertedKlassProfile.profile(invertedGetter.getValue(key));
-                @SuppressWarnings("unchecked")
-                WeakHashMap<WeakMap, Object> invertedMap = (WeakHashMap<WeakMap, Object>) inverted;
-                mapPut(map, invertedMap, value);
+                InvertedWeakMap invertedMap = (InvertedWeakMap) invertedGetter.getValue(key);
+                invertedMap.put(map, value);
             } else {
                 Boundaries.mapPut(JSWeakMap.getInternalWeakMap(thisObj), key, value);
             }
@@ -258,11 +244,6 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected static DynamicObject notWeakMap(Object thisObj, Object key, Object value) {
             throw typeErrorWeakMapExpected();
         }
-
-        @TruffleBoundary(allowInlining = true)
-        private static Object mapPut(WeakMap map, WeakHashMap<WeakMap, Object> invertedMap, Object value) {
-            return invertedMap.put(map, value);
-        }
     }
 
     /**
@@ -278,23 +259,15 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected Object hasCached(DynamicObject thisObj, DynamicObject key,
                         @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
                         @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
-                        @Cached("createClassProfile()") ValueProfile invertedKlassProfile,
                         @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
             WeakMap map = (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
             if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
-                Object inverted = invertedKlassProfile.profile(invertedGetter.getValue(key));
-                @SuppressWarnings("unchecked")
-                WeakHashMap<WeakMap, Object> invertedMap = (WeakHashMap<WeakMap, Object>) inverted;
-                return mapHas(map, invertedMap);
+                InvertedWeakMap invertedMap = (InvertedWeakMap) invertedGetter.getValue(key);
+                return invertedMap.containsKey(map);
             }
             return false;
         }
 
-        @TruffleBoundary(allowInlining = true)
-        private static boolean mapHas(WeakMap map, WeakHashMap<WeakMap, Object> invertedMap) {
-            return invertedMap.containsKey(map);
-        }
-
         @Specialization(guards = {"isJSWeakMap(thisObj)", "isJSObject(key)"})
         protected static boolean has(DynamicObject thisObj, DynamicObject key) {
             return Boundaries.mapContainsKey(JSWeakMap.getInternalWeakMap(thisObj), key);
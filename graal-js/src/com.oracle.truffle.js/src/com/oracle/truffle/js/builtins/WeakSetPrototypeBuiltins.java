@@ -40,11 +40,15 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.WeakSetPrototypeBuiltinsFactory.JSWeakSetAddNodeGen;
 import com.oracle.truffle.js.builtins.WeakSetPrototypeBuiltinsFactory.JSWeakSetDeleteNodeGen;
 import com.oracle.truffle.js.builtins.WeakSetPrototypeBuiltinsFactory.JSWeakSetHasNodeGen;
+import com.oracle.truffle.js.nodes.access.HasHiddenKeyCacheNode;
+import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.Boundaries;
@@ -52,6 +56,8 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSWeakSet;
+import com.oracle.truffle.js.runtime.util.InvertedWeakMap;
+import com.oracle.truffle.js.runtime.util.WeakMap;
 
 /**
  * Contains builtins for {@linkplain JSWeakSet}.prototype.
@@ -105,6 +111,21 @@ public final class WeakSetPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         throw Errors.createTypeError("WeakSet expected");
     }
 
+    protected abstract static class JSWeakSetBaseNode extends JSBuiltinNode {
+
+        protected JSWeakSetBaseNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        protected PropertyGetNode createInvertedGet() {
+            return WeakMap.createInvertedKeyMapGetNode(getContext());
+        }
+
+        protected HasHiddenKeyCacheNode createInvertedHas() {
+            return WeakMap.createInvertedKeyMapHasNode();
+        }
+    }
+
     /**
      * Implementation of the WeakSet.prototype.delete().
      */
@@ -135,12 +156,27 @@ public final class WeakSetPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
     /**
      * Implementation of the WeakSet.prototype.add().
      */
-    public abstract static class JSWeakSetAddNode extends JSBuiltinNode {
+    public abstract static class JSWeakSetAddNode extends JSWeakSetBaseNode {
 
         public JSWeakSetAddNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
         }
 
+        @Specialization(guards = {"isJSWeakSet(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
+        protected DynamicObject addCached(DynamicObject thisObj, DynamicObject key,
+                        @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
+                        @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
+                        @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
+            WeakMap map = (WeakMap) JSWeakSet.getInternalWeakMap(thisObj);
+            if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
+                InvertedWeakMap invertedMap = (InvertedWeakMap) invertedGetter.getValue(key);
+                invertedMap.put(map, PRESENT);
+            } else {
+                Boundaries.mapPut(JSWeakSet.getInternalWeakMap(thisObj), key, PRESENT);
+            }
+            return thisObj;
+        }
+
         @Specialization(guards = {"isJSWeakSet(thisObj)", "isJSObject(key)"})
         protected static DynamicObject add(DynamicObject thisObj, DynamicObject key) {
             Boundaries.mapPut(JSWeakSet.getInternalWeakMap(thisObj), key, PRESENT);
@@ -163,12 +199,25 @@ public final class WeakSetPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
     /**
      * Implementation of the WeakSet.prototype.has().
      */
-    public abstract static class JSWeakSetHasNode extends JSBuiltinNode {
+    public abstract static class JSWeakSetHasNode extends JSWeakSetBaseNode {
 
         public JSWeakSetHasNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
         }
 
+        @Specialization(guards = {"isJSWeakSet(thisObj)", "isJSObject(key)", "!isJSProxy(key)"})
+        protected boolean hasCached(DynamicObject thisObj, DynamicObject key,
+                        @Cached("createInvertedGet()") PropertyGetNode invertedGetter,
+                        @Cached("createInvertedHas()") HasHiddenKeyCacheNode invertedHas,
+                        @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
+            WeakMap map = (WeakMap) JSWeakSet.getInternalWeakMap(thisObj);
+            if (hasInvertedProfile.profile(invertedHas.executeHasHiddenKey(key))) {
+                InvertedWeakMap invertedMap = (InvertedWeakMap) invertedGetter.getValue(key);
+                return invertedMap.containsKey(map);
+            }
+            return false;
+        }
+
         @Specialization(guards = {"isJSWeakSet(thisObj)", "isJSObject(key)"})
         protected static boolean has(DynamicObject thisObj, DynamicObject key) {
             return Boundaries.mapContainsKey(JSWeakSet.getInternalWeakMap(thisObj), key);
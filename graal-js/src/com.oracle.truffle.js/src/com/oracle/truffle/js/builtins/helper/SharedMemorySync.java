@@ -41,126 +41,328 @@
 package com.oracle.truffle.js.builtins.helper;
 
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetArrayType;
+import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetByteBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
+import com.oracle.truffle.js.runtime.util.ByteBufferAtomics;
 import com.oracle.truffle.js.runtime.util.Fences;
 
 /**
  * Implementation of the synchronization primitives of ECMA2017 Shared Memory model.
+ *
+ * Atomic operations access the direct buffer backing the shared array buffer with hardware atomic
+ * instructions, without taking a lock.
  */
 public final class SharedMemorySync {
 
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
     private SharedMemorySync() {
         // should not be constructed
     }
 
     // ##### Getters and setters with ordering and memory barriers
-    @TruffleBoundary
-    public static int doVolatileGet(DynamicObject target, int intArrayOffset) {
-        Fences.acquireFence();
+    public static int doVolatileGet(DynamicObject target, int index) {
         TypedArray array = typedArrayGetArrayType(target);
-        TypedArray.TypedIntArray<?> typedArray = (TypedArray.TypedIntArray<?>) array;
-        return typedArray.getInt(target, intArrayOffset);
+        if (array.bytesPerElement() == Integer.BYTES) {
+            return ByteBufferAtomics.getIntVolatile(typedArrayGetByteBuffer(target), getByteIndex(target, array, index));
+        }
+        return doFencedGet(target, array, index);
     }
 
-    // ##### Getters and setters with ordering and memory barriers
     @TruffleBoundary
-    public static BigInt doVolatileGetBigInt(DynamicObject target, int intArrayOffset) {
+    private static int doFencedGet(DynamicObject target, TypedArray array, int index) {
+        TypedArray.TypedIntArray<?> typedArray = (TypedArray.TypedIntArray<?>) array;
+        int value = typedArray.getInt(target, index);
         Fences.acquireFence();
+        return value;
+    }
+
+    public static BigInt doVolatileGetBigInt(DynamicObject target, int index) {
         TypedArray array = typedArrayGetArrayType(target);
-        TypedArray.TypedBigIntArray<?> typedArray = (TypedArray.TypedBigIntArray<?>) array;
-        return typedArray.getBigInt(target, intArrayOffset);
+        long value = ByteBufferAtomics.getLongVolatile(typedArrayGetByteBuffer(target), getByteIndex(target, array, index));
+        return toBigInt(array, value);
     }
 
-    @TruffleBoundary
     public static void doVolatilePut(DynamicObject target, int index, int value) {
         TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, index);
+        if (array.bytesPerElement() == Integer.BYTES) {
+            ByteBufferAtomics.setIntVolatile(buffer, byteIndex, value);
+        } else if (isInAlignedWord(buffer, byteIndex)) {
+            doFencedPut(target, array, index, value);
+        } else {
+            doLockedPut(target, array, index, value);
+        }
+    }
+
+    @TruffleBoundary
+    private static void doFencedPut(DynamicObject target, TypedArray array, int index, int value) {
         TypedArray.TypedIntArray<?> typedArray = (TypedArray.TypedIntArray<?>) array;
+        Fences.releaseFence();
         typedArray.setInt(target, index, value);
         Fences.releaseFence();
     }
 
-    @TruffleBoundary
     public static void doVolatilePutBigInt(DynamicObject target, int index, BigInt value) {
         TypedArray array = typedArrayGetArrayType(target);
-        TypedArray.TypedBigIntArray<?> typedArray = (TypedArray.TypedBigIntArray<?>) array;
-        typedArray.setBigInt(target, index, value);
-        Fences.releaseFence();
+        ByteBufferAtomics.setLongVolatile(typedArrayGetByteBuffer(target), getByteIndex(target, array, index), value.longValue());
     }
 
     // ##### Atomic CAS primitives
-    @TruffleBoundary
-    public static boolean compareAndSwapInt(JSContext cx, DynamicObject target, int intArrayOffset, int initial, int result) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int value = doVolatileGet(target, intArrayOffset);
-            if (value == initial) {
-                doVolatilePut(target, intArrayOffset, result);
-                return true;
+    public static boolean compareAndSwapInt(JSContext cx, DynamicObject target, int index, int initial, int result) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, index);
+        int bytesPerElement = array.bytesPerElement();
+        if (bytesPerElement == Integer.BYTES) {
+            return ByteBufferAtomics.compareAndExchangeInt(buffer, byteIndex, initial, result) == initial;
+        }
+        int mask = getElementMask(bytesPerElement);
+        return compareAndExchangeSubWord(cx, target, array, index, buffer, byteIndex, mask, initial, result) == (initial & mask);
+    }
+
+    public static boolean compareAndSwapBigInt(@SuppressWarnings("unused") JSContext cx, DynamicObject target, int index, BigInt initial, BigInt result) {
+        TypedArray array = typedArrayGetArrayType(target);
+        long expected = initial.longValue();
+        return ByteBufferAtomics.compareAndExchangeLong(typedArrayGetByteBuffer(target), getByteIndex(target, array, index), expected, result.longValue()) == expected;
+    }
+
+    // ##### Atomic Fetch-or-Get primitives
+    public static long atomicFetchOrGetUnsigned(JSContext cx, DynamicObject target, int index, Object expected, Object replacement) {
+        return atomicFetchOrGetInt(cx, target, index, (int) JSRuntime.toUInt32(expected), (int) JSRuntime.toUInt32(replacement)) & 0xFFFFFFFFL;
+    }
+
+    public static long atomicFetchOrGetLong(JSContext cx, DynamicObject target, int index, long expected, long replacement) {
+        return atomicFetchOrGetInt(cx, target, index, (int) expected, (int) replacement);
+    }
+
+    public static int atomicFetchOrGetInt(@SuppressWarnings("unused") JSContext cx, DynamicObject target, int index, int expected, int replacement) {
+        TypedArray array = typedArrayGetArrayType(target);
+        return ByteBufferAtomics.compareAndExchangeInt(typedArrayGetByteBuffer(target), getByteIndex(target, array, index), expected, replacement);
+    }
+
+    public static int atomicFetchOrGetShort(JSContext cx, DynamicObject target, int index, int expected, int replacement, boolean sign) {
+        int read = atomicFetchOrGetSubWord(cx, target, index, 0xFFFF, expected, replacement);
+        return sign ? (short) read : read;
+    }
+
+    public static int atomicFetchOrGetByte(JSContext cx, DynamicObject target, int index, int expected, int replacement, boolean sign) {
+        int read = atomicFetchOrGetSubWord(cx, target, index, 0xFF, expected, replacement);
+        return sign ? (byte) read : read;
+    }
+
+    private static int atomicFetchOrGetSubWord(JSContext cx, DynamicObject target, int index, int mask, int expected, int replacement) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = typedArrayGetByteBuffer(target);
+        return compareAndExchangeSubWord(cx, target, array, index, buffer, getByteIndex(target, array, index), mask, expected, replacement);
+    }
+
+    public static BigInt atomicFetchOrGetBigInt(@SuppressWarnings("unused") JSContext cx, DynamicObject target, int index, BigInt expected, BigInt replacement) {
+        TypedArray array = typedArrayGetArrayType(target);
+        long read = ByteBufferAtomics.compareAndExchangeLong(typedArrayGetByteBuffer(target), getByteIndex(target, array, index), expected.longValue(), replacement.longValue());
+        return toBigInt(array, read);
+    }
+
+    // ##### Atomic Read-Modify-Write primitives
+
+    /**
+     * Read-modify-write operations of Atomics.add, sub, and, or, xor, and exchange.
+     */
+    public enum ReadModifyWrite {
+        ADD,
+        SUB,
+        AND,
+        OR,
+        XOR,
+        EXCHANGE;
+
+        int apply(int current, int operand) {
+            switch (this) {
+                case ADD:
+                    return current + operand;
+                case SUB:
+                    return current - operand;
+                case AND:
+                    return current & operand;
+                case OR:
+                    return current | operand;
+                case XOR:
+                    return current ^ operand;
+                case EXCHANGE:
+                    return operand;
+                default:
+                    throw Errors.shouldNotReachHere();
             }
-            return false;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
         }
     }
 
-    @TruffleBoundary
-    public static boolean compareAndSwapBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt initial, BigInt result) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            BigInt value = doVolatileGetBigInt(target, intArrayOffset);
-            if (value.compareTo(initial) == 0) {
-                doVolatilePutBigInt(target, intArrayOffset, result);
-                return true;
+    /**
+     * Atomically applies the operation to the element and returns the previous element value.
+     */
+    public static int atomicReadModifyWriteInt(JSContext cx, DynamicObject target, int index, int operand, ReadModifyWrite op) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, index);
+        int bytesPerElement = array.bytesPerElement();
+        if (bytesPerElement == Integer.BYTES) {
+            switch (op) {
+                case ADD:
+                    return ByteBufferAtomics.getAndAddInt(buffer, byteIndex, operand);
+                case SUB:
+                    return ByteBufferAtomics.getAndAddInt(buffer, byteIndex, -operand);
+                case AND:
+                    return ByteBufferAtomics.getAndBitwiseAndInt(buffer, byteIndex, operand);
+                case OR:
+                    return ByteBufferAtomics.getAndBitwiseOrInt(buffer, byteIndex, operand);
+                case XOR:
+                    return ByteBufferAtomics.getAndBitwiseXorInt(buffer, byteIndex, operand);
+                case EXCHANGE:
+                    return ByteBufferAtomics.getAndSetInt(buffer, byteIndex, operand);
+                default:
+                    throw Errors.shouldNotReachHere();
             }
-            return false;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
         }
+        int mask = getElementMask(bytesPerElement);
+        int previous;
+        if (isInAlignedWord(buffer, byteIndex)) {
+            int wordIndex = byteIndex & ~(Integer.BYTES - 1);
+            int shift = getSubWordShift(byteIndex - wordIndex, bytesPerElement);
+            int word;
+            do {
+                word = ByteBufferAtomics.getIntVolatile(buffer, wordIndex);
+                previous = (word >>> shift) & mask;
+            } while (ByteBufferAtomics.compareAndExchangeInt(buffer, wordIndex, word, replaceSubWord(word, shift, mask, op.apply(previous, operand))) != word);
+        } else {
+            previous = readModifyWriteLocked(cx, target, array, index, mask, operand, op);
+        }
+        return isSigned(array) ? (bytesPerElement == 1 ? (byte) previous : (short) previous) : previous;
     }
 
-    // ##### Atomic Fetch-or-Get primitives
-    @TruffleBoundary
-    public static long atomicFetchOrGetUnsigned(JSContext cx, DynamicObject target, int intArrayOffset, Object expected, Object replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        long read = JSRuntime.toUInt32(doVolatileGet(target, intArrayOffset));
-        if (read == JSRuntime.toUInt32(expected)) {
-            doVolatilePut(target, intArrayOffset, (int) JSRuntime.toUInt32(replacement));
+    /**
+     * Atomically applies the operation to the BigInt64 or BigUint64 element and returns the
+     * previous element value.
+     */
+    public static BigInt atomicReadModifyWriteBigInt(@SuppressWarnings("unused") JSContext cx, DynamicObject target, int index, BigInt operand, ReadModifyWrite op) {
+        TypedArray array = typedArrayGetArrayType(target);
+        ByteBuffer buffer = typedArrayGetByteBuffer(target);
+        int byteIndex = getByteIndex(target, array, index);
+        long value = operand.longValue();
+        long previous;
+        switch (op) {
+            case ADD:
+                previous = ByteBufferAtomics.getAndAddLong(buffer, byteIndex, value);
+                break;
+            case SUB:
+                previous = ByteBufferAtomics.getAndAddLong(buffer, byteIndex, -value);
+                break;
+            case AND:
+                previous = ByteBufferAtomics.getAndBitwiseAndLong(buffer, byteIndex, value);
+                break;
+            case OR:
+                previous = ByteBufferAtomics.getAndBitwiseOrLong(buffer, byteIndex, value);
+                break;
+            case XOR:
+                previous = ByteBufferAtomics.getAndBitwiseXorLong(buffer, byteIndex, value);
+                break;
+            case EXCHANGE:
+                previous = ByteBufferAtomics.getAndSetLong(buffer, byteIndex, value);
+                break;
+            default:
+                throw Errors.shouldNotReachHere();
         }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
+        return toBigInt(array, previous);
     }
 
-    @TruffleBoundary
-    public static long atomicFetchOrGetLong(JSContext cx, DynamicObject target, int intArrayOffset, long expected, long replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int read = doVolatileGet(target, intArrayOffset);
-            if (read == expected) {
-                doVolatilePut(target, intArrayOffset, (int) replacement);
+    // ##### Helpers for element access on the backing buffer
+
+    private static int getByteIndex(DynamicObject target, TypedArray array, int index) {
+        return JSArrayBufferView.typedArrayGetOffset(target) + index * array.bytesPerElement();
+    }
+
+    private static int getElementMask(int bytesPerElement) {
+        assert bytesPerElement == 1 || bytesPerElement == 2;
+        return bytesPerElement == 1 ? 0xFF : 0xFFFF;
+    }
+
+    private static boolean isSigned(TypedArray array) {
+        return array instanceof TypedArray.DirectInt8Array || array instanceof TypedArray.DirectInt16Array;
+    }
+
+    private static BigInt toBigInt(TypedArray array, long value) {
+        return array instanceof TypedArray.DirectBigUint64Array ? BigInt.valueOfUnsigned(value) : BigInt.valueOf(value);
+    }
+
+    /**
+     * 8-bit and 16-bit elements are updated by a CAS of the enclosing aligned 32-bit word, unless
+     * that word extends beyond the end of the buffer.
+     */
+    private static boolean isInAlignedWord(ByteBuffer buffer, int byteIndex) {
+        return (byteIndex & ~(Integer.BYTES - 1)) + Integer.BYTES <= buffer.limit();
+    }
+
+    private static int getSubWordShift(int offsetInWord, int bytesPerElement) {
+        if (LITTLE_ENDIAN) {
+            return offsetInWord * Byte.SIZE;
+        } else {
+            return (Integer.BYTES - offsetInWord - bytesPerElement) * Byte.SIZE;
+        }
+    }
+
+    private static int replaceSubWord(int word, int shift, int mask, int value) {
+        return (word & ~(mask << shift)) | ((value & mask) << shift);
+    }
+
+    /**
+     * Compares the 8-bit or 16-bit element with the expected value and, if equal, replaces it.
+     *
+     * @return the previous element value, zero-extended
+     */
+    private static int compareAndExchangeSubWord(JSContext cx, DynamicObject target, TypedArray array, int index, ByteBuffer buffer, int byteIndex, int mask, int expected, int replacement) {
+        if (!isInAlignedWord(buffer, byteIndex)) {
+            return compareAndExchangeLocked(cx, target, array, index, mask, expected, replacement);
+        }
+        int wordIndex = byteIndex & ~(Integer.BYTES - 1);
+        int shift = getSubWordShift(byteIndex - wordIndex, array.bytesPerElement());
+        while (true) {
+            int word = ByteBufferAtomics.getIntVolatile(buffer, wordIndex);
+            int current = (word >>> shift) & mask;
+            if (current != (expected & mask)) {
+                return current;
+            }
+            if (ByteBufferAtomics.compareAndExchangeInt(buffer, wordIndex, word, replaceSubWord(word, shift, mask, replacement)) == word) {
+                return current;
             }
-            return read;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
         }
     }
 
     @TruffleBoundary
-    public static int atomicFetchOrGetInt(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement) {
+    private static int compareAndExchangeLocked(JSContext cx, DynamicObject target, TypedArray array, int index, int mask, int expected, int replacement) {
+        TypedArray.TypedIntArray<?> typedArray = (TypedArray.TypedIntArray<?>) array;
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            int read = doVolatileGet(target, intArrayOffset);
-            if (read == expected) {
-                doVolatilePut(target, intArrayOffset, replacement);
+            int read = typedArray.getInt(target, index) & mask;
+            if (read == (expected & mask)) {
+                typedArray.setInt(target, index, replacement);
             }
             return read;
         } finally {
@@ -169,30 +371,12 @@ public final class SharedMemorySync {
     }
 
     @TruffleBoundary
-    public static int atomicFetchOrGetShort(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        int read = doVolatileGet(target, intArrayOffset);
-        read = sign ? read : read & 0xFFFF;
-        int expectedChopped = sign ? (short) expected : expected & 0xFFFF;
-        if (read == expectedChopped) {
-            int signed = sign ? replacement : replacement & 0xFFFF;
-            SharedMemorySync.doVolatilePut(target, intArrayOffset, (short) signed);
-        }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
-    }
-
-    @TruffleBoundary
-    public static int atomicFetchOrGetByte(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
+    private static int readModifyWriteLocked(JSContext cx, DynamicObject target, TypedArray array, int index, int mask, int operand, ReadModifyWrite op) {
+        TypedArray.TypedIntArray<?> typedArray = (TypedArray.TypedIntArray<?>) array;
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            int read = doVolatileGet(target, intArrayOffset);
-            read = sign ? read : read & 0xFF;
-            int expectedChopped = sign ? (byte) expected : expected & 0xFF;
-            if (read == expectedChopped) {
-                int signed = sign ? replacement : replacement & 0xFF;
-                SharedMemorySync.doVolatilePut(target, intArrayOffset, (byte) signed);
-            }
+            int read = typedArray.getInt(target, index) & mask;
+            typedArray.setInt(target, index, op.apply(read, operand));
             return read;
         } finally {
             cx.getJSAgent().atomicSectionLeave(target);
@@ -200,14 +384,12 @@ public final class SharedMemorySync {
     }
 
     @TruffleBoundary
-    public static BigInt atomicFetchOrGetBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt expected, BigInt replacement) {
+    private static void doLockedPut(DynamicObject target, TypedArray array, int index, int value) {
+        TypedArray.TypedIntArray<?> typedArray = (TypedArray.TypedIntArray<?>) array;
+        JSContext cx = JSObject.getJSContext(target);
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            BigInt read = doVolatileGetBigInt(target, intArrayOffset);
-            if (read.compareTo(expected) == 0) {
-                doVolatilePutBigInt(target, intArrayOffset, replacement);
-            }
-            return read;
+            typedArray.setInt(target, index, value);
         } finally {
             cx.getJSAgent().atomicSectionLeave(target);
         }
@@ -238,52 +420,60 @@ public final class SharedMemorySync {
     }
 
     @TruffleBoundary
-    public static void addWaiter(JSContext cx, JSAgentWaiterListEntry wl, int id) {
+    public static WaiterRecord addWaiter(JSContext cx, JSAgentWaiterListEntry wl, int timeout, PromiseCapabilityRecord promiseCapability) {
         assert cx.getJSAgent().inCriticalSection();
-        assert !wl.contains(id);
-        wl.add(id);
+        return wl.addWaiter(cx.getJSAgent(), timeout, promiseCapability);
     }
 
+    /**
+     * Removes a waiter whose timeout has elapsed from the list.
+     *
+     * @return {@code false} if the waiter has been notified in the meantime
+     */
     @TruffleBoundary
-    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, int w) {
+    public static boolean removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, WaiterRecord w) {
         assert cx.getJSAgent().inCriticalSection();
-        assert wl.contains(w);
-        wl.remove(w);
+        return wl.removeWaiter(w);
     }
 
     /* ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent */
     @TruffleBoundary
-    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, int w, int timeout) {
+    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, WaiterRecord w, int timeout) {
         assert cx.getJSAgent().inCriticalSection();
         assert wl.contains(w);
-        assert cx.getJSAgent().getSignifier() == w;
         assert cx.getJSAgent().canBlock();
         cx.getJSAgent().criticalSectionLeave(wl);
-        boolean interrupt = false;
-        try {
-            Thread.sleep(timeout);
-        } catch (InterruptedException e) {
-            interrupt = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        boolean interrupted = false;
+        while (!w.isNotified()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(wl, remaining);
+            if (Thread.interrupted()) {
+                interrupted = true;
+                break;
+            }
         }
         cx.getJSAgent().criticalSectionEnter(wl);
-        return interrupt;
+        if (interrupted) {
+            // preserve the interrupt status for cancellation
+            Thread.currentThread().interrupt();
+        }
+        return w.isNotified();
     }
 
     /* ECMA2017 24.4.1.10 - Wake up another agent */
     @TruffleBoundary
-    public static void wakeWaiter(JSContext cx, int w) {
-        assert cx.getJSAgent().inCriticalSection();
-        cx.getJSAgent().wakeAgent(w);
+    public static void wakeWaiter(JSContext cx, WaiterRecord w) {
+        assert !cx.getJSAgent().inCriticalSection();
+        w.wake();
     }
 
     @TruffleBoundary
-    public static int[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
+    public static WaiterRecord[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
         assert cx.getJSAgent().inCriticalSection();
-        int c = Integer.min(wl.size(), count);
-        int[] removed = new int[c];
-        while (c-- > 0) {
-            removed[c] = wl.poll();
-        }
-        return removed;
+        return wl.removeWaiters(count);
     }
 }
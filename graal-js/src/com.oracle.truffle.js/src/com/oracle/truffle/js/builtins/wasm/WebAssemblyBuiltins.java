@@ -306,6 +306,9 @@ public class WebAssemblyBuiltins extends JSBuiltinsContainer.SwitchEnum<WebAssem
                 throw Errors.createLinkError(ex, null);
             } catch (InteropException ex) {
                 throw Errors.shouldNotReachHere(ex);
+            } finally {
+                // the start function may have grown the memory
+                context.getRealm().getAgent().webAssemblyExecuted();
             }
 
             return JSWebAssemblyInstance.create(context, wasmInstance, wasmModule);
@@ -111,6 +111,8 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.interop.JavaScriptLanguageView;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.FeedbackReport;
+import com.oracle.truffle.js.runtime.util.ShapeStatistics;
 
 @ProvidedTags({
                 StandardTags.StatementTag.class,
@@ -370,6 +372,7 @@ public final class JavaScriptLanguage extends AbstractJavaScriptLanguage {
                     JSContextOptions.CLASS_FIELDS,
                     JSContextOptions.REGEXP_STATIC_RESULT,
                     JSContextOptions.TIME_ZONE,
+                    JSContextOptions.INIT_SCRIPTS,
     };
 
     /**
@@ -409,9 +412,40 @@ public final class JavaScriptLanguage extends AbstractJavaScriptLanguage {
         if (options.isProfileTime() && options.isProfileTimePrintCumulative()) {
             context.getTimeProfiler().printCumulative();
         }
+        if (context.realmDisposed()) {
+            // the reports belong to the JSContext, which may be shared by several contexts
+            printReports(realm);
+        }
         realm.setGlobalObject(Undefined.instance);
     }
 
+    /**
+     * Prints and resets the feedback report and the shape statistics, so that every report only
+     * covers the time since the previous one.
+     */
+    private static void printReports(JSRealm realm) {
+        JSContext context = realm.getContext();
+        JSContextOptions options = context.getContextOptions();
+        FeedbackReport feedbackReport = context.getFeedbackReport();
+        if (feedbackReport != null) {
+            if (JSContextOptions.FEEDBACK_REPORT_JSON.equals(options.getFeedbackReport())) {
+                feedbackReport.printJSON(realm.getOutputWriter(), context.getMegamorphicPropertyCache());
+            } else {
+                feedbackReport.printText(realm.getOutputWriter(), context.getMegamorphicPropertyCache());
+            }
+            feedbackReport.reset();
+        }
+        ShapeStatistics shapeStatistics = context.getShapeStatistics();
+        if (shapeStatistics != null) {
+            if (JSContextOptions.SHAPE_STATISTICS_JSON.equals(options.getShapeStatistics())) {
+                shapeStatistics.printJSON(realm.getOutputWriter());
+            } else {
+                shapeStatistics.printText(realm.getOutputWriter());
+            }
+            shapeStatistics.reset();
+        }
+    }
+
     @Override
     protected void initializeMultipleContexts() {
         multiContext = true;
@@ -119,6 +119,7 @@ import com.oracle.truffle.js.nodes.arguments.AccessRestArgumentsNode;
 import com.oracle.truffle.js.nodes.arguments.AccessThisNode;
 import com.oracle.truffle.js.nodes.arguments.AccessVarArgsNode;
 import com.oracle.truffle.js.nodes.arguments.ArgumentsObjectNode;
+import com.oracle.truffle.js.nodes.arguments.ReadArgumentsDirectlyNode;
 import com.oracle.truffle.js.nodes.binary.DualNode;
 import com.oracle.truffle.js.nodes.binary.InNode;
 import com.oracle.truffle.js.nodes.binary.InstanceofNode;
@@ -1069,6 +1070,14 @@ public class NodeFactory {
         return new AccessArgumentsArrayDirectlyNode(writeArguments, readArguments, leadingArgCount, trailingArgCount);
     }
 
+    public JavaScriptNode createReadArgumentsLengthDirectly(JSContext context, JavaScriptNode argumentsNode) {
+        return ReadArgumentsDirectlyNode.createLength(context, argumentsNode);
+    }
+
+    public JavaScriptNode createReadArgumentsElementDirectly(JSContext context, JavaScriptNode argumentsNode, JavaScriptNode indexNode) {
+        return ReadArgumentsDirectlyNode.createElement(context, argumentsNode, indexNode);
+    }
+
     public JavaScriptNode createCallApplyArguments(JSContext context, JSFunctionCallNode callNode) {
         return CallApplyArgumentsNode.create(context, callNode);
     }
@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.nodes;
 
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.js.nodes.function.FunctionRootNode;
 import com.oracle.truffle.js.runtime.JSArguments;
@@ -101,6 +102,13 @@ public final class ScriptNode {
         return JSArguments.create(thisObj, JSFunction.create(realm, functionData), args);
     }
 
+    /**
+     * Runs a script parsed for eval, using the given frame as the lexical context.
+     */
+    public Object runInFrame(JSRealm realm, Object thisObj, MaterializedFrame frame) {
+        return run(JSArguments.createZeroArg(thisObj, JSFunction.create(realm, functionData, frame)));
+    }
+
     public Object run(Object[] args) {
         return callTarget.call(args);
     }
@@ -54,6 +54,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
+import com.oracle.truffle.js.runtime.util.ShapeStatistics;
 
 @ImportStatic(JSRuntime.class)
 abstract class CachedGetPropertyNode extends JavaScriptBaseNode {
@@ -115,6 +116,10 @@ abstract class CachedGetPropertyNode extends JavaScriptBaseNode {
             return JSObject.getOrDefault(target, (long) arrayIndex, receiver, defaultValue, jsclassProfile, this);
         } else {
             assert JSRuntime.isPropertyKey(arrayIndex);
+            ShapeStatistics shapeStatistics = context.getShapeStatistics();
+            if (shapeStatistics != null) {
+                shapeStatistics.recordUncachedRead(target);
+            }
             return JSObject.getOrDefault(target, arrayIndex, receiver, defaultValue, jsclassProfile, this);
         }
     }
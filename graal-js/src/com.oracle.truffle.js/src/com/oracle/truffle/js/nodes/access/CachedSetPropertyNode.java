@@ -46,6 +46,7 @@ import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.ReportPolymorphism;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.cast.ToArrayIndexNode;
@@ -57,6 +58,7 @@ import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
+import com.oracle.truffle.js.runtime.util.ShapeStatistics;
 
 @ImportStatic({JSRuntime.class, CachedGetPropertyNode.class})
 abstract class CachedSetPropertyNode extends JavaScriptBaseNode {
@@ -133,11 +135,16 @@ abstract class CachedSetPropertyNode extends JavaScriptBaseNode {
             doArrayIndexLong(target, index, value, receiver, jsclassProfile.getJSClass(target));
         } else {
             assert JSRuntime.isPropertyKey(arrayIndex);
+            ShapeStatistics shapeStatistics = context.getShapeStatistics();
+            Shape shapeBefore = shapeStatistics == null ? null : target.getShape();
             if (setOwn) {
                 createDataPropertyOrThrow(target, arrayIndex, value);
             } else {
                 JSObject.setWithReceiver(target, arrayIndex, value, receiver, strict, jsclassProfile, this);
             }
+            if (shapeStatistics != null) {
+                shapeStatistics.recordUncachedWrite(target, shapeBefore);
+            }
         }
     }
 
@@ -42,6 +42,7 @@ package com.oracle.truffle.js.nodes.access;
 
 import java.util.Set;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.Executed;
@@ -57,13 +58,16 @@ import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.access.CreateObjectNodeFactory.CreateObjectWithCachedPrototypeNodeGen;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSDictionary;
+import com.oracle.truffle.js.runtime.builtins.JSObjectFactory;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.ObjectAllocationSite;
 
 public abstract class CreateObjectNode extends JavaScriptBaseNode {
     protected final JSContext context;
@@ -73,7 +77,14 @@ public abstract class CreateObjectNode extends JavaScriptBaseNode {
     }
 
     public static CreateObjectNode create(JSContext context) {
-        return new CreateOrdinaryObjectNode(context);
+        return new CreateOrdinaryObjectNode(context, 0);
+    }
+
+    /**
+     * Creates ordinary objects that are expected to get at least the given number of properties.
+     */
+    public static CreateObjectNode create(JSContext context, int expectedPropertyCount) {
+        return new CreateOrdinaryObjectNode(context, expectedPropertyCount);
     }
 
     public static CreateObjectWithPrototypeNode createOrdinaryWithPrototype(JSContext context) {
@@ -101,18 +112,35 @@ public abstract class CreateObjectNode extends JavaScriptBaseNode {
     }
 
     private static class CreateOrdinaryObjectNode extends CreateObjectNode {
-        protected CreateOrdinaryObjectNode(JSContext context) {
+        private final int expectedPropertyCount;
+        private final ObjectAllocationSite allocationSite;
+
+        protected CreateOrdinaryObjectNode(JSContext context, int expectedPropertyCount) {
             super(context);
+            this.expectedPropertyCount = expectedPropertyCount;
+            this.allocationSite = context.isMultiContext() ? null : ObjectAllocationSite.create(expectedPropertyCount);
         }
 
         @Override
         public DynamicObject execute(VirtualFrame frame) {
-            return JSOrdinary.create(context);
+            if (allocationSite == null) {
+                return JSOrdinary.create(context);
+            }
+            JSRealm realm = context.getRealm();
+            DynamicObject prototype = realm.getObjectPrototype();
+            JSObjectFactory factory = context.getOrdinaryObjectFactory();
+            Shape defaultShape = factory.getShape(realm);
+            DynamicObject object = JSOrdinary.create(context, allocationSite.getShape(defaultShape, prototype));
+            if (allocationSite.isTracking()) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                allocationSite.track(object, prototype, context);
+            }
+            return object;
         }
 
         @Override
         protected CreateObjectNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
-            return new CreateOrdinaryObjectNode(context);
+            return new CreateOrdinaryObjectNode(context, expectedPropertyCount);
         }
     }
 
@@ -150,12 +178,18 @@ public abstract class CreateObjectNode extends JavaScriptBaseNode {
 
         @Specialization(guards = {"!context.isMultiContext()", "isValidPrototype(cachedPrototype)", "prototype == cachedPrototype"}, limit = "1")
         final DynamicObject doCachedPrototype(@SuppressWarnings("unused") DynamicObject prototype,
-                        @Cached("prototype") @SuppressWarnings("unused") DynamicObject cachedPrototype,
-                        @Cached("getProtoChildShape(cachedPrototype)") Shape protoChildShape) {
+                        @Cached("prototype") DynamicObject cachedPrototype,
+                        @Cached("getProtoChildShape(cachedPrototype)") Shape protoChildShape,
+                        @Cached("create()") ObjectAllocationSite allocationSite) {
             if (isPromiseObject()) {
                 return JSPromise.create(context, protoChildShape);
             } else if (isOrdinaryObject()) {
-                return JSOrdinary.create(context, protoChildShape);
+                DynamicObject object = JSOrdinary.create(context, allocationSite.getShape(protoChildShape, cachedPrototype));
+                if (allocationSite.isTracking()) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    allocationSite.track(object, cachedPrototype, context);
+                }
+                return object;
             } else {
                 throw Errors.unsupported("unsupported object type");
             }
@@ -49,6 +49,7 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Cached;
@@ -62,7 +63,9 @@ import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
@@ -77,6 +80,8 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.ForInEnumCache;
 import com.oracle.truffle.js.runtime.util.ForInIterator;
 import com.oracle.truffle.js.runtime.util.IteratorUtil;
 
@@ -93,6 +98,10 @@ public abstract class EnumerateNode extends JavaScriptNode {
     @Child @Executed protected JavaScriptNode targetNode;
     @Child private PropertySetNode setEnumerateIteratorNode;
     @Child private PropertySetNode setForInIteratorNode;
+    @Child private GetPrototypeNode getPrototypeNode;
+    @Child private HasOnlyShapePropertiesNode hasOnlyShapePropertiesNode;
+    @CompilationFinal private ForInEnumCache cachedEnumCache;
+    @CompilationFinal private boolean enumCacheMiss;
 
     protected EnumerateNode(JSContext context, boolean values, boolean requireIterable, JavaScriptNode targetNode) {
         this.context = context;
@@ -249,10 +258,51 @@ public abstract class EnumerateNode extends JavaScriptNode {
             setForInIteratorNode = insert(PropertySetNode.createSetHidden(JSRuntime.FOR_IN_ITERATOR_ID, context));
         }
         DynamicObject iteratorObj = JSOrdinary.create(context, context.getForInIteratorFactory());
-        setForInIteratorNode.setValue(iteratorObj, new ForInIterator(obj, values));
+        ForInEnumCache enumCache = JSConfig.FastOwnKeys ? findEnumCache(obj) : null;
+        setForInIteratorNode.setValue(iteratorObj, new ForInIterator(obj, values, enumCache));
         return iteratorObj;
     }
 
+    /**
+     * Returns the cached for-in keys of the object and its prototype chain, if applicable. The last
+     * enum cache seen by this node is checked first, without leaving compiled code.
+     */
+    private ForInEnumCache findEnumCache(DynamicObject obj) {
+        ForInEnumCache enumCache = cachedEnumCache;
+        if (enumCache != null && isCachedPrototypeChain(obj, enumCache)) {
+            return enumCache;
+        }
+        if (!enumCacheMiss) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            enumCache = ForInEnumCache.lookup(obj);
+            if (enumCache != null && cachedEnumCache == null) {
+                cachedEnumCache = enumCache;
+                getPrototypeNode = insert(GetPrototypeNode.create());
+                hasOnlyShapePropertiesNode = insert(HasOnlyShapePropertiesNode.create());
+            } else {
+                enumCacheMiss = true;
+            }
+            return enumCache;
+        }
+        return ForInEnumCache.lookup(obj);
+    }
+
+    @ExplodeLoop
+    private boolean isCachedPrototypeChain(DynamicObject obj, ForInEnumCache enumCache) {
+        if (obj.getShape() != enumCache.getReceiverShape() || !hasOnlyShapePropertiesNode.execute(obj)) {
+            return false;
+        }
+        Shape[] prototypeShapes = enumCache.getPrototypeShapes();
+        DynamicObject current = obj;
+        for (int i = 0; i < prototypeShapes.length; i++) {
+            current = getPrototypeNode.executeJSObject(current);
+            if (current.getShape() != prototypeShapes[i] || !hasOnlyShapePropertiesNode.execute(current)) {
+                return false;
+            }
+        }
+        return getPrototypeNode.executeJSObject(current) == Null.instance;
+    }
+
     @Specialization(guards = {"!isJSObject(iteratedObject)", "!isForeignObject(iteratedObject)"})
     protected DynamicObject doNonObject(Object iteratedObject,
                     @Cached("createToObjectNoCheck(context)") JSToObjectNode toObjectNode,
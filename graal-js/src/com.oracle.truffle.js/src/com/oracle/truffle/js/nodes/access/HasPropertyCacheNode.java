@@ -95,6 +95,7 @@ public class HasPropertyCacheNode extends PropertyCacheNode<HasPropertyCacheNode
             }
             boolean guard = c.accepts(thisObj);
             if (guard) {
+                c.recordHit();
                 return c.hasProperty(thisObj, this);
             }
         }
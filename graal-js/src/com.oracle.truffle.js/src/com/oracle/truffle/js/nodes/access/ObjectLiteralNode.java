@@ -851,7 +851,7 @@ public class ObjectLiteralNode extends JavaScriptNode {
         } else if (JSConfig.DictionaryObject && members.length > JSConfig.DictionaryObjectThreshold && onlyDataMembers(members)) {
             return createDictionaryObject(context, members);
         } else {
-            return new ObjectLiteralNode(members, CreateObjectNode.create(context));
+            return new ObjectLiteralNode(members, CreateObjectNode.create(context, members.length));
         }
     }
 
@@ -83,6 +83,8 @@ import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
+import com.oracle.truffle.js.runtime.util.FeedbackReport;
+import com.oracle.truffle.js.runtime.util.ShapeStatistics;
 
 /**
  * Common base class for property cache nodes. Unifies the cache handling and receiver checks.
@@ -1012,6 +1014,8 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
     public abstract static class CacheNode<T extends CacheNode<T>> extends JavaScriptBaseNode {
         @Child protected T next;
         @Child protected ReceiverCheckNode receiverCheck;
+        /** Per-shape access counter, only set if shape statistics are enabled. */
+        @CompilationFinal protected ShapeStatistics.Counter statisticsCounter;
 
         protected CacheNode(ReceiverCheckNode receiverCheck) {
             this.receiverCheck = receiverCheck;
@@ -1045,6 +1049,15 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
             return receiverCheck == null || receiverCheck.accept(thisObj);
         }
 
+        /**
+         * Counts an access served by this cache entry, if shape statistics are enabled.
+         */
+        protected final void recordHit() {
+            if (statisticsCounter != null) {
+                statisticsCounter.increment();
+            }
+        }
+
         protected boolean isValid() {
             return receiverCheck == null || receiverCheck.isValid();
         }
@@ -1143,6 +1156,7 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
                     checkForUnstableAssumption(currentHead, thisObj);
                     currentHead = rewriteCached(currentHead, filterValid(currentHead));
                     traceAssumptionInvalidated();
+                    recordFeedback(currentHead, false, "assumption invalidated");
                     res = null;
                     continue; // restart
                 }
@@ -1280,11 +1294,16 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         insert(specialized);
         specialized.setNext(currentHead);
         this.cacheNode = specialized;
+        ShapeStatistics shapeStatistics = context.getShapeStatistics();
+        if (shapeStatistics != null && specialized.receiverCheck != null && specialized.receiverCheck.getShape() != null) {
+            specialized.statisticsCounter = getStatisticsCounter(specialized, shapeStatistics.getEntry(specialized.receiverCheck.getShape()));
+        }
 
         if (cachedCount > 0) {
             polymorphicCount.inc();
         }
         traceRewriteInsert(specialized, cachedCount);
+        recordFeedback(specialized, false, "added " + specialized.getClass().getSimpleName());
         if (JSConfig.TracePolymorphicPropertyAccess && cachedCount > 0) {
             System.out.printf("POLYMORPHIC PROPERTY ACCESS key='%s' %s\n%s\n---\n", key, getEncapsulatingSourceSection(), specialized.debugString());
         }
@@ -1301,9 +1320,13 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
 
         if (cachedCount > 0 && cachedCount >= context.getPropertyCacheLimit()) {
             megamorphicCount.inc();
+            if (context.getMegamorphicPropertyCache() != null) {
+                context.getMegamorphicPropertyCache().incrementMegamorphicSiteCount();
+            }
             reportPolymorphicSpecialize();
         }
         traceRewriteMegamorphic(newNode, reason);
+        recordFeedback(newNode, true, reason);
         if (JSConfig.TraceMegamorphicPropertyAccess) {
             System.out.printf("MEGAMORPHIC PROPERTY ACCESS key='%s' %s\n%s\n---\n", key, getEncapsulatingSourceSection(), currentHead.debugString());
         }
@@ -1548,6 +1571,24 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         return JSRuntime.INFINITY_STRING.equals(key);
     }
 
+    /**
+     * Returns the shape statistics counter to be incremented whenever the given cache entry is hit.
+     */
+    protected ShapeStatistics.Counter getStatisticsCounter(@SuppressWarnings("unused") T specialized, ShapeStatistics.Entry entry) {
+        return entry.getCachedReads();
+    }
+
+    private void recordFeedback(T head, boolean generic, String reason) {
+        FeedbackReport feedbackReport = context.getFeedbackReport();
+        if (feedbackReport != null) {
+            int entryCount = 0;
+            for (T c = head; c != null; c = c.next) {
+                entryCount++;
+            }
+            feedbackReport.recordTransition(this, getClass().getSimpleName(), key, entryCount, generic, reason);
+        }
+    }
+
     private void traceRewriteInsert(Node newNode, int cacheDepth) {
         if (TruffleOptions.TraceRewrites) {
             PrintStream out = System.out;
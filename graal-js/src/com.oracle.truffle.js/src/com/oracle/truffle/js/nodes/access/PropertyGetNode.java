@@ -110,10 +110,12 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
+import com.oracle.truffle.js.runtime.util.ShapeStatistics;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TRegexUtil.TRegexMaterializeResultNode;
 import com.oracle.truffle.js.runtime.util.TRegexUtil.TRegexResultAccessor;
@@ -206,6 +208,7 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             }
             boolean guard = c.accepts(thisObj);
             if (guard) {
+                c.recordHit();
                 return c.getValueInt(thisObj, receiver, this, guard);
             }
         }
@@ -230,6 +233,7 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             }
             boolean guard = c.accepts(thisObj);
             if (guard) {
+                c.recordHit();
                 return c.getValueDouble(thisObj, receiver, this, guard);
             }
         }
@@ -254,6 +258,7 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             }
             boolean guard = c.accepts(thisObj);
             if (guard) {
+                c.recordHit();
                 return c.getValueBoolean(thisObj, receiver, this, guard);
             }
         }
@@ -278,6 +283,7 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             }
             boolean guard = c.accepts(thisObj);
             if (guard) {
+                c.recordHit();
                 return c.getValueLong(thisObj, receiver, this, guard);
             }
         }
@@ -302,6 +308,7 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             }
             boolean guard = c.accepts(thisObj);
             if (guard) {
+                c.recordHit();
                 return c.getValue(thisObj, receiver, defaultValue, this, guard);
             }
         }
@@ -1105,6 +1112,10 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
         }
 
         private Object getPropertyFromJSObject(DynamicObject thisObj, Object receiver, Object defaultValue, PropertyGetNode root) {
+            ShapeStatistics shapeStatistics = root.getContext().getShapeStatistics();
+            if (shapeStatistics != null) {
+                shapeStatistics.recordUncachedRead(thisObj);
+            }
             if (root.getKey() instanceof HiddenKey) {
                 Object result = JSDynamicObject.getOrNull(thisObj, root.getKey());
                 if (result != null) {
@@ -1136,6 +1147,7 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
         private final JSContext context;
         private final BranchProfile nullOrUndefinedBranch = BranchProfile.create();
         private final BranchProfile fallbackBranch = BranchProfile.create();
+        private final BranchProfile cacheMissBranch = BranchProfile.create();
 
         GetPropertyFromJSObjectNode(PropertyGetNode root) {
             this.key = root.getKey();
@@ -1186,7 +1198,18 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             }
 
             // 1. try to get a JS property
-            Object value = isMethod ? jsclass.getMethodHelper(object, receiver, key, this) : jsclass.getHelper(object, receiver, key, this);
+            Object value;
+            MegamorphicPropertyCache megamorphicCache = context.getMegamorphicPropertyCache();
+            if (megamorphicCache != null) {
+                value = megamorphicCache.get(object, key, receiver, this);
+                if (value == MegamorphicPropertyCache.MISS) {
+                    cacheMissBranch.enter();
+                    value = isMethod ? jsclass.getMethodHelper(object, receiver, key, this) : jsclass.getHelper(object, receiver, key, this);
+                    megamorphicCache.add(object, key);
+                }
+            } else {
+                value = isMethod ? jsclass.getMethodHelper(object, receiver, key, this) : jsclass.getHelper(object, receiver, key, this);
+            }
             if (value != null) {
                 return value;
             }
@@ -94,11 +94,13 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
+import com.oracle.truffle.js.runtime.util.ShapeStatistics;
 
 /**
  * @see WritePropertyNode
@@ -175,6 +177,7 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
             boolean guard = c.accepts(thisObj);
             if (guard) {
                 if (c.setValue(thisObj, value, receiver, this, guard)) {
+                    c.recordHit();
                     return;
                 }
             }
@@ -202,6 +205,7 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
             boolean guard = c.accepts(thisObj);
             if (guard) {
                 if (c.setValueInt(thisObj, value, receiver, this, guard)) {
+                    c.recordHit();
                     return;
                 }
             }
@@ -229,6 +233,7 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
             boolean guard = c.accepts(thisObj);
             if (guard) {
                 if (c.setValueDouble(thisObj, value, receiver, this, guard)) {
+                    c.recordHit();
                     return;
                 }
             }
@@ -256,6 +261,7 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
             boolean guard = c.accepts(thisObj);
             if (guard) {
                 if (c.setValueBoolean(thisObj, value, receiver, this, guard)) {
+                    c.recordHit();
                     return;
                 }
             }
@@ -996,6 +1002,7 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
         private final ConditionProfile isObject = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isStrictSymbol = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isForeignObject = ConditionProfile.createBinaryProfile();
+        private final BranchProfile cacheMissBranch = BranchProfile.create();
 
         public GenericPropertySetNode(JSContext context) {
             super(null);
@@ -1021,6 +1028,16 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
         }
 
         private void setValueInDynamicObject(Object thisObj, Object value, Object receiver, PropertySetNode root) {
+            JSDynamicObject thisJSObj = ((JSDynamicObject) thisObj);
+            ShapeStatistics shapeStatistics = root.getContext().getShapeStatistics();
+            Shape shapeBefore = shapeStatistics == null ? null : thisJSObj.getShape();
+            setValueInDynamicObjectImpl(thisJSObj, value, receiver, root);
+            if (shapeStatistics != null) {
+                shapeStatistics.recordUncachedWrite(thisJSObj, shapeBefore);
+            }
+        }
+
+        private void setValueInDynamicObjectImpl(Object thisObj, Object value, Object receiver, PropertySetNode root) {
             JSDynamicObject thisJSObj = ((JSDynamicObject) thisObj);
             Object key = root.getKey();
             if (key instanceof HiddenKey) {
@@ -1035,7 +1052,16 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
                     JSObject.defineOwnProperty(thisJSObj, key, PropertyDescriptor.createData(value, root.getAttributeFlags()), root.isStrict());
                 }
             } else {
-                JSObject.setWithReceiver(thisJSObj, key, value, receiver, root.isStrict(), jsclassProfile, root);
+                MegamorphicPropertyCache megamorphicCache = root.getContext().getMegamorphicPropertyCache();
+                if (megamorphicCache != null && receiver == thisObj) {
+                    if (!megamorphicCache.set(thisJSObj, key, value)) {
+                        cacheMissBranch.enter();
+                        JSObject.setWithReceiver(thisJSObj, key, value, receiver, root.isStrict(), jsclassProfile, root);
+                        megamorphicCache.add(thisJSObj, key);
+                    }
+                } else {
+                    JSObject.setWithReceiver(thisJSObj, key, value, receiver, root.isStrict(), jsclassProfile, root);
+                }
             }
         }
 
@@ -1375,6 +1401,17 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
         return new GenericPropertySetNode(context);
     }
 
+    @Override
+    protected ShapeStatistics.Counter getStatisticsCounter(SetCacheNode specialized, ShapeStatistics.Entry entry) {
+        if (specialized instanceof DataPropertySetNode) {
+            DefinePropertyCache cache = ((DataPropertySetNode) specialized).cache;
+            if (cache != null && cache.oldShape != cache.newShape) {
+                return entry.getTransitions();
+            }
+        }
+        return entry.getCachedWrites();
+    }
+
     @Override
     protected boolean isGlobal() {
         return isGlobal;
@@ -59,6 +59,7 @@ import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
@@ -113,6 +114,7 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.FeedbackReport;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 
@@ -416,6 +418,7 @@ public class ReadElementNode extends JSTargetableNode implements ReadNode {
             ReadElementTypeCacheNode newCacheNode = makeTypeCacheNode(target, currentHead);
             insert(newCacheNode);
             typeCacheNode = newCacheNode;
+            recordFeedback(newCacheNode);
             if (currentHead != null && currentHead.typeCacheNext != null && currentHead.typeCacheNext.typeCacheNext != null) {
                 reportPolymorphicSpecialize();
             }
@@ -428,6 +431,32 @@ public class ReadElementNode extends JSTargetableNode implements ReadNode {
         }
     }
 
+    private void recordFeedback(ReadElementTypeCacheNode newHead) {
+        FeedbackReport feedbackReport = context.getFeedbackReport();
+        if (feedbackReport != null) {
+            int entryCount = 0;
+            for (ReadElementTypeCacheNode c = newHead; c != null; c = c.typeCacheNext) {
+                entryCount++;
+            }
+            // element type caches have no generic case; a chain past the cache limit is megamorphic
+            boolean generic = entryCount > context.getPropertyCacheLimit();
+            feedbackReport.recordTransition(this, "ReadElementNode", null, entryCount, generic, "added " + newHead.getClass().getSimpleName());
+        }
+    }
+
+    static void recordArrayFeedback(Node node, DynamicObject target, ScriptArray array, ArrayReadElementCacheNode newHead) {
+        JSContext context = JSObject.getJSContext(target);
+        FeedbackReport feedbackReport = context.getFeedbackReport();
+        if (feedbackReport != null) {
+            int entryCount = 0;
+            for (ArrayReadElementCacheNode c = newHead; c != null; c = c.arrayCacheNext) {
+                entryCount++;
+            }
+            boolean generic = entryCount > context.getPropertyCacheLimit();
+            feedbackReport.recordTransition(node, "ReadElementNode[array]", null, entryCount, generic, "added " + array.getClass().getSimpleName());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static ReadElementTypeCacheNode makeTypeCacheNode(Object target, ReadElementTypeCacheNode next) {
         if (JSDynamicObject.isJSDynamicObject(target)) {
@@ -548,6 +577,7 @@ public class ReadElementNode extends JSTargetableNode implements ReadNode {
                 ArrayReadElementCacheNode newCacheNode = makeArrayCacheNode(target, array, currentHead);
                 insert(newCacheNode);
                 arrayReadElementNode = newCacheNode;
+                recordArrayFeedback(this, target, array, newCacheNode);
                 if (!newCacheNode.guard(target, array)) {
                     throw Errors.shouldNotReachHere();
                 }
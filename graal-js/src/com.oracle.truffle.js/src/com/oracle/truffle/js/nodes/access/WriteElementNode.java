@@ -61,6 +61,7 @@ import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
@@ -125,6 +126,7 @@ import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.builtins.JSSymbol;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.util.FeedbackReport;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 
@@ -471,6 +473,7 @@ public class WriteElementNode extends JSTargetableNode {
             WriteElementTypeCacheNode newCacheNode = makeTypeCacheNode(target, currentHead);
             insert(newCacheNode);
             typeCacheNode = newCacheNode;
+            recordFeedback(newCacheNode);
             if (!newCacheNode.guard(target)) {
                 throw Errors.shouldNotReachHere();
             }
@@ -480,6 +483,32 @@ public class WriteElementNode extends JSTargetableNode {
         }
     }
 
+    private void recordFeedback(WriteElementTypeCacheNode newHead) {
+        FeedbackReport feedbackReport = context.getFeedbackReport();
+        if (feedbackReport != null) {
+            int entryCount = 0;
+            for (WriteElementTypeCacheNode c = newHead; c != null; c = c.typeCacheNext) {
+                entryCount++;
+            }
+            // element type caches have no generic case; a chain past the cache limit is megamorphic
+            boolean generic = entryCount > context.getPropertyCacheLimit();
+            feedbackReport.recordTransition(this, "WriteElementNode", null, entryCount, generic, "added " + newHead.getClass().getSimpleName());
+        }
+    }
+
+    static void recordArrayFeedback(Node node, DynamicObject target, ScriptArray array, ArrayWriteElementCacheNode newHead) {
+        JSContext context = JSObject.getJSContext(target);
+        FeedbackReport feedbackReport = context.getFeedbackReport();
+        if (feedbackReport != null) {
+            int entryCount = 0;
+            for (ArrayWriteElementCacheNode c = newHead; c != null; c = c.arrayCacheNext) {
+                entryCount++;
+            }
+            boolean generic = entryCount > context.getPropertyCacheLimit();
+            feedbackReport.recordTransition(node, "WriteElementNode[array]", null, entryCount, generic, "added " + array.getClass().getSimpleName());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static WriteElementTypeCacheNode makeTypeCacheNode(Object target, WriteElementTypeCacheNode next) {
         if (JSDynamicObject.isJSDynamicObject(target)) {
@@ -634,6 +663,7 @@ public class WriteElementNode extends JSTargetableNode {
                 ArrayWriteElementCacheNode newCacheNode = makeArrayCacheNode(target, array, currentHead);
                 insert(newCacheNode);
                 arrayWriteElementNode = newCacheNode;
+                recordArrayFeedback(this, target, array, newCacheNode);
                 if (currentHead != null && currentHead.arrayCacheNext != null && currentHead.arrayCacheNext.arrayCacheNext != null) {
                     reportPolymorphicSpecialize();
                 }
@@ -854,6 +884,7 @@ public class WriteElementNode extends JSTargetableNode {
                 ArrayWriteElementCacheNode newCacheNode = makeArrayCacheNode(target, array, currentHead);
                 insert(newCacheNode);
                 recursiveWrite = newCacheNode;
+                recordArrayFeedback(this, target, array, newCacheNode);
                 if (!newCacheNode.guard(target, array)) {
                     throw Errors.shouldNotReachHere();
                 }
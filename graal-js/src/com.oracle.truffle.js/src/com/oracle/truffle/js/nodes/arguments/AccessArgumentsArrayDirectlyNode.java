@@ -102,6 +102,26 @@ public final class AccessArgumentsArrayDirectlyNode extends JavaScriptNode {
         }
     }
 
+    /**
+     * Returns the arguments object if it has already been allocated, otherwise {@code null}.
+     */
+    Object getMaterializedArgumentsObject(VirtualFrame frame) {
+        Object argumentsArray = readArgumentsNode.execute(frame);
+        return ArgumentsObjectNode.isInitialized(argumentsArray) ? argumentsArray : null;
+    }
+
+    Object materializeArgumentsObject(VirtualFrame frame) {
+        return asArgumentsObject(frame);
+    }
+
+    int getArgumentCount(VirtualFrame frame) {
+        return JSArguments.getUserArgumentCount(frame.getArguments()) - leadingArgCount - trailingArgCount;
+    }
+
+    Object getArgument(VirtualFrame frame, int index) {
+        return JSArguments.getUserArgument(frame.getArguments(), leadingArgCount + index);
+    }
+
     /**
      * Called when the arguments array can no longer be accessed directly.
      */
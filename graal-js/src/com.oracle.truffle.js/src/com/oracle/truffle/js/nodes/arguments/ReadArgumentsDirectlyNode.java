@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.arguments;
+
+import static com.oracle.truffle.js.nodes.JSNodeUtil.getWrappedNode;
+
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.access.PropertyGetNode;
+import com.oracle.truffle.js.nodes.access.ReadElementNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+
+/**
+ * Reads {@code arguments.length} or {@code arguments[index]} directly from the frame's arguments
+ * as long as the arguments object has not been allocated. Once it has been allocated, e.g. because
+ * it has been passed to a function other than the built-in apply, it may have been modified and is
+ * read instead.
+ *
+ * @see AccessArgumentsArrayDirectlyNode
+ */
+public abstract class ReadArgumentsDirectlyNode extends JavaScriptNode {
+    protected final JSContext context;
+    @Child protected JavaScriptNode argumentsNode;
+    protected final ConditionProfile materializedProfile = ConditionProfile.createBinaryProfile();
+
+    protected ReadArgumentsDirectlyNode(JSContext context, JavaScriptNode argumentsNode) {
+        assert getWrappedNode(argumentsNode) instanceof AccessArgumentsArrayDirectlyNode;
+        this.context = context;
+        this.argumentsNode = argumentsNode;
+    }
+
+    public static JavaScriptNode createLength(JSContext context, JavaScriptNode argumentsNode) {
+        return new Length(context, argumentsNode);
+    }
+
+    public static JavaScriptNode createElement(JSContext context, JavaScriptNode argumentsNode, JavaScriptNode indexNode) {
+        return new Element(context, argumentsNode, indexNode);
+    }
+
+    protected final AccessArgumentsArrayDirectlyNode getArgumentsNode() {
+        return (AccessArgumentsArrayDirectlyNode) getWrappedNode(argumentsNode);
+    }
+
+    static final class Length extends ReadArgumentsDirectlyNode {
+        @Child private PropertyGetNode getLengthNode;
+
+        Length(JSContext context, JavaScriptNode argumentsNode) {
+            super(context, argumentsNode);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            AccessArgumentsArrayDirectlyNode arguments = getArgumentsNode();
+            Object argumentsObject = arguments.getMaterializedArgumentsObject(frame);
+            if (materializedProfile.profile(argumentsObject == null)) {
+                return arguments.getArgumentCount(frame);
+            }
+            if (getLengthNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                getLengthNode = insert(PropertyGetNode.create(JSAbstractArray.LENGTH, context));
+            }
+            return getLengthNode.getValue(argumentsObject);
+        }
+
+        @Override
+        protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
+            return new Length(context, cloneUninitialized(argumentsNode, materializedTags));
+        }
+    }
+
+    static final class Element extends ReadArgumentsDirectlyNode {
+        @Child private JavaScriptNode indexNode;
+        @Child private ReadElementNode readElementNode;
+        private final BranchProfile materializeBranch = BranchProfile.create();
+
+        Element(JSContext context, JavaScriptNode argumentsNode, JavaScriptNode indexNode) {
+            super(context, argumentsNode);
+            this.indexNode = indexNode;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object index = indexNode.execute(frame);
+            AccessArgumentsArrayDirectlyNode arguments = getArgumentsNode();
+            Object argumentsObject = arguments.getMaterializedArgumentsObject(frame);
+            if (materializedProfile.profile(argumentsObject == null)) {
+                if (index instanceof Integer) {
+                    int intIndex = (int) index;
+                    if (intIndex >= 0 && intIndex < arguments.getArgumentCount(frame)) {
+                        return arguments.getArgument(frame, intIndex);
+                    }
+                }
+                // not a plain in-bounds element: allocate the arguments object to read it
+                materializeBranch.enter();
+                argumentsObject = arguments.materializeArgumentsObject(frame);
+            }
+            if (readElementNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                readElementNode = insert(ReadElementNode.create(context));
+            }
+            return readElementNode.executeWithTargetAndIndex(argumentsObject, index);
+        }
+
+        @Override
+        protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
+            return new Element(context, cloneUninitialized(argumentsNode, materializedTags), cloneUninitialized(indexNode, materializedTags));
+        }
+    }
+}
@@ -58,6 +58,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.access.ReadElementNode;
@@ -69,6 +70,7 @@ import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 
 /**
  * Converts an arbitrary value to an Object[].
@@ -126,24 +128,73 @@ public abstract class JSToObjectArrayNode extends JavaScriptBaseNode {
         return new Unary(operand);
     }
 
-    @Specialization(guards = {"isJSObject(obj)"})
-    protected Object[] toArray(DynamicObject obj,
+    /**
+     * Dense array without holes: copies the elements directly from the array storage, without
+     * going through the generic element read.
+     */
+    @Specialization(guards = {"isJSFastArray(obj)", "cachedArrayType.isInstance(getArrayType(obj))", "!cachedArrayType.isHolesType()", "!cachedArrayType.hasHoles(obj)"}, limit = "5")
+    protected Object[] toArrayFastArray(DynamicObject obj,
+                    @Cached("getArrayType(obj)") ScriptArray cachedArrayType) {
+        long len = cachedArrayType.length(obj);
+        checkApplyArgumentLength(len);
+        return copyElements(obj, cachedArrayType, (int) len);
+    }
+
+    /**
+     * Unmodified arguments object, e.g. {@code f.apply(this, arguments)} where the arguments
+     * object could not be elided. The {@code length} property may have been overwritten, so it is
+     * compared against the length of the element storage.
+     */
+    @Specialization(guards = {"isJSFastArguments(obj)", "cachedArrayType.isInstance(getArrayType(obj))", "!cachedArrayType.isHolesType()", "!cachedArrayType.hasHoles(obj)"}, limit = "5")
+    protected Object[] toArrayFastArguments(DynamicObject obj,
+                    @Cached("getArrayType(obj)") ScriptArray cachedArrayType,
                     @Cached("create(context)") JSGetLengthNode getLengthNode,
-                    @Cached("create(context)") ReadElementNode readNode) {
+                    @Cached("create(context)") ReadElementNode readNode,
+                    @Cached("createBinaryProfile()") ConditionProfile lengthMatchesProfile) {
         long len = getLengthNode.executeLong(obj);
+        checkApplyArgumentLength(len);
+        if (lengthMatchesProfile.profile(len == cachedArrayType.length(obj))) {
+            return copyElements(obj, cachedArrayType, (int) len);
+        } else {
+            return readElements(obj, (int) len, readNode);
+        }
+    }
+
+    private static Object[] copyElements(DynamicObject obj, ScriptArray arrayType, int len) {
+        Object[] arr = new Object[len];
+        for (int index = 0; index < len; index++) {
+            arr[index] = arrayType.getElement(obj, index);
+        }
+        return arr;
+    }
+
+    private static Object[] readElements(DynamicObject obj, int len, ReadElementNode readNode) {
+        Object[] arr = new Object[len];
+        for (int index = 0; index < len; index++) {
+            arr[index] = readNode.executeWithTargetAndIndex(obj, index);
+        }
+        return arr;
+    }
+
+    private void checkApplyArgumentLength(long len) {
         if (len > context.getContextOptions().getMaxApplyArgumentLength()) {
             CompilerDirectives.transferToInterpreter();
             throw Errors.createRangeErrorTooManyArguments();
         }
-        int iLen = (int) len;
-        assert JSRuntime.longIsRepresentableAsInt(len);
+    }
 
-        Object[] arr = new Object[iLen];
-        for (int index = 0; index < iLen; index++) {
-            Object value = readNode.executeWithTargetAndIndex(obj, index);
-            arr[index] = value;
-        }
-        return arr;
+    protected static ScriptArray getArrayType(DynamicObject obj) {
+        return JSObject.getArray(obj);
+    }
+
+    @Specialization(guards = {"isJSObject(obj)"})
+    protected Object[] toArray(DynamicObject obj,
+                    @Cached("create(context)") JSGetLengthNode getLengthNode,
+                    @Cached("create(context)") ReadElementNode readNode) {
+        long len = getLengthNode.executeLong(obj);
+        checkApplyArgumentLength(len);
+        assert JSRuntime.longIsRepresentableAsInt(len);
+        return readElements(obj, (int) len, readNode);
     }
 
     @Specialization(guards = "isUndefined(value)")
@@ -45,6 +45,7 @@ import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Executed;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.Tag;
 import com.oracle.truffle.api.interop.InteropLibrary;
@@ -57,6 +58,7 @@ import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.nodes.instrumentation.JSTags.EvalCallTag;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
@@ -67,6 +69,7 @@ import com.oracle.truffle.js.runtime.SafeInteger;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.builtins.JSError;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.LRUCache;
 
 import java.util.Set;
 
@@ -159,12 +162,19 @@ public abstract class EvalNode extends JavaScriptNode {
         private final JSContext context;
         private final Object currEnv;
         @Child private JavaScriptNode thisNode;
+        /**
+         * Scripts already parsed at this call site. The lexical environment and strictness are
+         * fixed per call site, so a script only depends on its source.
+         */
+        private final LRUCache<Source, ScriptNode> parseCache;
 
         protected DirectEvalNode(JSContext context, JavaScriptNode thisNode, Object currEnv) {
             assert currEnv != null;
             this.context = context;
             this.currEnv = currEnv;
             this.thisNode = thisNode;
+            int cacheSize = context.getContextOptions().getEvalCacheSize();
+            this.parseCache = cacheSize > 0 ? new LRUCache<>(cacheSize) : null;
         }
 
         protected static DirectEvalNode create(JSContext context, JavaScriptNode thisNode, Object currEnv) {
@@ -220,7 +230,25 @@ public abstract class EvalNode extends JavaScriptNode {
 
         private Object directEvalImpl(VirtualFrame frame, CharSequence sourceCode) {
             final Source source = sourceFromString(sourceCode);
-            return context.getEvaluator().evaluate(context.getRealm(), getParent(), source, frame.materialize(), thisNode.execute(frame), currEnv);
+            if (parseCache == null) {
+                return context.getEvaluator().evaluate(context.getRealm(), getParent(), source, frame.materialize(), thisNode.execute(frame), currEnv);
+            }
+            return evalCached(source, frame.materialize(), thisNode.execute(frame));
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object evalCached(Source source, MaterializedFrame frame, Object thisObj) {
+            ScriptNode script;
+            synchronized (parseCache) {
+                script = parseCache.get(source);
+            }
+            if (script == null) {
+                script = context.getEvaluator().parseDirectEval(context, getParent(), source, currEnv);
+                synchronized (parseCache) {
+                    parseCache.put(source, script);
+                }
+            }
+            return script.runInFrame(context.getRealm(), thisObj, frame);
         }
 
         @Specialization(guards = {"isForeignObject(sourceCode)"}, limit = "3")
@@ -108,6 +108,7 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
+import com.oracle.truffle.js.runtime.util.FeedbackReport;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
 public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaScriptFunctionCallNode {
@@ -285,6 +286,7 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
                     }
                 }
                 assert c.getParent() != null;
+                recordFeedback(function, c);
             }
         } finally {
             lock.unlock();
@@ -296,6 +298,20 @@ public abstract class JSFunctionCallNode extends JavaScriptNode implements JavaS
         }
     }
 
+    private void recordFeedback(Object function, AbstractCacheNode newNode) {
+        FeedbackReport feedbackReport = JavaScriptLanguage.getCurrentJSRealm().getContext().getFeedbackReport();
+        if (feedbackReport != null) {
+            int entryCount = 0;
+            boolean generic = false;
+            for (AbstractCacheNode c = cacheNode; c != null; c = c.nextNode) {
+                entryCount++;
+                generic = generic || isGeneric(c);
+            }
+            Object name = JSFunction.isJSFunction(function) ? JSFunction.getName((DynamicObject) function) : null;
+            feedbackReport.recordTransition(this, getClass().getSimpleName(), name, entryCount, generic, "added " + newNode.getClass().getSimpleName());
+        }
+    }
+
     private static boolean isCached(AbstractCacheNode c) {
         return c instanceof JSFunctionCacheNode;
     }
@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.nodes.function;
 
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.ReportPolymorphism;
@@ -64,6 +65,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.ObjectAllocationSite;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 public abstract class SpecializedNewObjectNode extends JavaScriptBaseNode {
@@ -108,9 +110,15 @@ public abstract class SpecializedNewObjectNode extends JavaScriptBaseNode {
 
     @Specialization(guards = {"!isBuiltin", "isConstructor", "!context.isMultiContext()", "isJSObject(cachedPrototype)", "prototype == cachedPrototype"}, limit = "context.getPropertyCacheLimit()")
     public DynamicObject doCachedProto(@SuppressWarnings("unused") DynamicObject target, @SuppressWarnings("unused") Object prototype,
-                    @Cached("prototype") @SuppressWarnings("unused") Object cachedPrototype,
-                    @Cached("getProtoChildShape(prototype)") Shape shape) {
-        return JSOrdinary.create(context, shape);
+                    @Cached("prototype") Object cachedPrototype,
+                    @Cached("getProtoChildShape(prototype)") Shape shape,
+                    @Cached("create()") ObjectAllocationSite allocationSite) {
+        DynamicObject object = JSOrdinary.create(context, allocationSite.getShape(shape, (DynamicObject) cachedPrototype));
+        if (allocationSite.isTracking()) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            allocationSite.track(object, (DynamicObject) cachedPrototype, context);
+        }
+        return object;
     }
 
     /** Many different prototypes. */
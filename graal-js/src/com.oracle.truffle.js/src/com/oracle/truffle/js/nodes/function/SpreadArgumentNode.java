@@ -40,30 +40,50 @@
  */
 package com.oracle.truffle.js.nodes.function;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.access.GetIteratorNode;
 import com.oracle.truffle.js.nodes.access.IteratorGetNextValueNode;
 import com.oracle.truffle.js.nodes.access.JSConstantNode;
+import com.oracle.truffle.js.nodes.cast.JSToObjectArrayNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.objects.IteratorRecord;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.util.JSClassProfile;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
 import java.util.Set;
 
 public final class SpreadArgumentNode extends JavaScriptNode {
+    @Child private JavaScriptNode argNode;
     @Child private GetIteratorNode getIteratorNode;
     @Child private IteratorGetNextValueNode iteratorStepNode;
+    @Child private DynamicObjectLibrary arrayLibrary;
+    @Child private DynamicObjectLibrary prototypeLibrary;
+    @Child private JSToObjectArrayNode toObjectArrayNode;
+    private final ConditionProfile fastArrayProfile = ConditionProfile.createBinaryProfile();
+    private final JSClassProfile classProfile = JSClassProfile.create();
     private final BranchProfile errorBranch = BranchProfile.create();
     private final BranchProfile listGrowProfile = BranchProfile.create();
     private final JSContext context;
 
     private SpreadArgumentNode(JSContext context, JavaScriptNode arg) {
         this.context = context;
-        this.getIteratorNode = GetIteratorNode.create(context, arg);
+        this.argNode = arg;
+        this.getIteratorNode = GetIteratorNode.create(context);
         this.iteratorStepNode = IteratorGetNextValueNode.create(context, null, JSConstantNode.create(null), false);
     }
 
@@ -84,7 +104,12 @@ public final class SpreadArgumentNode extends JavaScriptNode {
     }
 
     public void executeToList(VirtualFrame frame, SimpleArrayList<Object> argList, BranchProfile growProfile) {
-        IteratorRecord iteratorRecord = getIteratorNode.execute(frame);
+        Object iteratedObject = argNode.execute(frame);
+        if (fastArrayProfile.profile(isUnmodifiedArrayIteration(iteratedObject))) {
+            spreadArray((DynamicObject) iteratedObject, argList, growProfile);
+            return;
+        }
+        IteratorRecord iteratorRecord = getIteratorNode.execute(iteratedObject);
         for (;;) {
             Object nextArg = iteratorStepNode.execute(frame, iteratorRecord);
             if (nextArg == null) {
@@ -98,11 +123,48 @@ public final class SpreadArgumentNode extends JavaScriptNode {
         }
     }
 
+    /**
+     * Spreading a fast array whose iteration behavior has not been modified is equivalent to
+     * reading its elements in order, so the iterator objects can be skipped entirely. None of the
+     * checks may have observable side effects, therefore properties are only inspected, not read.
+     */
+    private boolean isUnmodifiedArrayIteration(Object value) {
+        if (!JSArray.isJSFastArray(value) || !context.getArrayPrototypeNoElementsAssumption().isValid()) {
+            return false;
+        }
+        DynamicObject array = (DynamicObject) value;
+        JSRealm realm = context.getRealm();
+        DynamicObject arrayPrototype = realm.getArrayPrototype();
+        if (JSObject.getPrototype(array, classProfile) != arrayPrototype) {
+            return false;
+        }
+        if (arrayLibrary == null || prototypeLibrary == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            arrayLibrary = insert(JSObjectUtil.createDispatched(Symbol.SYMBOL_ITERATOR));
+            prototypeLibrary = insert(JSObjectUtil.createDispatched(Symbol.SYMBOL_ITERATOR));
+        }
+        return !arrayLibrary.containsKey(array, Symbol.SYMBOL_ITERATOR) &&
+                        prototypeLibrary.getOrDefault(arrayPrototype, Symbol.SYMBOL_ITERATOR, null) == realm.getArrayProtoValuesIterator() &&
+                        prototypeLibrary.getOrDefault(realm.getArrayIteratorPrototype(), JSRuntime.NEXT, null) == realm.getArrayIteratorPrototypeNext();
+    }
+
+    private void spreadArray(DynamicObject array, SimpleArrayList<Object> argList, BranchProfile growProfile) {
+        if (toObjectArrayNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            toObjectArrayNode = insert(JSToObjectArrayNode.create(context));
+        }
+        if (argList.size() + JSAbstractArray.arrayGetLength(array) > context.getFunctionArgumentsLimit()) {
+            errorBranch.enter();
+            throw Errors.createRangeError("spreaded function argument count exceeds limit");
+        }
+        Object[] elements = toObjectArrayNode.executeObjectArray(array);
+        for (Object element : elements) {
+            argList.add(element, growProfile);
+        }
+    }
+
     @Override
     protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
-        SpreadArgumentNode copy = (SpreadArgumentNode) copy();
-        copy.getIteratorNode = cloneUninitialized(getIteratorNode, materializedTags);
-        copy.iteratorStepNode = cloneUninitialized(iteratorStepNode, materializedTags);
-        return copy;
+        return create(context, cloneUninitialized(argNode, materializedTags));
     }
 }
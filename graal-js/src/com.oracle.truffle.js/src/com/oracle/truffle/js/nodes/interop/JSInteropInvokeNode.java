@@ -45,6 +45,7 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.CachedLanguage;
 import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
@@ -55,10 +56,12 @@ import com.oracle.truffle.js.nodes.access.ReadElementNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 
 @GenerateUncached
+@ImportStatic(JSConfig.class)
 public abstract class JSInteropInvokeNode extends JSInteropCallNode {
     JSInteropInvokeNode() {
     }
@@ -69,13 +72,18 @@ public abstract class JSInteropInvokeNode extends JSInteropCallNode {
 
     public abstract Object execute(DynamicObject receiver, String name, Object[] arguments) throws UnknownIdentifierException, UnsupportedMessageException;
 
-    @Specialization(guards = {"cachedName.equals(name)"}, limit = "1")
+    /**
+     * Each cached member name gets its own property lookup and call node, so that a method invoked
+     * repeatedly through interop (e.g. via a Java interface proxy) has a monomorphic call site that
+     * can be inlined.
+     */
+    @Specialization(guards = {"cachedName.equals(name)"}, limit = "PropertyCacheLimit")
     Object doCached(DynamicObject receiver, @SuppressWarnings("unused") String name, Object[] arguments,
                     @Cached("name") String cachedName,
                     @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
                     @Cached("createGetProperty(cachedName, languageRef)") PropertyGetNode functionPropertyGetNode,
                     @Shared("isCallable") @Cached IsCallableNode isCallableNode,
-                    @Shared("call") @Cached(value = "createCall()", uncached = "getUncachedCall()") JSFunctionCallNode callNode,
+                    @Cached("createCall()") JSFunctionCallNode callNode,
                     @Shared("importValue") @Cached ImportValueNode importValueNode) throws UnknownIdentifierException, UnsupportedMessageException {
         Object function = functionPropertyGetNode.getValueOrDefault(receiver, null);
         if (function == null) {
@@ -93,7 +101,7 @@ public abstract class JSInteropInvokeNode extends JSInteropCallNode {
                     @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
                     @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedRead()") ReadElementNode readNode,
                     @Shared("isCallable") @Cached IsCallableNode isCallableNode,
-                    @Shared("call") @Cached(value = "createCall()", uncached = "getUncachedCall()") JSFunctionCallNode callNode,
+                    @Cached(value = "createCall()", uncached = "getUncachedCall()") JSFunctionCallNode callNode,
                     @Shared("importValue") @Cached ImportValueNode importValueNode) throws UnknownIdentifierException, UnsupportedMessageException {
         Object function;
         if (readNode == null) {
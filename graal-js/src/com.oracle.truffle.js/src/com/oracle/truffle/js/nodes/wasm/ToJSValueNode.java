@@ -58,6 +58,16 @@ public abstract class ToJSValueNode extends JavaScriptBaseNode {
     public abstract Object execute(Object value);
 
     @Specialization
+    protected static int convertInt(int value) {
+        return value;
+    }
+
+    @Specialization
+    protected static double convertFloat(float value) {
+        return value;
+    }
+
+    @Specialization(replaces = {"convertInt", "convertFloat"})
     public Object convert(Object value) {
         if (value instanceof Float) {
             return ((Float) value).doubleValue();
@@ -65,7 +65,34 @@ public abstract class ToWebAssemblyValueNode extends JavaScriptBaseNode {
 
     public abstract Object execute(Object value, String type);
 
-    @Specialization
+    protected static boolean isI32(String type) {
+        return "i32".equals(type);
+    }
+
+    protected static boolean isF32(String type) {
+        return "f32".equals(type);
+    }
+
+    protected static boolean isF64(String type) {
+        return "f64".equals(type);
+    }
+
+    @Specialization(guards = "isI32(type)")
+    protected static int convertInt(int value, @SuppressWarnings("unused") String type) {
+        return value;
+    }
+
+    @Specialization(guards = "isF64(type)")
+    protected static double convertDouble(double value, @SuppressWarnings("unused") String type) {
+        return value;
+    }
+
+    @Specialization(guards = "isF32(type)")
+    protected static float convertFloat(double value, @SuppressWarnings("unused") String type) {
+        return (float) value;
+    }
+
+    @Specialization(replaces = {"convertInt", "convertDouble", "convertFloat"})
     protected Object convert(Object value, String type) {
         assert !"i64".equals(type);
         if ("i32".equals(type)) {
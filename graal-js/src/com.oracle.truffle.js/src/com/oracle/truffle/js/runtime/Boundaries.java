@@ -383,11 +383,6 @@ public final class Boundaries {
         return economicSet.contains(element);
     }
 
-    @TruffleBoundary(allowInlining = true)
-    public static byte[] byteBufferArray(ByteBuffer buffer) {
-        return buffer.array();
-    }
-
     @TruffleBoundary(allowInlining = true)
     public static void byteBufferPutSlice(ByteBuffer dst, int dstPos, ByteBuffer src, int srcPos, int srcLimit) {
         ByteBuffer slice = byteBufferSlice(src, srcPos, srcLimit);
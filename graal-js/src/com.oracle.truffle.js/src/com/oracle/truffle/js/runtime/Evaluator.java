@@ -74,6 +74,22 @@ public interface Evaluator {
      */
     Object evaluate(JSRealm realm, Node lastNode, Source source, MaterializedFrame frame, Object thisObj, Object currEnv);
 
+    /**
+     * Parses the source of an indirect call to eval. The returned script does not depend on the
+     * realm and can be run repeatedly using {@link ScriptNode#runInFrame}.
+     *
+     * @param lastNode the node invoking the eval or {@code null}
+     */
+    ScriptNode parseEval(JSContext context, Node lastNode, Source source);
+
+    /**
+     * Parses the source of a direct call to eval in the lexical environment of the call site. The
+     * returned script can be reused for subsequent evaluations from the same call site.
+     *
+     * @param lastNode the node invoking the eval or {@code null}
+     */
+    ScriptNode parseDirectEval(JSContext context, Node lastNode, Source source, Object currEnv);
+
     Integer[] parseDate(JSRealm realm, String date);
 
     String parseToJSON(JSContext context, String code, String name, boolean includeLoc);
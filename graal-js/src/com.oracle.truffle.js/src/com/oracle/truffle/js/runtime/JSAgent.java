@@ -42,9 +42,12 @@ package com.oracle.truffle.js.runtime;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.graalvm.collections.EconomicSet;
 import org.graalvm.collections.Equivalence;
@@ -52,6 +55,7 @@ import org.graalvm.collections.Equivalence;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistry;
 import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistryObject;
@@ -95,6 +99,20 @@ public abstract class JSAgent implements EcmaAgent {
 
     private final Deque<WeakReference<JSFinalizationRegistryObject>> finalizationRegistryQueue;
 
+    /**
+     * Pending Atomics.waitAsync waiters of this agent, settled at job checkpoints. At the end of a
+     * task, an agent that can block waits until they have been notified or have timed out, like an
+     * event loop that is kept alive by them. An agent that cannot block (e.g. the main agent)
+     * settles them at its next job checkpoint, i.e. the next time it is entered.
+     */
+    private List<WaiterRecord> asyncWaiters;
+
+    /**
+     * Incremented whenever WebAssembly code may have run, so that WebAssembly.Memory objects only
+     * need to check whether their memory has been grown after WebAssembly code has been executed.
+     */
+    private int webAssemblyExecutionCount;
+
     public JSAgent(boolean canBlock) {
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
@@ -155,7 +173,7 @@ public abstract class JSAgent implements EcmaAgent {
     public final void processAllPromises(boolean processWeakRefs) {
         try {
             interopBoundaryEnter();
-            while (!promiseJobsQueue.isEmpty()) {
+            while (!promiseJobsQueue.isEmpty() || settleAsyncWaiters() || (processWeakRefs && awaitAsyncWaiters())) {
                 DynamicObject nextJob = promiseJobsQueue.pollLast();
                 if (JSFunction.isJSFunction(nextJob)) {
                     JSRealm functionRealm = JSFunction.getRealm(nextJob);
@@ -181,6 +199,95 @@ public abstract class JSAgent implements EcmaAgent {
         }
     }
 
+    @TruffleBoundary
+    public final void addAsyncWaiter(WaiterRecord waiter) {
+        assert waiter.getAgent() == this && waiter.getPromiseCapability() != null;
+        if (asyncWaiters == null) {
+            asyncWaiters = new ArrayList<>(4);
+        }
+        asyncWaiters.add(waiter);
+    }
+
+    public final boolean hasPendingAsyncWaiters() {
+        return asyncWaiters != null && !asyncWaiters.isEmpty();
+    }
+
+    /**
+     * Resolves the promises of async waiters that have been notified or have timed out.
+     *
+     * @return whether any promise was resolved
+     */
+    private boolean settleAsyncWaiters() {
+        if (!hasPendingAsyncWaiters()) {
+            return false;
+        }
+        boolean settled = false;
+        long now = System.nanoTime();
+        for (Iterator<WaiterRecord> iter = asyncWaiters.iterator(); iter.hasNext();) {
+            WaiterRecord waiter = iter.next();
+            String result = null;
+            if (waiter.isNotified()) {
+                result = "ok";
+            } else if (waiter.isTimedOut(now)) {
+                JSAgentWaiterListEntry list = waiter.getList();
+                criticalSectionEnter(list);
+                try {
+                    result = list.removeWaiter(waiter) ? "timed-out" : "ok";
+                } finally {
+                    criticalSectionLeave(list);
+                }
+            }
+            if (result != null) {
+                iter.remove();
+                DynamicObject resolve = (DynamicObject) waiter.getPromiseCapability().getResolve();
+                JSRealm functionRealm = JSFunction.getRealm(resolve);
+                Object prev = functionRealm.getTruffleContext().enter(null);
+                try {
+                    JSFunction.call(resolve, Undefined.instance, new Object[]{result});
+                } finally {
+                    functionRealm.getTruffleContext().leave(null, prev);
+                }
+                settled = true;
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Blocks until one of the pending async waiters has been notified or has timed out, or until the
+     * thread is interrupted. Notifying agents unpark the thread of the waiting agent.
+     *
+     * @return {@code true} if there may be async waiters to settle
+     */
+    private boolean awaitAsyncWaiters() {
+        if (!canBlock || !hasPendingAsyncWaiters()) {
+            return false;
+        }
+        long deadline = asyncWaiters.get(0).getDeadline();
+        for (WaiterRecord waiter : asyncWaiters) {
+            if (waiter.getDeadline() - deadline < 0) {
+                deadline = waiter.getDeadline();
+            }
+        }
+        while (true) {
+            for (WaiterRecord waiter : asyncWaiters) {
+                if (waiter.isNotified()) {
+                    return true;
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return true;
+            }
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                // leave the waiters pending and preserve the interrupt status
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
     /**
      * Cleanup the finalizationRegistries that are unreferenced; cleanup referenced ones according
      * to 4.1.3 Execution and 4.1.4.1 HostCleanupFinalizatioRegistry.
@@ -205,6 +312,14 @@ public abstract class JSAgent implements EcmaAgent {
         return --interopCallStackDepth == 0;
     }
 
+    public final int getWebAssemblyExecutionCount() {
+        return webAssemblyExecutionCount;
+    }
+
+    public final void webAssemblyExecuted() {
+        webAssemblyExecutionCount++;
+    }
+
     @TruffleBoundary
     public boolean addWeakRefTargetToSet(Object target) {
         if (weakRefTargets == null) {
@@ -40,35 +40,55 @@
  */
 package com.oracle.truffle.js.runtime;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
 /**
  * Java-based implementation of ECMA2017 WaiterList (24.4.1.2).
+ *
+ * Each index has its own queue of waiters. Indices are hashed to a fixed number of stripes, and the
+ * lock of the stripe is the critical section of the waiter lists of its indices, so waiting on and
+ * notifying different indices rarely contend. A stripe only holds the queues of indices that
+ * currently have waiters; a queue is dropped when its last waiter is removed. Blocked agents park
+ * their thread and are unparked directly by the notifying agent.
  */
 public class JSAgentWaiterList {
 
-    private final Map<Integer, JSAgentWaiterListEntry> waiters;
+    private static final int STRIPES = 16;
+
+    private static final DebugCounter contendedLockCount = DebugCounter.create("WaiterList contended critical sections");
+    private static final DebugCounter waitCount = DebugCounter.create("WaiterList waiters added");
+    private static final DebugCounter notifyCount = DebugCounter.create("WaiterList waiters notified");
+    private static final DebugCounter timeoutCount = DebugCounter.create("WaiterList waiters timed out");
+
+    private final Stripe[] stripes;
 
     private final Lock globalMonitor;
 
     @TruffleBoundary
     public JSAgentWaiterList() {
-        this.waiters = new ConcurrentHashMap<>();
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
         this.globalMonitor = new ReentrantLock();
     }
 
     public JSAgentWaiterListEntry getListForIndex(int indexPos) {
-        JSAgentWaiterListEntry list = Boundaries.mapPutIfAbsent(waiters, indexPos, new JSAgentWaiterListEntry());
-        if (list == null) {
-            return Boundaries.mapGet(waiters, indexPos);
-        } else {
-            return list;
-        }
+        return new JSAgentWaiterListEntry(stripes[stripeIndex(indexPos)], indexPos);
+    }
+
+    private static int stripeIndex(int indexPos) {
+        int h = indexPos * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
     }
 
     public void lock() {
@@ -79,26 +99,174 @@ public class JSAgentWaiterList {
         globalMonitor.unlock();
     }
 
-    public static final class JSAgentWaiterListEntry extends ConcurrentLinkedQueue<Integer> {
+    /**
+     * A lock and the waiter queues of the indices hashed to it. The queues are only accessed while
+     * holding the lock.
+     */
+    private static final class Stripe {
+        final Lock lock = new ReentrantLock();
+        final Map<Integer, ArrayDeque<WaiterRecord>> queues = new HashMap<>();
+    }
+
+    /**
+     * A waiting agent, either blocked in Atomics.wait or with a pending Atomics.waitAsync promise.
+     */
+    public static final class WaiterRecord {
+        private final JSAgent agent;
+        private final Thread thread;
+        private final PromiseCapabilityRecord promiseCapability;
+        private final long deadline;
+        private final JSAgentWaiterListEntry list;
+        private volatile boolean notified;
 
-        private static final long serialVersionUID = 2655886588267252886L;
+        private WaiterRecord(JSAgent agent, Thread thread, PromiseCapabilityRecord promiseCapability, long deadline, JSAgentWaiterListEntry list) {
+            this.agent = agent;
+            this.thread = thread;
+            this.promiseCapability = promiseCapability;
+            this.deadline = deadline;
+            this.list = list;
+        }
+
+        public JSAgent getAgent() {
+            return agent;
+        }
 
-        private final Lock indexMonitor;
+        public PromiseCapabilityRecord getPromiseCapability() {
+            return promiseCapability;
+        }
+
+        public JSAgentWaiterListEntry getList() {
+            return list;
+        }
+
+        long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isNotified() {
+            return notified;
+        }
+
+        /**
+         * Whether the timeout has elapsed, based on {@link System#nanoTime()}.
+         */
+        public boolean isTimedOut(long now) {
+            return now - deadline >= 0;
+        }
 
+        /**
+         * Wakes the thread of the waiting agent; must be called after the waiter has been removed
+         * from the waiter list. The thread of an async waiter is woken in case its agent is
+         * blocked waiting for pending async waiters at the end of a job checkpoint.
+         */
         @TruffleBoundary
-        public JSAgentWaiterListEntry() {
-            super();
-            this.indexMonitor = new ReentrantLock();
+        public void wake() {
+            assert notified;
+            LockSupport.unpark(thread);
         }
+    }
+
+    /**
+     * The waiter list of one index. It is a view on the waiter queue of the index in its stripe;
+     * all methods except {@link #lock()} must be called in the critical section.
+     */
+    public static final class JSAgentWaiterListEntry {
 
+        private final Stripe stripe;
+        private final int index;
+
+        JSAgentWaiterListEntry(Stripe stripe, int index) {
+            this.stripe = stripe;
+            this.index = index;
+        }
+
+        @TruffleBoundary
         public void lock() {
-            indexMonitor.lock();
+            if (!stripe.lock.tryLock()) {
+                contendedLockCount.inc();
+                stripe.lock.lock();
+            }
         }
 
+        @TruffleBoundary
         public void unlock() {
-            indexMonitor.unlock();
+            stripe.lock.unlock();
         }
 
-    }
+        private ArrayDeque<WaiterRecord> getQueue() {
+            return stripe.queues.get(index);
+        }
+
+        private void removeQueueIfEmpty(ArrayDeque<WaiterRecord> queue) {
+            if (queue.isEmpty()) {
+                stripe.queues.remove(index);
+            }
+        }
+
+        /**
+         * Appends a new waiter to the list; must be called in the critical section.
+         *
+         * @param timeout timeout in milliseconds
+         * @param promiseCapability the promise to resolve for an async waiter, or {@code null}
+         */
+        @TruffleBoundary
+        public WaiterRecord addWaiter(JSAgent agent, long timeout, PromiseCapabilityRecord promiseCapability) {
+            WaiterRecord waiter = new WaiterRecord(agent, Thread.currentThread(), promiseCapability, System.nanoTime() + timeout * 1_000_000L, this);
+            stripe.queues.computeIfAbsent(index, k -> new ArrayDeque<>(4)).add(waiter);
+            waitCount.inc();
+            return waiter;
+        }
+
+        /**
+         * Removes a waiter that has timed out; must be called in the critical section.
+         *
+         * @return {@code false} if the waiter has already been notified
+         */
+        @TruffleBoundary
+        public boolean removeWaiter(WaiterRecord waiter) {
+            if (waiter.notified) {
+                return false;
+            }
+            ArrayDeque<WaiterRecord> queue = getQueue();
+            boolean removed = queue.remove(waiter);
+            assert removed;
+            removeQueueIfEmpty(queue);
+            timeoutCount.inc();
+            return true;
+        }
+
+        /**
+         * Removes and marks up to {@code count} waiters as notified, in FIFO order; must be called
+         * in the critical section. The returned waiters are to be woken after leaving it.
+         */
+        @TruffleBoundary
+        public WaiterRecord[] removeWaiters(int count) {
+            ArrayDeque<WaiterRecord> queue = getQueue();
+            if (queue == null) {
+                return new WaiterRecord[0];
+            }
+            int c = Math.min(queue.size(), count);
+            WaiterRecord[] removed = new WaiterRecord[c];
+            for (int i = 0; i < c; i++) {
+                WaiterRecord waiter = queue.poll();
+                waiter.notified = true;
+                removed[i] = waiter;
+                notifyCount.inc();
+            }
+            removeQueueIfEmpty(queue);
+            return removed;
+        }
 
+        @TruffleBoundary
+        public boolean contains(WaiterRecord waiter) {
+            ArrayDeque<WaiterRecord> queue = getQueue();
+            return queue != null && queue.contains(waiter);
+        }
+
+        @TruffleBoundary
+        public int size() {
+            ArrayDeque<WaiterRecord> queue = getQueue();
+            return queue == null ? 0 : queue.size();
+        }
+    }
 }
@@ -83,6 +83,8 @@ public final class JSConfig {
     /** Default cache limit for dispatched InteropLibrary. */
     public static final int InteropLibraryLimit = 5;
     public static final int PropertyCacheLimit = 5;
+    /** Number of entries of the per-context cache used by megamorphic property accesses. */
+    public static final int MegamorphicPropertyCacheSize = 1024;
     public static final int FunctionCacheLimit = 4;
     public static final boolean AssertFinalPropertySpecialization = false;
     /** Try to cache by function object instead of call target. */
@@ -45,6 +45,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -65,8 +68,10 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
 import com.oracle.truffle.js.runtime.builtins.Builtin;
@@ -126,12 +131,15 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSPrototypeData;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.JSShapeData;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.FeedbackReport;
+import com.oracle.truffle.js.runtime.util.ShapeStatistics;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
@@ -182,6 +190,8 @@ public class JSContext {
     private final Object nodeFactory;
 
     private final TimeProfiler timeProfiler;
+    private final FeedbackReport feedbackReport;
+    private final ShapeStatistics shapeStatistics;
 
     private final JSObjectFactory.BoundProto moduleNamespaceFactory;
 
@@ -289,6 +299,7 @@ public class JSContext {
         SharedArrayBufferGetByteLength,
         FunctionAsyncIterator,
         IsGraalRuntime,
+        GraalShapeStatistics,
         AsyncModuleExecutionFulfilled,
         AsyncModuleExecutionRejected,
         TopLevelAwaitResolve,
@@ -312,6 +323,21 @@ public class JSContext {
 
     private Map<Shape, JSShapeData> shapeDataMap;
 
+    /** Lookup cache of megamorphic property accesses, or {@code null} if disabled. */
+    private final MegamorphicPropertyCache megamorphicPropertyCache;
+
+    /**
+     * Parsed {@link JSContextOptions#INIT_SCRIPTS init scripts} by absolute path, shared by all
+     * realms. Holds one entry per script file named by the option.
+     */
+    private final Map<String, ScriptNode> initScriptCache = new ConcurrentHashMap<>();
+
+    /** Worker threads for {@link JSContextOptions#BACKGROUND_TRANSLATION_THREADS}. */
+    private ThreadPoolExecutor backgroundTranslationExecutor;
+    /** Number of realms that have not been disposed yet. */
+    private int liveRealmCount;
+    private final Object backgroundTranslationLock = new Object();
+
     final Assumption noChildRealmsAssumption;
     private final Assumption singleRealmAssumption;
     private final boolean isMultiContext;
@@ -465,6 +491,8 @@ public class JSContext {
         this.builtinFunctionData = new JSFunctionData[BuiltinFunctionKey.values().length];
 
         this.timeProfiler = contextOptions.isProfileTime() ? new TimeProfiler() : null;
+        this.feedbackReport = contextOptions.getFeedbackReport().isEmpty() ? null : new FeedbackReport();
+        this.shapeStatistics = contextOptions.getShapeStatistics().isEmpty() ? null : new ShapeStatistics();
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
         this.noChildRealmsAssumption = Truffle.getRuntime().createAssumption("no child realms");
@@ -476,6 +504,9 @@ public class JSContext {
 
         this.isMultiContext = lang.isMultiContext();
 
+        int megamorphicCacheSize = contextOptions.getMegamorphicPropertyCacheSize();
+        this.megamorphicPropertyCache = megamorphicCacheSize > 0 && !isOptionNashornCompatibilityMode() ? new MegamorphicPropertyCache(megamorphicCacheSize) : null;
+
         // shapes and factories
         PrototypeSupplier objectPrototypeSupplier = JSOrdinary.INSTANCE;
         CompilableBiFunction<JSContext, DynamicObject, Shape> ordinaryObjectShapeSupplier = JSOrdinary.SHAPE_SUPPLIER;
@@ -656,6 +687,7 @@ public class JSContext {
         }
 
         realmInit.set(REALM_INITIALIZED);
+        realmCreated();
         return newRealm;
     }
 
@@ -732,6 +764,15 @@ public class JSContext {
         return getJSAgent().addWeakRefTargetToSet(target);
     }
 
+    /**
+     * Registers a pending Atomics.waitAsync waiter of the current agent, to be settled at its job
+     * checkpoints.
+     */
+    public void addAsyncWaiter(WaiterRecord waiter) {
+        invalidatePromiseQueueNotUsedAssumption();
+        getJSAgent().addAsyncWaiter(waiter);
+    }
+
     public void registerFinalizationRegistry(JSFinalizationRegistryObject finalizationRegistry) {
         invalidatePromiseQueueNotUsedAssumption();
         getJSAgent().registerFinalizationRegistry(finalizationRegistry);
@@ -741,6 +782,20 @@ public class JSContext {
         return timeProfiler;
     }
 
+    /**
+     * Returns the inline cache feedback recorder, or {@code null} if not enabled.
+     */
+    public FeedbackReport getFeedbackReport() {
+        return feedbackReport;
+    }
+
+    /**
+     * Returns the per-shape statistics recorder, or {@code null} if not enabled.
+     */
+    public ShapeStatistics getShapeStatistics() {
+        return shapeStatistics;
+    }
+
     /**
      * Get the current Realm using {@link ContextReference}.
      */
@@ -1052,6 +1107,93 @@ public class JSContext {
         return map;
     }
 
+    public MegamorphicPropertyCache getMegamorphicPropertyCache() {
+        return megamorphicPropertyCache;
+    }
+
+    /**
+     * Returns the parsed init script with the given absolute path, loading and parsing it on first
+     * use.
+     */
+    @TruffleBoundary
+    public ScriptNode getInitScript(String path, Function<String, ScriptNode> loader) {
+        return initScriptCache.computeIfAbsent(path, loader);
+    }
+
+    /**
+     * Translates the body of a lazily translated function on a background thread, so that its first
+     * call only has to pick up the result. Translation is serialized with on-demand translation by
+     * {@link JSFunctionData}. If background translation fails, the function is translated again on
+     * its first call, which reports the error.
+     *
+     * The worker threads never enter the (single-threaded) polyglot context, so they cannot be
+     * created with {@link TruffleLanguage.Env#createThread}. They are only started if the embedder
+     * {@linkplain TruffleLanguage.Env#isCreateThreadAllowed() allows thread creation} and are shut
+     * down when the last realm of this context is disposed.
+     */
+    @TruffleBoundary
+    public void scheduleBackgroundTranslation(JSFunctionData functionData) {
+        assert functionData.hasLazyInit();
+        if (!truffleLanguageEnv.isCreateThreadAllowed()) {
+            return;
+        }
+        synchronized (backgroundTranslationLock) {
+            if (liveRealmCount == 0) {
+                return;
+            }
+            getBackgroundTranslationExecutor().execute(() -> {
+                try {
+                    functionData.materialize();
+                } catch (Exception | StackOverflowError e) {
+                    // ignore, retried on first call
+                }
+            });
+        }
+    }
+
+    private ThreadPoolExecutor getBackgroundTranslationExecutor() {
+        assert Thread.holdsLock(backgroundTranslationLock);
+        ThreadPoolExecutor executor = backgroundTranslationExecutor;
+        if (executor == null) {
+            int threads = contextOptions.getBackgroundTranslationThreads();
+            executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "graaljs-background-translation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            backgroundTranslationExecutor = executor;
+        }
+        return executor;
+    }
+
+    private void realmCreated() {
+        synchronized (backgroundTranslationLock) {
+            liveRealmCount++;
+        }
+    }
+
+    /**
+     * Called when a realm of this context is disposed. Once no realm is left, pending background
+     * translations are dropped and the worker threads are stopped.
+     *
+     * @return whether this was the last realm of this context
+     */
+    @TruffleBoundary
+    public boolean realmDisposed() {
+        synchronized (backgroundTranslationLock) {
+            assert liveRealmCount > 0;
+            if (--liveRealmCount > 0) {
+                return false;
+            }
+            if (backgroundTranslationExecutor != null) {
+                backgroundTranslationExecutor.shutdownNow();
+                backgroundTranslationExecutor = null;
+            }
+            return true;
+        }
+    }
+
     public JavaScriptLanguage getLanguage() {
         return language;
     }
@@ -1225,6 +1367,9 @@ public class JSContext {
             reporter.onEnter(null, 0, AllocationReporter.SIZE_UNKNOWN);
             reporter.onReturnValue(object, 0, AllocationReporter.SIZE_UNKNOWN);
         }
+        if (shapeStatistics != null && object instanceof DynamicObject) {
+            shapeStatistics.recordAllocation((DynamicObject) object);
+        }
         return object;
     }
 
@@ -311,6 +311,11 @@ public final class JSContextOptions {
     @Option(name = COMMONJS_REQUIRE_GLOBAL_PROPERTIES_NAME, category = OptionCategory.USER, help = "Npm package used to populate Node.js global object.") //
     public static final OptionKey<String> COMMONJS_REQUIRE_GLOBAL_PROPERTIES = new OptionKey<>("");
 
+    public static final String INIT_SCRIPTS_NAME = JS_OPTION_PREFIX + "init-scripts";
+    @Option(name = INIT_SCRIPTS_NAME, category = OptionCategory.EXPERT, help = "Comma-separated list of script files that are evaluated in every new context. " +
+                    "The scripts are read and parsed only once per engine.") //
+    public static final OptionKey<String> INIT_SCRIPTS = new OptionKey<>("");
+
     public static final String GRAAL_BUILTIN_NAME = JS_OPTION_PREFIX + "graal-builtin";
     @Option(name = GRAAL_BUILTIN_NAME, category = OptionCategory.USER, help = "Provide 'Graal' global property.") //
     public static final OptionKey<Boolean> GRAAL_BUILTIN = new OptionKey<>(true);
@@ -409,6 +414,11 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> FUNCTION_CONSTRUCTOR_CACHE_SIZE = new OptionKey<>(32);
     @CompilationFinal private int functionConstructorCacheSize;
 
+    public static final String EVAL_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "eval-cache-size";
+    @Option(name = EVAL_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum size of the per call site parsing cache used by eval to avoid re-parsing known sources (0 to disable).") //
+    public static final OptionKey<Integer> EVAL_CACHE_SIZE = new OptionKey<>(32);
+    @CompilationFinal private int evalCacheSize;
+
     public static final String STRING_LENGTH_LIMIT_NAME = JS_OPTION_PREFIX + "string-length-limit";
     @Option(name = STRING_LENGTH_LIMIT_NAME, category = OptionCategory.EXPERT, help = "Maximum string length.") //
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
@@ -441,6 +451,35 @@ public final class JSContextOptions {
     @Option(name = PROFILE_TIME_PRINT_CUMULATIVE_NAME, category = OptionCategory.INTERNAL, help = "Print cumulative time when time profiling is enabled.") //
     public static final OptionKey<Boolean> PROFILE_TIME_PRINT_CUMULATIVE = new OptionKey<>(false);
 
+    public static final String FEEDBACK_REPORT_NAME = JS_OPTION_PREFIX + "feedback-report";
+    @Option(name = FEEDBACK_REPORT_NAME, category = OptionCategory.INTERNAL, help = "Print a report of polymorphic and megamorphic inline cache sites on exit ('text' or 'json').") //
+    public static final OptionKey<String> FEEDBACK_REPORT = new OptionKey<>("", new OptionType<>("feedback-report", new Function<String, String>() {
+        @Override
+        public String apply(String format) {
+            if (format.isEmpty() || FEEDBACK_REPORT_TEXT.equals(format) || FEEDBACK_REPORT_JSON.equals(format)) {
+                return format;
+            }
+            throw new IllegalArgumentException("Supported values are '" + FEEDBACK_REPORT_TEXT + "' and '" + FEEDBACK_REPORT_JSON + "'.");
+        }
+    }));
+    public static final String FEEDBACK_REPORT_TEXT = "text";
+    public static final String FEEDBACK_REPORT_JSON = "json";
+
+    public static final String SHAPE_STATISTICS_NAME = JS_OPTION_PREFIX + "shape-statistics";
+    @Option(name = SHAPE_STATISTICS_NAME, category = OptionCategory.INTERNAL, help = "Count allocations, property accesses, transitions and dictionary mode conversions per shape and print a report on exit ('text' or 'json'). " +
+                    "Integer-indexed element accesses are not counted.") //
+    public static final OptionKey<String> SHAPE_STATISTICS = new OptionKey<>("", new OptionType<>("shape-statistics", new Function<String, String>() {
+        @Override
+        public String apply(String format) {
+            if (format.isEmpty() || SHAPE_STATISTICS_TEXT.equals(format) || SHAPE_STATISTICS_JSON.equals(format)) {
+                return format;
+            }
+            throw new IllegalArgumentException("Supported values are '" + SHAPE_STATISTICS_TEXT + "' and '" + SHAPE_STATISTICS_JSON + "'.");
+        }
+    }));
+    public static final String SHAPE_STATISTICS_TEXT = "text";
+    public static final String SHAPE_STATISTICS_JSON = "json";
+
     public static final String TEST_CLONE_UNINITIALIZED_NAME = JS_OPTION_PREFIX + "test-clone-uninitialized";
     @Option(name = TEST_CLONE_UNINITIALIZED_NAME, category = OptionCategory.INTERNAL, help = "Test uninitialized cloning.") //
     public static final OptionKey<Boolean> TEST_CLONE_UNINITIALIZED = new OptionKey<>(false);
@@ -451,6 +490,11 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> LAZY_TRANSLATION = new OptionKey<>(false);
     @CompilationFinal private boolean lazyTranslation;
 
+    public static final String BACKGROUND_TRANSLATION_THREADS_NAME = JS_OPTION_PREFIX + "background-translation-threads";
+    @Option(name = BACKGROUND_TRANSLATION_THREADS_NAME, category = OptionCategory.EXPERT, help = "Number of threads that speculatively translate lazily translated functions before their first call (0 to disable).") //
+    public static final OptionKey<Integer> BACKGROUND_TRANSLATION_THREADS = new OptionKey<>(0);
+    @CompilationFinal private int backgroundTranslationThreads;
+
     public static final String MAX_TYPED_ARRAY_LENGTH_NAME = JS_OPTION_PREFIX + "max-typed-array-length";
     @Option(name = MAX_TYPED_ARRAY_LENGTH_NAME, category = OptionCategory.EXPERT, help = "Maximum allowed length for TypedArrays.") //
     public static final OptionKey<Integer> MAX_TYPED_ARRAY_LENGTH = new OptionKey<>(JSConfig.MaxTypedArrayLength);
@@ -481,6 +525,11 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> FUNCTION_CACHE_LIMIT = new OptionKey<>(JSConfig.FunctionCacheLimit);
     @CompilationFinal private int functionCacheLimit;
 
+    public static final String MEGAMORPHIC_PROPERTY_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "megamorphic-property-cache-size";
+    @Option(name = MEGAMORPHIC_PROPERTY_CACHE_SIZE_NAME, category = OptionCategory.INTERNAL, help = "Size of the per-context property lookup cache used by megamorphic property accesses (0 to disable).") //
+    public static final OptionKey<Integer> MEGAMORPHIC_PROPERTY_CACHE_SIZE = new OptionKey<>(JSConfig.MegamorphicPropertyCacheSize);
+    @CompilationFinal private int megamorphicPropertyCacheSize;
+
     public static final String TOP_LEVEL_AWAIT_NAME = JS_OPTION_PREFIX + "top-level-await";
     @Option(name = TOP_LEVEL_AWAIT_NAME, category = OptionCategory.EXPERT, help = "Enable top-level-await.")
     // defaulting to ecmascript-version>=2022
@@ -568,6 +617,7 @@ public final class JSContextOptions {
         this.testV8Mode = readBooleanOption(TESTV8_MODE);
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
+        this.evalCacheSize = readIntegerOption(EVAL_CACHE_SIZE);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
         this.commonJSRequire = readBooleanOption(COMMONJS_REQUIRE);
@@ -575,6 +625,7 @@ public final class JSContextOptions {
         this.interopCompletePromises = readBooleanOption(INTEROP_COMPLETE_PROMISES);
         this.testCloneUninitialized = readBooleanOption(TEST_CLONE_UNINITIALIZED);
         this.lazyTranslation = readBooleanOption(LAZY_TRANSLATION);
+        this.backgroundTranslationThreads = lazyTranslation ? readIntegerOption(BACKGROUND_TRANSLATION_THREADS) : 0;
         this.stackTraceLimit = readIntegerOption(STACK_TRACE_LIMIT);
         this.maxTypedArrayLength = readIntegerOption(MAX_TYPED_ARRAY_LENGTH);
         this.maxApplyArgumentLength = readIntegerOption(MAX_APPLY_ARGUMENT_LENGTH);
@@ -586,6 +637,7 @@ public final class JSContextOptions {
 
         this.propertyCacheLimit = readIntegerOption(PROPERTY_CACHE_LIMIT);
         this.functionCacheLimit = readIntegerOption(FUNCTION_CACHE_LIMIT);
+        this.megamorphicPropertyCacheSize = readIntegerOption(MEGAMORPHIC_PROPERTY_CACHE_SIZE);
     }
 
     private boolean patchBooleanOption(OptionKey<Boolean> key, String name, boolean oldValue, Consumer<String> invalidate) {
@@ -804,6 +856,11 @@ public final class JSContextOptions {
         return COMMONJS_REQUIRE_GLOBAL_PROPERTIES.getValue(optionValues);
     }
 
+    public String getInitScripts() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option init-scripts was assumed not to be accessed in compiled code.");
+        return INIT_SCRIPTS.getValue(optionValues);
+    }
+
     public String getRequireCwd() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option load was assumed not to be accessed in compiled code.");
         return COMMONJS_REQUIRE_CWD.getValue(optionValues);
@@ -870,6 +927,10 @@ public final class JSContextOptions {
         return functionConstructorCacheSize;
     }
 
+    public int getEvalCacheSize() {
+        return evalCacheSize;
+    }
+
     public int getStringLengthLimit() {
         return stringLengthLimit;
     }
@@ -896,6 +957,16 @@ public final class JSContextOptions {
         return PROFILE_TIME.getValue(optionValues);
     }
 
+    public String getFeedbackReport() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option feedback-report was assumed not to be accessed in compiled code.");
+        return FEEDBACK_REPORT.getValue(optionValues);
+    }
+
+    public String getShapeStatistics() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option shape-statistics was assumed not to be accessed in compiled code.");
+        return SHAPE_STATISTICS.getValue(optionValues);
+    }
+
     public boolean isTestCloneUninitialized() {
         return testCloneUninitialized;
     }
@@ -904,6 +975,10 @@ public final class JSContextOptions {
         return lazyTranslation;
     }
 
+    public int getBackgroundTranslationThreads() {
+        return backgroundTranslationThreads;
+    }
+
     public boolean isProfileTimePrintCumulative() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option profile-time-print-cumulative was assumed not to be accessed in compiled code.");
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
@@ -933,6 +1008,10 @@ public final class JSContextOptions {
         return functionCacheLimit;
     }
 
+    public int getMegamorphicPropertyCacheSize() {
+        return megamorphicPropertyCacheSize;
+    }
+
     public boolean isAsyncStackTraces() {
         return asyncStackTraces;
     }
@@ -978,6 +1057,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.testV8Mode ? 1 : 0);
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
+        hash = 53 * hash + this.evalCacheSize;
         hash = 53 * hash + this.stringLengthLimit;
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
         hash = 53 * hash + (this.commonJSRequire ? 1 : 0);
@@ -985,6 +1065,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.interopCompletePromises ? 1 : 0);
         hash = 53 * hash + (this.testCloneUninitialized ? 1 : 0);
         hash = 53 * hash + (this.lazyTranslation ? 1 : 0);
+        hash = 53 * hash + this.backgroundTranslationThreads;
         hash = 53 * hash + this.stackTraceLimit;
         hash = 53 * hash + (this.asyncStackTraces ? 1 : 0);
         hash = 53 * hash + this.maxTypedArrayLength;
@@ -992,6 +1073,7 @@ public final class JSContextOptions {
         hash = 53 * hash + this.maxPrototypeChainLength;
         hash = 53 * hash + this.propertyCacheLimit;
         hash = 53 * hash + this.functionCacheLimit;
+        hash = 53 * hash + this.megamorphicPropertyCacheSize;
         hash = 53 * hash + (this.topLevelAwait ? 1 : 0);
         hash = 53 * hash + (this.useUTCForLegacyDates ? 1 : 0);
         hash = 53 * hash + (this.webAssembly ? 1 : 0);
@@ -1097,6 +1179,9 @@ public final class JSContextOptions {
         if (this.functionConstructorCacheSize != other.functionConstructorCacheSize) {
             return false;
         }
+        if (this.evalCacheSize != other.evalCacheSize) {
+            return false;
+        }
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
@@ -1118,6 +1203,9 @@ public final class JSContextOptions {
         if (this.lazyTranslation != other.lazyTranslation) {
             return false;
         }
+        if (this.backgroundTranslationThreads != other.backgroundTranslationThreads) {
+            return false;
+        }
         if (this.stackTraceLimit != other.stackTraceLimit) {
             return false;
         }
@@ -1139,6 +1227,9 @@ public final class JSContextOptions {
         if (this.functionCacheLimit != other.functionCacheLimit) {
             return false;
         }
+        if (this.megamorphicPropertyCacheSize != other.megamorphicPropertyCacheSize) {
+            return false;
+        }
         if (this.topLevelAwait != other.topLevelAwait) {
             return false;
         }
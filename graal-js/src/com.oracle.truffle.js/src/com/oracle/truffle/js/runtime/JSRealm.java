@@ -42,6 +42,7 @@ package com.oracle.truffle.js.runtime;
 
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.MODULE_SOURCE_NAME_SUFFIX;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
@@ -54,6 +55,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.SplittableRandom;
 import java.util.WeakHashMap;
+import java.util.function.Function;
 
 import org.graalvm.home.HomeFinder;
 import org.graalvm.options.OptionValues;
@@ -72,8 +74,10 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.nodes.LanguageInfo;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.builtins.ArrayIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.AtomicsBuiltins;
 import com.oracle.truffle.js.builtins.ConsoleBuiltins;
@@ -97,6 +101,7 @@ import com.oracle.truffle.js.builtins.commonjs.GlobalCommonJSRequireBuiltins;
 import com.oracle.truffle.js.builtins.commonjs.NpmCompatibleESModuleLoader;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.runtime.JSContext.BuiltinFunctionKey;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
@@ -115,6 +120,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistry;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSGlobal;
+import com.oracle.truffle.js.runtime.builtins.JSGlobalObject;
 import com.oracle.truffle.js.runtime.builtins.JSMap;
 import com.oracle.truffle.js.runtime.builtins.JSMath;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
@@ -161,6 +167,7 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -209,24 +216,25 @@ public class JSRealm {
     private final DynamicObject stringPrototype;
     private final DynamicObject regExpConstructor;
     private final DynamicObject regExpPrototype;
-    private final DynamicObject collatorConstructor;
-    private final DynamicObject collatorPrototype;
-    private final DynamicObject numberFormatConstructor;
-    private final DynamicObject numberFormatPrototype;
-    private final DynamicObject pluralRulesConstructor;
-    private final DynamicObject pluralRulesPrototype;
-    private final DynamicObject listFormatConstructor;
-    private final DynamicObject listFormatPrototype;
-    private final DynamicObject dateTimeFormatConstructor;
-    private final DynamicObject dateTimeFormatPrototype;
-    private final DynamicObject relativeTimeFormatConstructor;
-    private final DynamicObject relativeTimeFormatPrototype;
-    private final DynamicObject segmenterConstructor;
-    private final DynamicObject segmenterPrototype;
-    private final DynamicObject displayNamesConstructor;
-    private final DynamicObject displayNamesPrototype;
-    private final DynamicObject localeConstructor;
-    private final DynamicObject localePrototype;
+    private DynamicObject collatorConstructor;
+    private DynamicObject collatorPrototype;
+    private DynamicObject numberFormatConstructor;
+    private DynamicObject numberFormatPrototype;
+    private DynamicObject pluralRulesConstructor;
+    private DynamicObject pluralRulesPrototype;
+    private DynamicObject listFormatConstructor;
+    private DynamicObject listFormatPrototype;
+    private DynamicObject dateTimeFormatConstructor;
+    private DynamicObject dateTimeFormatPrototype;
+    private DynamicObject relativeTimeFormatConstructor;
+    private DynamicObject relativeTimeFormatPrototype;
+    private DynamicObject segmenterConstructor;
+    private DynamicObject segmenterPrototype;
+    private DynamicObject displayNamesConstructor;
+    private DynamicObject displayNamesPrototype;
+    private DynamicObject localeConstructor;
+    private DynamicObject localePrototype;
+    private boolean intlInitialized;
     private final DynamicObject dateConstructor;
     private final DynamicObject datePrototype;
     @CompilationFinal(dimensions = 1) private final DynamicObject[] errorConstructors;
@@ -256,10 +264,12 @@ public class JSRealm {
     private Object evalFunctionObject;
     private final Object applyFunctionObject;
     private final Object callFunctionObject;
+    private DynamicObject reflectObject;
     private Object reflectApplyFunctionObject;
     private Object reflectConstructFunctionObject;
     private Object commonJSRequireFunctionObject;
     private Map<String, Object> commonJSPreLoadedBuiltins;
+    private DynamicObject jsonObject;
     private Object jsonParseFunctionObject;
 
     private final DynamicObject arrayBufferConstructor;
@@ -284,7 +294,7 @@ public class JSRealm {
     private final DynamicObject arrayIteratorPrototype;
     private final DynamicObject setIteratorPrototype;
     private final DynamicObject mapIteratorPrototype;
-    private final DynamicObject segmentIteratorPrototype;
+    private DynamicObject segmentIteratorPrototype;
     private final DynamicObject stringIteratorPrototype;
     private final DynamicObject regExpStringIteratorPrototype;
     private final DynamicObject enumerateIteratorPrototype;
@@ -313,6 +323,7 @@ public class JSRealm {
     @CompilationFinal private DynamicObject javaPackageToPrimitiveFunction;
 
     private final DynamicObject arrayProtoValuesIterator;
+    private final Object arrayIteratorPrototypeNext;
     @CompilationFinal private DynamicObject typedArrayConstructor;
     @CompilationFinal private DynamicObject typedArrayPrototype;
 
@@ -449,7 +460,7 @@ public class JSRealm {
         }
 
         this.globalObject = JSGlobal.create(this, objectPrototype);
-        this.globalScope = JSGlobal.createGlobalScope(context);
+        this.globalScope = JSGlobal.createGlobalScope(this);
         if (context.getContextOptions().isScriptEngineGlobalScopeImport()) {
             this.scriptEngineImportScope = JSOrdinary.createWithNullPrototypeInit(context);
         } else {
@@ -554,40 +565,12 @@ public class JSRealm {
 
         this.iteratorPrototype = createIteratorPrototype();
         this.arrayIteratorPrototype = es6 ? createArrayIteratorPrototype() : null;
+        this.arrayIteratorPrototypeNext = es6 ? JSDynamicObject.getOrNull(arrayIteratorPrototype, JSRuntime.NEXT) : null;
         this.setIteratorPrototype = es6 ? createSetIteratorPrototype() : null;
         this.mapIteratorPrototype = es6 ? createMapIteratorPrototype() : null;
         this.stringIteratorPrototype = es6 ? createStringIteratorPrototype() : null;
         this.regExpStringIteratorPrototype = context.getContextOptions().getEcmaScriptVersion() >= JSConfig.ECMAScript2019 ? createRegExpStringIteratorPrototype() : null;
 
-        ctor = JSCollator.createConstructor(this);
-        this.collatorConstructor = ctor.getFunctionObject();
-        this.collatorPrototype = ctor.getPrototype();
-        ctor = JSNumberFormat.createConstructor(this);
-        this.numberFormatConstructor = ctor.getFunctionObject();
-        this.numberFormatPrototype = ctor.getPrototype();
-        ctor = JSDateTimeFormat.createConstructor(this);
-        this.dateTimeFormatConstructor = ctor.getFunctionObject();
-        this.dateTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSPluralRules.createConstructor(this);
-        this.pluralRulesConstructor = ctor.getFunctionObject();
-        this.pluralRulesPrototype = ctor.getPrototype();
-        ctor = JSListFormat.createConstructor(this);
-        this.listFormatConstructor = ctor.getFunctionObject();
-        this.listFormatPrototype = ctor.getPrototype();
-        ctor = JSRelativeTimeFormat.createConstructor(this);
-        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
-        this.relativeTimeFormatPrototype = ctor.getPrototype();
-        ctor = JSSegmenter.createConstructor(this);
-        this.segmenterConstructor = ctor.getFunctionObject();
-        this.segmenterPrototype = ctor.getPrototype();
-        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
-        ctor = JSDisplayNames.createConstructor(this);
-        this.displayNamesConstructor = ctor.getFunctionObject();
-        this.displayNamesPrototype = ctor.getPrototype();
-        ctor = JSLocale.createConstructor(this);
-        this.localeConstructor = ctor.getFunctionObject();
-        this.localePrototype = ctor.getPrototype();
-
         if (es6) {
             ctor = JSFunction.createGeneratorFunctionConstructor(this);
             this.generatorFunctionConstructor = ctor.getFunctionObject();
@@ -874,51 +857,107 @@ public class JSRealm {
         return regExpPrototype;
     }
 
+    private void ensureIntlInitialized() {
+        if (!intlInitialized) {
+            initializeIntlConstructors();
+        }
+    }
+
+    /**
+     * The ECMA-402 constructors and prototypes are only needed by a minority of scripts and are
+     * therefore created on first use.
+     */
+    @TruffleBoundary
+    private void initializeIntlConstructors() {
+        CompilerAsserts.neverPartOfCompilation();
+        intlInitialized = true;
+        JSConstructor ctor = JSCollator.createConstructor(this);
+        this.collatorConstructor = ctor.getFunctionObject();
+        this.collatorPrototype = ctor.getPrototype();
+        ctor = JSNumberFormat.createConstructor(this);
+        this.numberFormatConstructor = ctor.getFunctionObject();
+        this.numberFormatPrototype = ctor.getPrototype();
+        ctor = JSDateTimeFormat.createConstructor(this);
+        this.dateTimeFormatConstructor = ctor.getFunctionObject();
+        this.dateTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSPluralRules.createConstructor(this);
+        this.pluralRulesConstructor = ctor.getFunctionObject();
+        this.pluralRulesPrototype = ctor.getPrototype();
+        ctor = JSListFormat.createConstructor(this);
+        this.listFormatConstructor = ctor.getFunctionObject();
+        this.listFormatPrototype = ctor.getPrototype();
+        ctor = JSRelativeTimeFormat.createConstructor(this);
+        this.relativeTimeFormatConstructor = ctor.getFunctionObject();
+        this.relativeTimeFormatPrototype = ctor.getPrototype();
+        ctor = JSSegmenter.createConstructor(this);
+        this.segmenterConstructor = ctor.getFunctionObject();
+        this.segmenterPrototype = ctor.getPrototype();
+        this.segmentIteratorPrototype = JSSegmenter.createSegmentIteratorPrototype(context, this);
+        ctor = JSDisplayNames.createConstructor(this);
+        this.displayNamesConstructor = ctor.getFunctionObject();
+        this.displayNamesPrototype = ctor.getPrototype();
+        ctor = JSLocale.createConstructor(this);
+        this.localeConstructor = ctor.getFunctionObject();
+        this.localePrototype = ctor.getPrototype();
+    }
+
     public final DynamicObject getCollatorConstructor() {
+        ensureIntlInitialized();
         return collatorConstructor;
     }
 
     public final DynamicObject getCollatorPrototype() {
+        ensureIntlInitialized();
         return collatorPrototype;
     }
 
     public final DynamicObject getNumberFormatConstructor() {
+        ensureIntlInitialized();
         return numberFormatConstructor;
     }
 
     public final DynamicObject getNumberFormatPrototype() {
+        ensureIntlInitialized();
         return numberFormatPrototype;
     }
 
     public final DynamicObject getPluralRulesConstructor() {
+        ensureIntlInitialized();
         return pluralRulesConstructor;
     }
 
     public final DynamicObject getPluralRulesPrototype() {
+        ensureIntlInitialized();
         return pluralRulesPrototype;
     }
 
     public final DynamicObject getListFormatConstructor() {
+        ensureIntlInitialized();
         return listFormatConstructor;
     }
 
     public final DynamicObject getListFormatPrototype() {
+        ensureIntlInitialized();
         return listFormatPrototype;
     }
 
     public final DynamicObject getRelativeTimeFormatConstructor() {
+        ensureIntlInitialized();
         return relativeTimeFormatConstructor;
     }
 
     public final DynamicObject getRelativeTimeFormatPrototype() {
+        ensureIntlInitialized();
         return relativeTimeFormatPrototype;
     }
 
     public final DynamicObject getDateTimeFormatConstructor() {
+        ensureIntlInitialized();
         return dateTimeFormatConstructor;
     }
 
     public final DynamicObject getDateTimeFormatPrototype() {
+        ensureIntlInitialized();
         return dateTimeFormatPrototype;
     }
 
@@ -931,26 +970,32 @@ public class JSRealm {
     }
 
     public final DynamicObject getSegmenterConstructor() {
+        ensureIntlInitialized();
         return segmenterConstructor;
     }
 
     public final DynamicObject getSegmenterPrototype() {
+        ensureIntlInitialized();
         return segmenterPrototype;
     }
 
     public final DynamicObject getDisplayNamesConstructor() {
+        ensureIntlInitialized();
         return displayNamesConstructor;
     }
 
     public final DynamicObject getDisplayNamesPrototype() {
+        ensureIntlInitialized();
         return displayNamesPrototype;
     }
 
     public final DynamicObject getLocaleConstructor() {
+        ensureIntlInitialized();
         return localeConstructor;
     }
 
     public final DynamicObject getLocalePrototype() {
+        ensureIntlInitialized();
         return localePrototype;
     }
 
@@ -1160,6 +1205,9 @@ public class JSRealm {
     }
 
     public final Object getJsonParseFunctionObject() {
+        if (jsonParseFunctionObject == null) {
+            getJSONObject();
+        }
         return jsonParseFunctionObject;
     }
 
@@ -1219,6 +1267,7 @@ public class JSRealm {
     }
 
     public DynamicObject getSegmentIteratorPrototype() {
+        ensureIntlInitialized();
         return segmentIteratorPrototype;
     }
 
@@ -1263,7 +1312,7 @@ public class JSRealm {
         putGlobalProperty(JSBoolean.CLASS_NAME, getBooleanConstructor());
         putGlobalProperty(JSRegExp.CLASS_NAME, getRegExpConstructor());
         putGlobalProperty(JSMath.CLASS_NAME, mathObject);
-        putGlobalProperty(JSON.CLASS_NAME, JSON.create(this));
+        putLazyGlobalProperty(LAZY_JSON_PROPERTY);
 
         JSObjectUtil.putDataProperty(context, global, JSRuntime.NAN_STRING, Double.NaN);
         JSObjectUtil.putDataProperty(context, global, JSRuntime.INFINITY_STRING, Double.POSITIVE_INFINITY);
@@ -1272,8 +1321,6 @@ public class JSRealm {
         JSObjectUtil.putFunctionsFromContainer(this, global, GlobalBuiltins.GLOBAL_FUNCTIONS);
 
         this.evalFunctionObject = JSObject.get(global, JSGlobal.EVAL_NAME);
-        DynamicObject jsonBuiltin = (DynamicObject) JSObject.get(global, "JSON");
-        this.jsonParseFunctionObject = JSObject.get(jsonBuiltin, "parse");
 
         boolean webassembly = context.getContextOptions().isWebAssembly();
         for (JSErrorType type : JSErrorType.errorTypes()) {
@@ -1343,10 +1390,7 @@ public class JSRealm {
             putGlobalProperty(JSSymbol.CLASS_NAME, getSymbolConstructor());
             setupPredefinedSymbols(getSymbolConstructor());
 
-            DynamicObject reflectObject = createReflect();
-            putGlobalProperty(REFLECT_CLASS_NAME, reflectObject);
-            this.reflectApplyFunctionObject = JSObject.get(reflectObject, "apply");
-            this.reflectConstructFunctionObject = JSObject.get(reflectObject, "construct");
+            putLazyGlobalProperty(LAZY_REFLECT_PROPERTY);
 
             putGlobalProperty(JSProxy.CLASS_NAME, getProxyConstructor());
             putGlobalProperty(JSPromise.CLASS_NAME, getPromiseConstructor());
@@ -1357,7 +1401,7 @@ public class JSRealm {
             putGlobalProperty(SHARED_ARRAY_BUFFER_CLASS_NAME, getSharedArrayBufferConstructor());
         }
         if (context.isOptionAtomics()) {
-            putGlobalProperty(ATOMICS_CLASS_NAME, createAtomics());
+            putLazyGlobalProperty(LAZY_ATOMICS_PROPERTY);
         }
         if (context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019) {
             putGlobalProperty("globalThis", global);
@@ -1506,7 +1550,11 @@ public class JSRealm {
 
     private void addIntlGlobal() {
         if (context.isOptionIntl402()) {
-            putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject != null ? preinitIntlObject : createIntlObject());
+            if (preinitIntlObject != null) {
+                putGlobalProperty(JSIntl.CLASS_NAME, preinitIntlObject);
+            } else {
+                putLazyGlobalProperty(LAZY_INTL_PROPERTY);
+            }
         }
     }
 
@@ -1543,6 +1591,9 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(context, graalObject, "versionGraalVM", GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "versionECMAScript", esVersion, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "isGraalRuntime", JSFunction.create(this, isGraalRuntimeFunction(context)), flags);
+        if (context.getShapeStatistics() != null) {
+            JSObjectUtil.putDataProperty(context, graalObject, "shapeStatistics", JSFunction.create(this, shapeStatisticsFunction(context)), flags);
+        }
         putGlobalProperty("Graal", graalObject);
     }
 
@@ -1562,6 +1613,20 @@ public class JSRealm {
         });
     }
 
+    /**
+     * Returns the current per-shape statistics as a JSON string.
+     */
+    private static JSFunctionData shapeStatisticsFunction(JSContext context) {
+        return context.getOrCreateBuiltinFunctionData(BuiltinFunctionKey.GraalShapeStatistics, (c) -> {
+            return JSFunctionData.createCallOnly(context, Truffle.getRuntime().createCallTarget(new JavaScriptRootNode(context.getLanguage(), null, null) {
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    return context.getShapeStatistics().toJSON();
+                }
+            }), 0, "shapeStatistics");
+        });
+    }
+
     /**
      * Convenience method for defining global data properties with default attributes.
      */
@@ -1573,6 +1638,10 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(getContext(), getGlobalObject(), key, value, attributes);
     }
 
+    private void putLazyGlobalProperty(LazyGlobalPropertyProxy proxy) {
+        JSObjectUtil.putProxyProperty(getGlobalObject(), proxy.key, proxy, JSAttributes.getDefaultNotEnumerable());
+    }
+
     private void putProperty(DynamicObject receiver, Object key, Object value) {
         JSObjectUtil.putDataProperty(getContext(), receiver, key, value, JSAttributes.getDefaultNotEnumerable());
     }
@@ -1731,6 +1800,14 @@ public class JSRealm {
         return arrayProtoValuesIterator;
     }
 
+    /**
+     * The original %ArrayIteratorPrototype%.next function, used to detect unmodified array
+     * iteration.
+     */
+    public Object getArrayIteratorPrototypeNext() {
+        return arrayIteratorPrototypeNext;
+    }
+
     private DynamicObject createReflect() {
         DynamicObject obj = JSObjectUtil.createOrdinaryPrototypeObject(this, this.getObjectPrototype());
         JSObjectUtil.putToStringTag(obj, REFLECT_CLASS_NAME);
@@ -1738,6 +1815,25 @@ public class JSRealm {
         return obj;
     }
 
+    @TruffleBoundary
+    private DynamicObject getReflectObject() {
+        if (reflectObject == null) {
+            reflectObject = createReflect();
+            reflectApplyFunctionObject = JSObject.get(reflectObject, "apply");
+            reflectConstructFunctionObject = JSObject.get(reflectObject, "construct");
+        }
+        return reflectObject;
+    }
+
+    @TruffleBoundary
+    private DynamicObject getJSONObject() {
+        if (jsonObject == null) {
+            jsonObject = JSON.create(this);
+            jsonParseFunctionObject = JSObject.get(jsonObject, "parse");
+        }
+        return jsonObject;
+    }
+
     private DynamicObject createAtomics() {
         DynamicObject obj = JSObjectUtil.createOrdinaryPrototypeObject(this, this.getObjectPrototype());
         JSObjectUtil.putToStringTag(obj, ATOMICS_CLASS_NAME);
@@ -1947,6 +2043,8 @@ public class JSRealm {
         // Patch the RegExp constructor's static result properties
         addStaticRegexResultProperties();
 
+        runInitScripts();
+
         return true;
     }
 
@@ -1964,6 +2062,48 @@ public class JSRealm {
         initTimeOffsetAndRandom();
 
         addStaticRegexResultProperties();
+
+        // child realms run the init scripts in createChildRealm, once agent and parent are set
+        if (parentRealm == null && CREATING_CHILD_REALM.get() != Boolean.TRUE) {
+            runInitScripts();
+        }
+    }
+
+    /**
+     * Evaluates the {@link JSContextOptions#INIT_SCRIPTS init scripts} in this realm. Each script
+     * file is read and parsed once per {@link JSContext}, by the first realm that needs it; other
+     * realms of the same engine reuse the parsed (and possibly already compiled) code and only have
+     * to run it. Changes to a script file after it has been read are not picked up.
+     */
+    @TruffleBoundary
+    private void runInitScripts() {
+        String initScripts = context.getContextOptions().getInitScripts();
+        if (initScripts.isEmpty()) {
+            return;
+        }
+        for (String path : initScripts.split(",")) {
+            TruffleFile file = getInitScriptFile(path.trim());
+            ScriptNode script = context.getInitScript(file.getPath(), (p) -> loadInitScript(file));
+            script.run(this);
+        }
+    }
+
+    private TruffleFile getInitScriptFile(String path) {
+        try {
+            return getEnv().getPublicTruffleFile(path).getAbsoluteFile();
+        } catch (SecurityException e) {
+            throw Errors.createError("Cannot load init script " + path + ": " + e.getMessage());
+        }
+    }
+
+    private ScriptNode loadInitScript(TruffleFile file) {
+        Source source;
+        try {
+            source = Source.newBuilder(JavaScriptLanguage.ID, file).build();
+        } catch (IOException | SecurityException e) {
+            throw Errors.createError("Cannot load init script " + file.getPath() + ": " + e.getMessage());
+        }
+        return context.getEvaluator().parseScript(context, source);
     }
 
     private void preinitializeObjects() {
@@ -1999,6 +2139,8 @@ public class JSRealm {
                     topLevelRealm.addToRealmList(childRealm);
                 }
 
+                childRealm.runInitScripts();
+
                 return childRealm;
             } finally {
                 nestedContext.leave(null, prev);
@@ -2291,6 +2433,48 @@ public class JSRealm {
         v8RealmCurrent = realm;
     }
 
+    private static final LazyGlobalPropertyProxy LAZY_JSON_PROPERTY = new LazyGlobalPropertyProxy(JSON.CLASS_NAME, JSRealm::getJSONObject);
+    private static final LazyGlobalPropertyProxy LAZY_REFLECT_PROPERTY = new LazyGlobalPropertyProxy(REFLECT_CLASS_NAME, JSRealm::getReflectObject);
+    private static final LazyGlobalPropertyProxy LAZY_ATOMICS_PROPERTY = new LazyGlobalPropertyProxy(ATOMICS_CLASS_NAME, JSRealm::createAtomics);
+    private static final LazyGlobalPropertyProxy LAZY_INTL_PROPERTY = new LazyGlobalPropertyProxy(JSIntl.CLASS_NAME, JSRealm::createIntlObject);
+
+    /**
+     * A global property whose value is only created when the property is first read, at which point
+     * it is replaced by an ordinary data property. The proxies are shared by all realms so that
+     * global object shapes stay the same regardless of which lazy globals have been materialized.
+     */
+    private static final class LazyGlobalPropertyProxy implements PropertyProxy {
+        final String key;
+        private final Function<JSRealm, DynamicObject> valueFactory;
+
+        LazyGlobalPropertyProxy(String key, Function<JSRealm, DynamicObject> valueFactory) {
+            this.key = key;
+            this.valueFactory = valueFactory;
+        }
+
+        @TruffleBoundary
+        @Override
+        public Object get(DynamicObject store) {
+            JSRealm realm = ((JSGlobalObject) store).getRealm();
+            DynamicObject value = valueFactory.apply(realm);
+            materialize(store, value);
+            return value;
+        }
+
+        @TruffleBoundary
+        @Override
+        public boolean set(DynamicObject store, Object value) {
+            materialize(store, value);
+            return true;
+        }
+
+        private void materialize(DynamicObject store, Object value) {
+            Property property = store.getShape().getProperty(key);
+            assert property != null && JSProperty.isProxy(property);
+            JSObjectUtil.defineDataProperty(store, key, value, property.getFlags() & ~JSProperty.PROXY);
+        }
+    }
+
     private static final String REALM_SHARED_NAME = "shared";
     private static final PropertyProxy REALM_SHARED_PROXY = new RealmSharedPropertyProxy();
 
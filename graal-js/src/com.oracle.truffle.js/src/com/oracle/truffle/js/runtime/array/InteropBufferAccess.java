@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
+
+/**
+ * Implements the interop buffer messages of ArrayBuffer, typed array, and DataView objects.
+ *
+ * Each message operates on the region of {@code length} bytes starting at byte index {@code base}
+ * of the backing store of {@code buffer}. Byte offsets are relative to that region and are
+ * validated against {@code length} before the backing store is accessed.
+ */
+public final class InteropBufferAccess {
+
+    private InteropBufferAccess() {
+    }
+
+    /**
+     * Returns the byte length of the array buffer, or 0 if it has been detached.
+     */
+    public static int getByteLength(JSArrayBufferObject buffer) {
+        if (buffer instanceof JSArrayBufferObject.Heap) {
+            byte[] byteArray = ((JSArrayBufferObject.Heap) buffer).getByteArray();
+            return byteArray == null ? 0 : byteArray.length;
+        } else {
+            ByteBuffer byteBuffer = ((JSArrayBufferObject.DirectBase) buffer).getByteBuffer();
+            return byteBuffer == null ? 0 : byteBuffer.capacity();
+        }
+    }
+
+    /**
+     * Validates an access of {@code accessLength} bytes at {@code byteOffset} relative to the
+     * region and returns the absolute byte index into the backing store.
+     */
+    private static int checkBufferOffset(long byteOffset, int accessLength, int base, int length) throws InvalidBufferOffsetException {
+        if (byteOffset < 0 || byteOffset > length - accessLength) {
+            throw InvalidBufferOffsetException.create(byteOffset, accessLength);
+        }
+        return base + (int) byteOffset;
+    }
+
+    private static ByteArrayAccess byteArrayAccess(ByteOrder order) {
+        return order == ByteOrder.LITTLE_ENDIAN ? ByteArrayAccess.littleEndian() : ByteArrayAccess.bigEndian();
+    }
+
+    private static ByteBufferAccess byteBufferAccess(ByteOrder order) {
+        return order == ByteOrder.LITTLE_ENDIAN ? ByteBufferAccess.littleEndian() : ByteBufferAccess.bigEndian();
+    }
+
+    private static byte[] heapArray(JSArrayBufferObject buffer) {
+        return buffer instanceof JSArrayBufferObject.Heap ? ((JSArrayBufferObject.Heap) buffer).getByteArray() : null;
+    }
+
+    private static ByteBuffer directBuffer(JSArrayBufferObject buffer) {
+        return JSArrayBufferObject.getDirectByteBuffer(buffer);
+    }
+
+    public static byte readBufferByte(JSArrayBufferObject buffer, int base, int length, long byteOffset) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Byte.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            return array[byteIndex];
+        }
+        return directBuffer(buffer).get(byteIndex);
+    }
+
+    public static void writeBufferByte(JSArrayBufferObject buffer, int base, int length, long byteOffset, byte value) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Byte.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            array[byteIndex] = value;
+        } else {
+            directBuffer(buffer).put(byteIndex, value);
+        }
+    }
+
+    public static short readBufferShort(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Short.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            return (short) byteArrayAccess(order).getInt16(array, byteIndex);
+        }
+        return (short) byteBufferAccess(order).getInt16(directBuffer(buffer), byteIndex);
+    }
+
+    public static void writeBufferShort(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Short.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            byteArrayAccess(order).putInt16(array, byteIndex, value);
+        } else {
+            byteBufferAccess(order).putInt16(directBuffer(buffer), byteIndex, value);
+        }
+    }
+
+    public static int readBufferInt(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Integer.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            return byteArrayAccess(order).getInt32(array, byteIndex);
+        }
+        return byteBufferAccess(order).getInt32(directBuffer(buffer), byteIndex);
+    }
+
+    public static void writeBufferInt(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Integer.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            byteArrayAccess(order).putInt32(array, byteIndex, value);
+        } else {
+            byteBufferAccess(order).putInt32(directBuffer(buffer), byteIndex, value);
+        }
+    }
+
+    public static long readBufferLong(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Long.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            return byteArrayAccess(order).getInt64(array, byteIndex);
+        }
+        return byteBufferAccess(order).getInt64(directBuffer(buffer), byteIndex);
+    }
+
+    public static void writeBufferLong(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Long.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            byteArrayAccess(order).putInt64(array, byteIndex, value);
+        } else {
+            byteBufferAccess(order).putInt64(directBuffer(buffer), byteIndex, value);
+        }
+    }
+
+    public static float readBufferFloat(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Float.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            return byteArrayAccess(order).getFloat(array, byteIndex);
+        }
+        return byteBufferAccess(order).getFloat(directBuffer(buffer), byteIndex);
+    }
+
+    public static void writeBufferFloat(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Float.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            byteArrayAccess(order).putFloat(array, byteIndex, value);
+        } else {
+            byteBufferAccess(order).putFloat(directBuffer(buffer), byteIndex, value);
+        }
+    }
+
+    public static double readBufferDouble(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Double.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            return byteArrayAccess(order).getDouble(array, byteIndex);
+        }
+        return byteBufferAccess(order).getDouble(directBuffer(buffer), byteIndex);
+    }
+
+    public static void writeBufferDouble(JSArrayBufferObject buffer, int base, int length, ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+        int byteIndex = checkBufferOffset(byteOffset, Double.BYTES, base, length);
+        byte[] array = heapArray(buffer);
+        if (array != null) {
+            byteArrayAccess(order).putDouble(array, byteIndex, value);
+        } else {
+            byteBufferAccess(order).putDouble(directBuffer(buffer), byteIndex, value);
+        }
+    }
+}
@@ -46,22 +46,19 @@ import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArr
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetLength;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.TreeMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedObjectArray;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
- * Array that stores its elements in a HashMap-like structure, e.g. in a TreeMap.
+ * Array that stores its elements in a {@link SparseArrayMap}.
  */
 public final class SparseArray extends DynamicArray {
 
@@ -77,7 +74,7 @@ public final class SparseArray extends DynamicArray {
 
     public static SparseArray makeSparseArray(DynamicObject object, ScriptArray fromArray) {
         assert !(fromArray instanceof SparseArray);
-        TreeMap<Long, Object> arrayMap = createArrayMap();
+        SparseArrayMap arrayMap = createArrayMap();
         copyArrayToMap(object, fromArray, arrayMap);
         arraySetLength(object, fromArray.length(object));
         arraySetArray(object, arrayMap);
@@ -85,20 +82,20 @@ public final class SparseArray extends DynamicArray {
     }
 
     @TruffleBoundary
-    public static TreeMap<Long, Object> createArrayMap() {
-        return new TreeMap<>();
+    public static SparseArrayMap createArrayMap() {
+        return new SparseArrayMap();
     }
 
-    protected static void copyArrayToMap(DynamicObject object, ScriptArray fromArray, Map<Long, Object> toMap) {
+    @TruffleBoundary
+    protected static void copyArrayToMap(DynamicObject object, ScriptArray fromArray, SparseArrayMap toMap) {
         for (long index = fromArray.firstElementIndex(object); index <= fromArray.lastElementIndex(object); index = fromArray.nextElementIndex(object, index)) {
             assert fromArray.hasElement(object, index);
-            Boundaries.mapPut(toMap, index, fromArray.getElement(object, index));
+            toMap.put(index, fromArray.getElement(object, index));
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static TreeMap<Long, Object> arrayMap(DynamicObject object) {
-        return (TreeMap<Long, Object>) arrayGetArray(object);
+    private static SparseArrayMap arrayMap(DynamicObject object) {
+        return (SparseArrayMap) arrayGetArray(object);
     }
 
     @TruffleBoundary
@@ -119,9 +116,17 @@ public final class SparseArray extends DynamicArray {
     @TruffleBoundary
     @Override
     public ScriptArray setElementImpl(DynamicObject object, long index, Object value, boolean strict) {
-        arrayMap(object).put(index, value);
-        if (index >= length(object)) {
-            arraySetLength(object, index + 1);
+        SparseArrayMap arrayMap = arrayMap(object);
+        arrayMap.put(index, value);
+        long length = length(object);
+        if (index >= length) {
+            length = index + 1;
+            arraySetLength(object, length);
+        }
+        if (arrayMap.size() == length && integrityLevel == INTEGRITY_LEVEL_NONE && length <= JSConfig.MaxFlatArraySize) {
+            // all holes have been filled in, switch back to a dense array
+            int denseLength = (int) length;
+            return ZeroBasedObjectArray.makeZeroBasedObjectArray(object, denseLength, denseLength, arrayMap.toArray(denseLength), integrityLevel);
         }
         return this;
     }
@@ -144,52 +149,44 @@ public final class SparseArray extends DynamicArray {
     @Override
     public SparseArray setLengthImpl(DynamicObject object, long len, ProfileHolder profile) {
         arraySetLength(object, len);
-        arrayMap(object).tailMap(len).clear();
+        arrayMap(object).truncate(len);
         return this;
     }
 
     @TruffleBoundary
     @Override
     public long firstElementIndex(DynamicObject object) {
-        try {
-            return arrayMap(object).firstKey();
-        } catch (NoSuchElementException ex) {
-            return 0;
-        }
+        SparseArrayMap arrayMap = arrayMap(object);
+        return arrayMap.isEmpty() ? 0 : arrayMap.firstKey();
     }
 
     @TruffleBoundary
     @Override
     public long lastElementIndex(DynamicObject object) {
-        try {
-            return arrayMap(object).lastKey();
-        } catch (NoSuchElementException ex) {
-            return -1;
-        }
+        return arrayMap(object).lastKey();
     }
 
     @TruffleBoundary
     @Override
     public long nextElementIndex(DynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).higherKey(index);
-        return nextIndex != null ? nextIndex.longValue() : JSRuntime.MAX_SAFE_INTEGER_LONG;
+        long nextIndex = arrayMap(object).higherKey(index);
+        return nextIndex >= 0 ? nextIndex : JSRuntime.MAX_SAFE_INTEGER_LONG;
     }
 
     @TruffleBoundary
     @Override
     public long previousElementIndex(DynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).lowerKey(index);
-        return nextIndex != null ? nextIndex.longValue() : -1;
+        return arrayMap(object).lowerKey(index);
     }
 
+    @TruffleBoundary
     @Override
     public Object[] toArray(DynamicObject object) {
         assert length(object) <= Integer.MAX_VALUE;
-        Object[] newArray = new Object[(int) length(object)];
-        Arrays.fill(newArray, Undefined.instance);
-        for (long i = firstElementIndex(object); i <= lastElementIndex(object); i = nextElementIndex(object, i)) {
-            if (i >= 0) {
-                newArray[(int) i] = this.getElement(object, i);
+        Object[] newArray = arrayMap(object).toArray((int) length(object));
+        for (int i = 0; i < newArray.length; i++) {
+            if (newArray[i] == null) {
+                newArray[i] = Undefined.instance;
             }
         }
         return newArray;
@@ -197,7 +194,7 @@ public final class SparseArray extends DynamicArray {
 
     @Override
     public Object cloneArray(DynamicObject object) {
-        return arrayMap(object).clone();
+        return arrayMap(object).copy();
     }
 
     @TruffleBoundary
@@ -223,43 +220,47 @@ public final class SparseArray extends DynamicArray {
         return true;
     }
 
+    @TruffleBoundary
     @Override
     public ScriptArray removeRangeImpl(DynamicObject object, long start, long end) {
         assert start <= end;
         assert start >= 0;
         assert end < length(object);
 
+        SparseArrayMap arrayMap = arrayMap(object);
         long delta = end - start + 1;
         long pos = start;
-        if (!hasElement(object, pos)) {
+        if (!arrayMap.containsKey(pos)) {
             pos = nextElementIndex(object, pos);
         }
         // delete the elements in the removed range
         while (pos <= end) {
-            deleteElementImpl(object, pos, false);
+            arrayMap.remove(pos);
             pos = nextElementIndex(object, pos);
         }
         // move all element higher downwards
         while (pos < length(object)) {
-            setElement(object, pos - delta, getElement(object, pos), false);
-            deleteElementImpl(object, pos, false);
+            arrayMap.put(pos - delta, arrayMap.get(pos));
+            arrayMap.remove(pos);
             pos = nextElementIndex(object, pos);
         }
         return this;
     }
 
+    @TruffleBoundary
     @Override
     public ScriptArray addRangeImpl(DynamicObject object, long offset, int size) {
         assert offset < length(object);
 
+        SparseArrayMap arrayMap = arrayMap(object);
         long pos = length(object);
-        if (!hasElement(object, pos)) {
+        if (!arrayMap.containsKey(pos)) {
             pos = previousElementIndex(object, pos);
         }
         // move all element higher upwards
         while (pos >= offset) {
-            setElement(object, pos + size, getElement(object, pos), false);
-            deleteElementImpl(object, pos, false);
+            arrayMap.put(pos + size, arrayMap.get(pos));
+            arrayMap.remove(pos);
             pos = previousElementIndex(object, pos);
         }
         return this;
@@ -268,9 +269,9 @@ public final class SparseArray extends DynamicArray {
     @TruffleBoundary
     @Override
     public List<Object> ownPropertyKeys(DynamicObject object) {
-        Set<Long> keySet = arrayMap(object).keySet();
-        List<Object> list = new ArrayList<>(keySet.size());
-        for (long index : keySet) {
+        SparseArrayMap arrayMap = arrayMap(object);
+        List<Object> list = new ArrayList<>((int) Math.min(arrayMap.size(), Integer.MAX_VALUE));
+        for (long index = arrayMap.firstKey(); index >= 0; index = arrayMap.higherKey(index)) {
             list.add(Boundaries.stringValueOf(index));
         }
         return list;
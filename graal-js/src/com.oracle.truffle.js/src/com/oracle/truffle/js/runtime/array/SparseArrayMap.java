@@ -0,0 +1,560 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Element storage of {@link SparseArray}: segments of {@value #SEGMENT_SIZE} consecutive indices,
+ * keyed by their aligned start index. Absent elements are {@code null}.
+ *
+ * Segments are found through an open-addressing hash table keyed by the primitive segment key, so
+ * accessing an element takes O(1) time. For iteration in index order, the segments are also linked
+ * into a skip list ordered by key whose lowest level is doubly linked: moving to the next or
+ * previous segment takes O(1) time, locating the neighbor of an absent segment and inserting or
+ * removing a segment take expected O(log n) time. A segment only stores its present elements,
+ * compacted in index order and located via a bitmap, so isolated elements of a very sparse array
+ * take a single-element array. Indices are never boxed.
+ */
+public final class SparseArrayMap {
+    private static final int SEGMENT_SHIFT = 5;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /** Maximum height of the skip list, enough for all segments of 32-bit array indices. */
+    private static final int MAX_LEVEL = 16;
+    private static final int INITIAL_TABLE_SIZE = 8;
+
+    /**
+     * Up to {@value #SEGMENT_SIZE} elements with consecutive indices, and a node of the skip list of
+     * segments ordered by key.
+     */
+    private static final class Segment {
+        final long key;
+        /** Bit {@code i} is set if the element at offset {@code i} is present. */
+        int bitmap;
+        /** The present elements, in offset order. */
+        Object[] values;
+        /** Successors on each level of the skip list; {@code next[0]} is the next segment. */
+        final Segment[] next;
+        /** The previous segment, or {@code null} for the first one. */
+        Segment previous;
+
+        Segment(long key, int level) {
+            this.key = key;
+            this.values = new Object[1];
+            this.next = new Segment[level];
+        }
+
+        Segment(Segment other) {
+            this.key = other.key;
+            this.bitmap = other.bitmap;
+            this.values = other.values.clone();
+            this.next = new Segment[other.next.length];
+        }
+
+        int size() {
+            return Integer.bitCount(bitmap);
+        }
+
+        private int position(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        Object get(int offset) {
+            int bit = 1 << offset;
+            return (bitmap & bit) == 0 ? null : values[position(bit)];
+        }
+
+        /**
+         * Sets the element at the offset and returns whether it was absent before.
+         */
+        boolean put(int offset, Object value) {
+            int bit = 1 << offset;
+            int pos = position(bit);
+            if ((bitmap & bit) != 0) {
+                values[pos] = value;
+                return false;
+            }
+            int count = size();
+            if (count == values.length) {
+                values = Arrays.copyOf(values, Math.min(SEGMENT_SIZE, count * 2));
+            }
+            System.arraycopy(values, pos, values, pos + 1, count - pos);
+            values[pos] = value;
+            bitmap |= bit;
+            return true;
+        }
+
+        /**
+         * Removes the element at the offset and returns whether it was present.
+         */
+        boolean remove(int offset) {
+            int bit = 1 << offset;
+            if ((bitmap & bit) == 0) {
+                return false;
+            }
+            int pos = position(bit);
+            int count = size();
+            System.arraycopy(values, pos + 1, values, pos, count - pos - 1);
+            values[count - 1] = null;
+            bitmap &= ~bit;
+            return true;
+        }
+
+        /**
+         * Returns the lowest present offset greater than or equal to {@code from}, or -1.
+         */
+        int firstOffset(int from) {
+            int bits = bitmap & (-1 << from);
+            return bits == 0 ? -1 : Integer.numberOfTrailingZeros(bits);
+        }
+
+        /**
+         * Returns the highest present offset less than or equal to {@code to}, or -1.
+         */
+        int lastOffset(int to) {
+            int bits = bitmap & (int) ((2L << to) - 1);
+            return bits == 0 ? -1 : SEGMENT_MASK - Integer.numberOfLeadingZeros(bits);
+        }
+
+        long start() {
+            return segmentStart(key);
+        }
+    }
+
+    /** Hash table of the segments with linear probing; empty slots are {@code null}. */
+    private Segment[] table;
+    private int segmentCount;
+    /** Skip list head, only its successors are used. */
+    private final Segment head;
+    /** Number of skip list levels in use. */
+    private int height;
+    /** The segment with the highest key, or {@code null}. */
+    private Segment tail;
+    private long size;
+    /** The most recently accessed segment. */
+    private Segment lastSegment;
+
+    public SparseArrayMap() {
+        this.table = new Segment[INITIAL_TABLE_SIZE];
+        this.head = new Segment(-1, MAX_LEVEL);
+        this.height = 1;
+    }
+
+    private static long segmentKey(long index) {
+        return index >>> SEGMENT_SHIFT;
+    }
+
+    private static int segmentOffset(long index) {
+        return (int) (index & SEGMENT_MASK);
+    }
+
+    private static long segmentStart(long segmentKey) {
+        return segmentKey << SEGMENT_SHIFT;
+    }
+
+    private static long mix(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int hash(long key) {
+        long h = mix(key);
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Skip list height of the segment with the given key; every further level is taken with a
+     * probability of 1/4.
+     */
+    private static int level(long key) {
+        return Math.min(MAX_LEVEL, 1 + Long.numberOfLeadingZeros(mix(key)) / 2);
+    }
+
+    /**
+     * Returns the segment with the given key, or {@code null}.
+     */
+    private Segment findSegment(long key) {
+        Segment last = lastSegment;
+        if (last != null && last.key == key) {
+            return last;
+        }
+        Segment[] t = table;
+        int mask = t.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            Segment segment = t[i];
+            if (segment == null) {
+                return null;
+            } else if (segment.key == key) {
+                lastSegment = segment;
+                return segment;
+            }
+        }
+    }
+
+    private static void insertIntoTable(Segment[] t, Segment segment) {
+        int mask = t.length - 1;
+        int i = hash(segment.key) & mask;
+        while (t[i] != null) {
+            i = (i + 1) & mask;
+        }
+        t[i] = segment;
+    }
+
+    private void removeFromTable(Segment segment) {
+        Segment[] t = table;
+        int mask = t.length - 1;
+        int i = hash(segment.key) & mask;
+        while (t[i] != segment) {
+            i = (i + 1) & mask;
+        }
+        // move later entries of the probe sequence into the gap, so that no tombstones are needed
+        for (int j = (i + 1) & mask; t[j] != null; j = (j + 1) & mask) {
+            int home = hash(t[j].key) & mask;
+            boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!reachable) {
+                t[i] = t[j];
+                i = j;
+            }
+        }
+        t[i] = null;
+    }
+
+    private void growTable() {
+        Segment[] newTable = new Segment[table.length * 2];
+        for (Segment segment : table) {
+            if (segment != null) {
+                insertIntoTable(newTable, segment);
+            }
+        }
+        table = newTable;
+    }
+
+    /**
+     * Returns the segment with the highest key less than {@code key}, or the skip list head.
+     */
+    private Segment lastSegmentBefore(long key) {
+        Segment node = head;
+        for (int level = height - 1; level >= 0; level--) {
+            Segment next = node.next[level];
+            while (next != null && next.key < key) {
+                node = next;
+                next = node.next[level];
+            }
+        }
+        return node;
+    }
+
+    private Segment addSegment(long key) {
+        if ((segmentCount + 1) * 2 > table.length) {
+            growTable();
+        }
+        Segment segment = new Segment(key, level(key));
+        insertIntoTable(table, segment);
+        segmentCount++;
+        lastSegment = segment;
+        if (segment.next.length == 1 && (tail == null || tail.key < key)) {
+            // appending a segment that only occupies the lowest level
+            Segment predecessor = tail == null ? head : tail;
+            predecessor.next[0] = segment;
+            segment.previous = tail;
+            tail = segment;
+            return segment;
+        }
+        height = Math.max(height, segment.next.length);
+        // link the segment behind its predecessor on every level it occupies
+        Segment node = head;
+        for (int level = height - 1; level >= 0; level--) {
+            Segment next = node.next[level];
+            while (next != null && next.key < key) {
+                node = next;
+                next = node.next[level];
+            }
+            if (level < segment.next.length) {
+                segment.next[level] = next;
+                node.next[level] = segment;
+            }
+        }
+        segment.previous = node == head ? null : node;
+        if (segment.next[0] != null) {
+            segment.next[0].previous = segment;
+        } else {
+            tail = segment;
+        }
+        return segment;
+    }
+
+    private void removeSegment(Segment segment) {
+        removeFromTable(segment);
+        segmentCount--;
+        Segment node = head;
+        for (int level = height - 1; level >= 0; level--) {
+            Segment next = node.next[level];
+            while (next != null && next.key < segment.key) {
+                node = next;
+                next = node.next[level];
+            }
+            if (next == segment) {
+                node.next[level] = segment.next[level];
+            }
+        }
+        if (segment.next[0] != null) {
+            segment.next[0].previous = segment.previous;
+        } else {
+            tail = segment.previous;
+        }
+        if (lastSegment == segment) {
+            lastSegment = null;
+        }
+    }
+
+    /**
+     * Number of elements.
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Object get(long index) {
+        Segment segment = findSegment(segmentKey(index));
+        return segment != null ? segment.get(segmentOffset(index)) : null;
+    }
+
+    public boolean containsKey(long index) {
+        return get(index) != null;
+    }
+
+    public void put(long index, Object value) {
+        assert index >= 0 && value != null;
+        long key = segmentKey(index);
+        Segment segment = findSegment(key);
+        if (segment == null) {
+            segment = addSegment(key);
+        }
+        if (segment.put(segmentOffset(index), value)) {
+            size++;
+        }
+    }
+
+    public void remove(long index) {
+        Segment segment = findSegment(segmentKey(index));
+        if (segment != null && segment.remove(segmentOffset(index))) {
+            size--;
+            if (segment.bitmap == 0) {
+                removeSegment(segment);
+            }
+        }
+    }
+
+    /**
+     * Removes all elements with an index greater than or equal to {@code length}.
+     */
+    public void truncate(long length) {
+        if (length == 0) {
+            clear();
+            return;
+        }
+        long key = segmentKey(length);
+        int offset = segmentOffset(length);
+        long lastKeptKey = key - 1;
+        if (offset != 0) {
+            Segment segment = findSegment(key);
+            if (segment != null) {
+                for (int o = segment.lastOffset(SEGMENT_MASK); o >= offset; o = segment.lastOffset(SEGMENT_MASK)) {
+                    segment.remove(o);
+                    size--;
+                }
+                if (segment.bitmap == 0) {
+                    removeSegment(segment);
+                }
+            }
+            lastKeptKey = key;
+        }
+        // cut the skip list behind the last kept segment on every level
+        Segment node = head;
+        Segment removed = null;
+        for (int level = height - 1; level >= 0; level--) {
+            Segment next = node.next[level];
+            while (next != null && next.key <= lastKeptKey) {
+                node = next;
+                next = node.next[level];
+            }
+            node.next[level] = null;
+            removed = next;
+        }
+        tail = node == head ? null : node;
+        for (Segment segment = removed; segment != null; segment = segment.next[0]) {
+            size -= segment.size();
+            removeFromTable(segment);
+            segmentCount--;
+        }
+        lastSegment = null;
+    }
+
+    private void clear() {
+        table = new Segment[INITIAL_TABLE_SIZE];
+        segmentCount = 0;
+        Arrays.fill(head.next, null);
+        height = 1;
+        tail = null;
+        size = 0;
+        lastSegment = null;
+    }
+
+    /**
+     * Returns the lowest index, or -1 if empty.
+     */
+    public long firstKey() {
+        Segment first = head.next[0];
+        return first == null ? -1 : first.start() + first.firstOffset(0);
+    }
+
+    /**
+     * Returns the highest index, or -1 if empty.
+     */
+    public long lastKey() {
+        Segment last = tail;
+        return last == null ? -1 : last.start() + last.lastOffset(SEGMENT_MASK);
+    }
+
+    /**
+     * Returns the lowest index greater than {@code index}, or -1 if there is none.
+     */
+    public long higherKey(long index) {
+        long next = index < 0 ? 0 : index + 1;
+        long key = segmentKey(next);
+        Segment segment = findSegment(key);
+        Segment following;
+        if (segment != null) {
+            int found = segment.firstOffset(segmentOffset(next));
+            if (found >= 0) {
+                return segment.start() + found;
+            }
+            following = segment.next[0];
+        } else {
+            following = lastSegmentBefore(key).next[0];
+        }
+        if (following == null) {
+            return -1;
+        }
+        lastSegment = following;
+        return following.start() + following.firstOffset(0);
+    }
+
+    /**
+     * Returns the highest index lower than {@code index}, or -1 if there is none.
+     */
+    public long lowerKey(long index) {
+        if (index <= 0) {
+            return -1;
+        }
+        long previous = index - 1;
+        long key = segmentKey(previous);
+        Segment segment = findSegment(key);
+        Segment preceding;
+        if (segment != null) {
+            int found = segment.lastOffset(segmentOffset(previous));
+            if (found >= 0) {
+                return segment.start() + found;
+            }
+            preceding = segment.previous;
+        } else {
+            Segment node = lastSegmentBefore(key);
+            preceding = node == head ? null : node;
+        }
+        if (preceding == null) {
+            return -1;
+        }
+        lastSegment = preceding;
+        return preceding.start() + preceding.lastOffset(SEGMENT_MASK);
+    }
+
+    /**
+     * Copies the elements into a new array of the given length; absent elements are {@code null}.
+     */
+    public Object[] toArray(int length) {
+        Object[] array = new Object[length];
+        for (Segment segment = head.next[0]; segment != null && segment.start() < length; segment = segment.next[0]) {
+            long start = segment.start();
+            int pos = 0;
+            for (int offset = segment.firstOffset(0); offset >= 0 && start + offset < length; offset = segment.firstOffset(offset + 1)) {
+                array[(int) (start + offset)] = segment.values[pos++];
+                if (offset == SEGMENT_MASK) {
+                    break;
+                }
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Returns a copy of this map that shares no mutable state with it.
+     */
+    @TruffleBoundary
+    public SparseArrayMap copy() {
+        SparseArrayMap copy = new SparseArrayMap();
+        copy.table = new Segment[table.length];
+        Segment[] tails = new Segment[MAX_LEVEL];
+        Arrays.fill(tails, copy.head);
+        Segment previous = null;
+        for (Segment segment = head.next[0]; segment != null; segment = segment.next[0]) {
+            Segment segmentCopy = new Segment(segment);
+            for (int level = 0; level < segmentCopy.next.length; level++) {
+                tails[level].next[level] = segmentCopy;
+                tails[level] = segmentCopy;
+            }
+            segmentCopy.previous = previous;
+            previous = segmentCopy;
+            insertIntoTable(copy.table, segmentCopy);
+        }
+        copy.segmentCount = segmentCount;
+        copy.height = height;
+        copy.tail = previous;
+        copy.size = size;
+        return copy;
+    }
+}
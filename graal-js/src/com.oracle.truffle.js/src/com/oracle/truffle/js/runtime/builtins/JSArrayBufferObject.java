@@ -41,14 +41,21 @@
 package com.oracle.truffle.js.runtime.builtins;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList;
+import com.oracle.truffle.js.runtime.array.InteropBufferAccess;
 import com.oracle.truffle.js.runtime.objects.JSNonProxyObject;
 import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 
+@ExportLibrary(InteropLibrary.class)
 public abstract class JSArrayBufferObject extends JSNonProxyObject {
 
     public static final String CLASS_NAME = "ArrayBuffer";
@@ -65,6 +72,87 @@ public abstract class JSArrayBufferObject extends JSNonProxyObject {
 
     public abstract void detachArrayBuffer();
 
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final boolean hasBufferElements() {
+        return true;
+    }
+
+    @ExportMessage
+    public final long getBufferSize() {
+        return getBufferByteLength();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final boolean isBufferWritable() {
+        return true;
+    }
+
+    @ExportMessage
+    public final byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferByte(this, 0, getBufferByteLength(), byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferByte(this, 0, getBufferByteLength(), byteOffset, value);
+    }
+
+    @ExportMessage
+    public final short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferShort(this, 0, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferShort(this, 0, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferInt(this, 0, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferInt(ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferInt(this, 0, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferLong(this, 0, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferLong(ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferLong(this, 0, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferFloat(this, 0, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferFloat(this, 0, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferDouble(this, 0, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferDouble(this, 0, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    private int getBufferByteLength() {
+        return InteropBufferAccess.getByteLength(this);
+    }
+
     public static byte[] getByteArray(DynamicObject thisObj) {
         assert JSAbstractBuffer.isJSAbstractHeapBuffer(thisObj);
         return ((Heap) thisObj).getByteArray();
@@ -40,11 +40,18 @@
  */
 package com.oracle.truffle.js.runtime.builtins;
 
+import java.nio.ByteOrder;
 import java.util.Objects;
 
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.array.InteropBufferAccess;
 import com.oracle.truffle.js.runtime.objects.JSNonProxyObject;
 
+@ExportLibrary(InteropLibrary.class)
 public abstract class JSArrayBufferViewBase extends JSNonProxyObject {
 
     final JSArrayBufferObject arrayBuffer;
@@ -61,4 +68,93 @@ public abstract class JSArrayBufferViewBase extends JSNonProxyObject {
     public final JSArrayBufferObject getArrayBuffer() {
         return arrayBuffer;
     }
+
+    /**
+     * Returns the length of this view in bytes, ignoring whether the buffer is detached.
+     */
+    protected abstract int getByteLength();
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final boolean hasBufferElements() {
+        return true;
+    }
+
+    @ExportMessage
+    public final long getBufferSize() {
+        return getBufferByteLength();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final boolean isBufferWritable() {
+        return true;
+    }
+
+    @ExportMessage
+    public final byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferByte(arrayBuffer, offset, getBufferByteLength(), byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferByte(arrayBuffer, offset, getBufferByteLength(), byteOffset, value);
+    }
+
+    @ExportMessage
+    public final short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferShort(arrayBuffer, offset, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferShort(arrayBuffer, offset, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferInt(arrayBuffer, offset, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferInt(ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferInt(arrayBuffer, offset, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferLong(arrayBuffer, offset, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferLong(ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferLong(arrayBuffer, offset, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferFloat(arrayBuffer, offset, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferFloat(arrayBuffer, offset, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    @ExportMessage
+    public final double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+        return InteropBufferAccess.readBufferDouble(arrayBuffer, offset, getBufferByteLength(), order, byteOffset);
+    }
+
+    @ExportMessage
+    public final void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+        InteropBufferAccess.writeBufferDouble(arrayBuffer, offset, getBufferByteLength(), order, byteOffset, value);
+    }
+
+    private int getBufferByteLength() {
+        if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+            return 0;
+        }
+        return getByteLength();
+    }
 }
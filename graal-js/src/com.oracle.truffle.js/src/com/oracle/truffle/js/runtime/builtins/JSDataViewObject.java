@@ -55,6 +55,11 @@ public final class JSDataViewObject extends JSArrayBufferViewBase {
         return JSDataView.CLASS_NAME;
     }
 
+    @Override
+    protected int getByteLength() {
+        return length;
+    }
+
     public static DynamicObject getArrayBuffer(DynamicObject thisObj) {
         return ((JSDataViewObject) thisObj).getArrayBuffer();
     }
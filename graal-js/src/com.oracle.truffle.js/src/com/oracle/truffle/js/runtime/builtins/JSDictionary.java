@@ -285,6 +285,9 @@ public final class JSDictionary extends JSNonProxy {
         Shape currentShape = obj.getShape();
         assert !isJSDictionaryObject(obj) && currentShape.getProperty(HASHMAP_PROPERTY_NAME) == null;
         JSContext context = JSObject.getJSContext(obj);
+        if (context.getShapeStatistics() != null) {
+            context.getShapeStatistics().recordDictionaryConversion(obj, reason);
+        }
         Shape newRootShape = makeEmptyShapeForNewType(context, currentShape, JSDictionary.INSTANCE, obj);
         assert JSShape.hasExternalProperties(newRootShape.getFlags());
 
@@ -350,6 +350,14 @@ public final class JSFunctionData {
         return lazyInit != null;
     }
 
+    /**
+     * Returns {@code true} if the root node of this function has been created, i.e. the function
+     * is not lazily translated or has already been translated.
+     */
+    public boolean isRootTargetInitialized() {
+        return rootTarget != null;
+    }
+
     private CallTarget ensureInitialized(Target target) {
         CompilerAsserts.neverPartOfCompilation();
         Initializer init = lazyInit;
@@ -64,7 +64,7 @@ public final class JSGlobal extends JSNonProxy {
         CompilerAsserts.neverPartOfCompilation();
         JSContext context = realm.getContext();
         JSObjectFactory factory = context.getGlobalObjectFactory();
-        DynamicObject global = new JSGlobalObject(factory.getShape(realm));
+        DynamicObject global = new JSGlobalObject(factory.getShape(realm), realm);
         factory.initProto(global, objectPrototype);
 
         JSObjectUtil.putToStringTag(global, CLASS_NAME);
@@ -82,9 +82,9 @@ public final class JSGlobal extends JSNonProxy {
         return globalObjectShape;
     }
 
-    public static DynamicObject createGlobalScope(JSContext context) {
+    public static DynamicObject createGlobalScope(JSRealm realm) {
         CompilerAsserts.neverPartOfCompilation();
-        return new JSGlobalObject(context.getGlobalScopeShape());
+        return new JSGlobalObject(realm.getContext().getGlobalScopeShape(), realm);
     }
 
     public static boolean isJSGlobalObject(Object obj) {
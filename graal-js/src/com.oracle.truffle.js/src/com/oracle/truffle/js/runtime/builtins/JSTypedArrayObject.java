@@ -81,6 +81,11 @@ public final class JSTypedArrayObject extends JSArrayBufferViewBase {
         return arrayType;
     }
 
+    @Override
+    protected int getByteLength() {
+        return length * arrayType.bytesPerElement();
+    }
+
     public static JSTypedArrayObject create(Shape shape, TypedArray arrayType, JSArrayBufferObject arrayBuffer, int length, int offset) {
         return new JSTypedArrayObject(shape, arrayType, arrayBuffer, length, offset);
     }
@@ -41,7 +41,6 @@
 package com.oracle.truffle.js.runtime.builtins;
 
 import java.util.Map;
-import java.util.WeakHashMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -50,6 +49,7 @@ import com.oracle.truffle.js.builtins.WeakSetPrototypeBuiltins;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.util.WeakMap;
 
 public final class JSWeakSet extends JSNonProxy implements JSConstructorFactory.Default, PrototypeSupplier {
 
@@ -64,20 +64,13 @@ public final class JSWeakSet extends JSNonProxy implements JSConstructorFactory.
     public static DynamicObject create(JSContext context) {
         JSRealm realm = context.getRealm();
         JSObjectFactory factory = context.getWeakSetFactory();
-        DynamicObject obj = factory.initProto(new JSWeakSetObject(factory.getShape(realm), newWeakHashMap()), realm);
+        DynamicObject obj = factory.initProto(new JSWeakSetObject(factory.getShape(realm), new WeakMap()), realm);
         assert isJSWeakSet(obj);
         return context.trackAllocation(obj);
     }
 
-    @TruffleBoundary
-    private static Map<Object, Object> newWeakHashMap() {
-        return new WeakHashMap<>();
-    }
-
-    @SuppressWarnings("unchecked")
-    public static Map<Object, Object> getInternalWeakMap(DynamicObject obj) {
+    public static Map<DynamicObject, Object> getInternalWeakMap(DynamicObject obj) {
         assert isJSWeakSet(obj);
-        // return (Map<DynamicObject, Object>) WEAKSET_PROPERTY.get(obj, isJSWeakSet(obj));
         return ((JSWeakSetObject) obj).getWeakHashMap();
     }
 
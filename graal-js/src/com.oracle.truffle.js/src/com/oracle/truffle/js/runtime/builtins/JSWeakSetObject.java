@@ -42,18 +42,19 @@ package com.oracle.truffle.js.runtime.builtins;
 
 import java.util.Map;
 
+import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.objects.JSNonProxyObject;
 
 public final class JSWeakSetObject extends JSNonProxyObject {
-    private final Map<Object, Object> weakHashMap;
+    private final Map<DynamicObject, Object> weakHashMap;
 
-    protected JSWeakSetObject(Shape shape, Map<Object, Object> weakHashMap) {
+    protected JSWeakSetObject(Shape shape, Map<DynamicObject, Object> weakHashMap) {
         super(shape);
         this.weakHashMap = weakHashMap;
     }
 
-    public Map<Object, Object> getWeakHashMap() {
+    public Map<DynamicObject, Object> getWeakHashMap() {
         return weakHashMap;
     }
 }
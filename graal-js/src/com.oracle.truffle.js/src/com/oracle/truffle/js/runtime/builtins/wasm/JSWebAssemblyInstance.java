@@ -42,6 +42,7 @@ package com.oracle.truffle.js.runtime.builtins.wasm;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -49,6 +50,7 @@ import com.oracle.truffle.api.interop.ExceptionType;
 import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
@@ -198,16 +200,24 @@ public final class JSWebAssemblyInstance extends JSNonProxy implements JSConstru
         String returnType = typeInfo.substring(idxClose + 1);
         int argCount = argTypes.length() / 3;
 
+        String[] argTypeArray = splitArgumentTypes(argTypes, argCount);
+        boolean returnTypeIsI64 = "i64".equals(returnType);
+        boolean argTypeIsI64 = argTypes.indexOf("i64") != -1;
+        boolean returnsValue = !returnType.isEmpty();
+
         CallTarget callTarget = Truffle.getRuntime().createCallTarget(new JavaScriptRootNode(context.getLanguage(), null, null) {
-            @Child ToWebAssemblyValueNode toWebAssemblyValueNode = ToWebAssemblyValueNode.create();
+            @CompilationFinal(dimensions = 1) private final String[] wasmArgTypes = argTypeArray;
+            @Children private final ToWebAssemblyValueNode[] toWebAssemblyValueNodes = createToWebAssemblyValueNodes(argCount);
             @Child ToJSValueNode toJSValueNode = ToJSValueNode.create();
+            @Child InteropLibrary exportInterop = InteropLibrary.getFactory().create(export);
 
             @Override
+            @ExplodeLoop
             public Object execute(VirtualFrame frame) {
-                if ("i64".equals(returnType)) {
+                if (returnTypeIsI64) {
                     throw Errors.createTypeError("Return type is i64");
                 }
-                if (argTypes.indexOf("i64") != -1) {
+                if (argTypeIsI64) {
                     throw Errors.createTypeError("Argument type is i64");
                 }
 
@@ -221,13 +231,13 @@ public final class JSWebAssemblyInstance extends JSNonProxy implements JSConstru
                     } else {
                         wasmArg = Undefined.instance;
                     }
-                    wasmArgs[i] = toWebAssemblyValueNode.execute(wasmArg, argTypes.substring(3 * i, 3 * (i + 1)));
+                    wasmArgs[i] = toWebAssemblyValueNodes[i].execute(wasmArg, wasmArgTypes[i]);
                 }
 
                 try {
                     Object wasmResult;
                     try {
-                        wasmResult = InteropLibrary.getUncached(export).execute(export, wasmArgs);
+                        wasmResult = exportInterop.execute(export, wasmArgs);
                     } catch (GraalJSException jsex) {
                         throw jsex;
                     } catch (AbstractTruffleException tex) {
@@ -237,12 +247,15 @@ public final class JSWebAssemblyInstance extends JSNonProxy implements JSConstru
                         } else {
                             throw Errors.createRuntimeError(tex, this);
                         }
+                    } finally {
+                        // the memory may have been grown
+                        context.getRealm().getAgent().webAssemblyExecuted();
                     }
 
-                    if (returnType.isEmpty()) {
-                        return Undefined.instance;
-                    } else {
+                    if (returnsValue) {
                         return toJSValueNode.execute(wasmResult);
+                    } else {
+                        return Undefined.instance;
                     }
                 } catch (InteropException ex) {
                     throw Errors.shouldNotReachHere(ex);
@@ -256,6 +269,22 @@ public final class JSWebAssemblyInstance extends JSNonProxy implements JSConstru
         return result;
     }
 
+    private static String[] splitArgumentTypes(String argTypes, int argCount) {
+        String[] argTypeArray = new String[argCount];
+        for (int i = 0; i < argCount; i++) {
+            argTypeArray[i] = argTypes.substring(3 * i, 3 * (i + 1));
+        }
+        return argTypeArray;
+    }
+
+    private static ToWebAssemblyValueNode[] createToWebAssemblyValueNodes(int argCount) {
+        ToWebAssemblyValueNode[] nodes = new ToWebAssemblyValueNode[argCount];
+        for (int i = 0; i < argCount; i++) {
+            nodes[i] = ToWebAssemblyValueNode.create();
+        }
+        return nodes;
+    }
+
     public static Object transformImportObject(JSContext context, Object wasmModule, Object importObject) {
         try {
             TruffleObject truffleImportObject = (TruffleObject) importObject;
@@ -360,6 +389,10 @@ public final class JSWebAssemblyInstance extends JSNonProxy implements JSConstru
         String returnType = typeInfo.substring(idxClose + 1);
         int argCount = argTypes.length() / 3;
 
+        boolean returnTypeIsI64 = "i64".equals(returnType);
+        boolean argTypeIsI64 = argTypes.indexOf("i64") != -1;
+        boolean returnsValue = !returnType.isEmpty();
+
         CallTarget callTarget = Truffle.getRuntime().createCallTarget(new JavaScriptRootNode(context.getLanguage(), null, null) {
             @Node.Child ToWebAssemblyValueNode toWebAssemblyValueNode = ToWebAssemblyValueNode.create();
             @Node.Child ToJSValueNode toJSValueNode = ToJSValueNode.create();
@@ -367,10 +400,12 @@ public final class JSWebAssemblyInstance extends JSNonProxy implements JSConstru
 
             @Override
             public Object execute(VirtualFrame frame) {
-                if ("i64".equals(returnType)) {
+                // called from WebAssembly code, which may have grown the memory
+                context.getRealm().getAgent().webAssemblyExecuted();
+                if (returnTypeIsI64) {
                     throw Errors.createTypeError("Return type is i64");
                 }
-                if (argTypes.indexOf("i64") != -1) {
+                if (argTypeIsI64) {
                     throw Errors.createTypeError("Argument type is i64");
                 }
 
@@ -383,10 +418,10 @@ public final class JSWebAssemblyInstance extends JSNonProxy implements JSConstru
 
                 Object result = callNode.executeCall(JSArguments.create(Undefined.instance, fn, jsArgs));
 
-                if (returnType.isEmpty()) {
-                    return Undefined.instance;
-                } else {
+                if (returnsValue) {
                     return toWebAssemblyValueNode.execute(result, returnType);
+                } else {
+                    return Undefined.instance;
                 }
             }
         });
@@ -40,11 +40,17 @@
  */
 package com.oracle.truffle.js.runtime.builtins.wasm;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.memory.ByteArraySupport;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.builtins.wasm.WebAssemblyMemoryPrototypeBuiltins;
@@ -112,10 +118,9 @@ public class JSWebAssemblyMemory extends JSNonProxy implements JSConstructorFact
     }
 
     public static JSWebAssemblyMemoryObject create(JSContext context, Object wasmMemory) {
-        DynamicObject bufferObject = createBufferObject(context, wasmMemory);
         JSRealm realm = context.getRealm();
         JSObjectFactory factory = context.getWebAssemblyMemoryFactory();
-        JSWebAssemblyMemoryObject object = new JSWebAssemblyMemoryObject(factory.getShape(realm), wasmMemory, bufferObject);
+        JSWebAssemblyMemoryObject object = new JSWebAssemblyMemoryObject(factory.getShape(realm), context, wasmMemory);
         factory.initProto(object, realm);
         return context.trackAllocation(object);
     }
@@ -140,16 +145,33 @@ public class JSWebAssemblyMemory extends JSNonProxy implements JSConstructorFact
         return JSFunction.create(realm, getterData);
     }
 
+    /**
+     * Creates the ArrayBuffer returned by {@code WebAssembly.Memory.prototype.buffer}.
+     *
+     * If the memory is backed by a writable direct {@link ByteBuffer}, the ArrayBuffer aliases it,
+     * as required by the JS API: writes on either side are visible to the other. Otherwise, the
+     * ArrayBuffer is a snapshot of the memory contents at the time of the call, and later writes on
+     * either side are not visible to the other. In both cases, the ArrayBuffer is detached and
+     * replaced once the memory grows, see {@link JSWebAssemblyMemoryObject#getBufferObject()}.
+     */
+    @TruffleBoundary
     public static DynamicObject createBufferObject(JSContext context, Object wasmMemory) {
         try {
-            Object bufferFn = InteropLibrary.getUncached(wasmMemory).readMember(wasmMemory, BUFFER);
-            Object wasmBuffer = InteropLibrary.getUncached(bufferFn).execute(bufferFn);
+            Object wasmBuffer = getWasmBuffer(wasmMemory);
+            ByteBuffer byteBuffer = asAliasableByteBuffer(context, wasmBuffer);
+            if (byteBuffer != null) {
+                return JSArrayBuffer.createDirectArrayBuffer(context, byteBuffer);
+            }
+
+            InteropLibrary interop = InteropLibrary.getUncached(wasmBuffer);
+            if (interop.hasBufferElements(wasmBuffer)) {
+                return JSArrayBuffer.createArrayBuffer(context, copyBufferElements(interop, wasmBuffer));
+            }
 
-            InteropLibrary interop = InteropLibrary.getUncached();
             int size = (int) interop.getArraySize(wasmBuffer);
             byte[] bytes = new byte[size];
             for (int i = 0; i < size; i++) {
-                bytes[i] = interop.asByte(interop.readArrayElement(wasmBuffer, i));
+                bytes[i] = InteropLibrary.getUncached().asByte(interop.readArrayElement(wasmBuffer, i));
             }
 
             return JSArrayBuffer.createArrayBuffer(context, bytes);
@@ -158,4 +180,59 @@ public class JSWebAssemblyMemory extends JSNonProxy implements JSConstructorFact
         }
     }
 
+    /**
+     * Returns the current size of the memory in bytes.
+     */
+    @TruffleBoundary
+    public static int getByteLength(JSContext context, Object wasmMemory) {
+        try {
+            Object wasmBuffer = getWasmBuffer(wasmMemory);
+            ByteBuffer byteBuffer = asAliasableByteBuffer(context, wasmBuffer);
+            if (byteBuffer != null) {
+                return byteBuffer.capacity();
+            }
+            InteropLibrary interop = InteropLibrary.getUncached(wasmBuffer);
+            if (interop.hasBufferElements(wasmBuffer)) {
+                return (int) interop.getBufferSize(wasmBuffer);
+            }
+            return (int) interop.getArraySize(wasmBuffer);
+        } catch (InteropException ex) {
+            throw Errors.shouldNotReachHere(ex);
+        }
+    }
+
+    private static Object getWasmBuffer(Object wasmMemory) throws InteropException {
+        Object bufferFn = InteropLibrary.getUncached(wasmMemory).readMember(wasmMemory, BUFFER);
+        return InteropLibrary.getUncached(bufferFn).execute(bufferFn);
+    }
+
+    private static ByteBuffer asAliasableByteBuffer(JSContext context, Object wasmBuffer) {
+        TruffleLanguage.Env env = context.getRealm().getEnv();
+        if (env.isHostObject(wasmBuffer)) {
+            Object hostBuffer = env.asHostObject(wasmBuffer);
+            if (hostBuffer instanceof ByteBuffer && ((ByteBuffer) hostBuffer).isDirect() && !((ByteBuffer) hostBuffer).isReadOnly()) {
+                return (ByteBuffer) hostBuffer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copies the contents of a memory buffer that supports the interop buffer protocol, eight bytes
+     * at a time.
+     */
+    private static byte[] copyBufferElements(InteropLibrary interop, Object wasmBuffer) throws InteropException {
+        int size = (int) interop.getBufferSize(wasmBuffer);
+        byte[] bytes = new byte[size];
+        ByteArraySupport support = ByteArraySupport.littleEndian();
+        int i = 0;
+        for (; i + Long.BYTES <= size; i += Long.BYTES) {
+            support.putLong(bytes, i, interop.readBufferLong(wasmBuffer, ByteOrder.LITTLE_ENDIAN, i));
+        }
+        for (; i < size; i++) {
+            bytes[i] = interop.readBufferByte(wasmBuffer, i);
+        }
+        return bytes;
+    }
+
 }
@@ -42,33 +42,61 @@ package com.oracle.truffle.js.runtime.builtins.wasm;
 
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.JSAgent;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.array.InteropBufferAccess;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
 import com.oracle.truffle.js.runtime.objects.JSNonProxyObject;
-import com.oracle.truffle.js.runtime.objects.JSObject;
 
 public final class JSWebAssemblyMemoryObject extends JSNonProxyObject {
+    private final JSContext context;
     private final Object wasmMemory;
     private DynamicObject bufferObject;
+    /** Size of the memory in bytes when {@link #bufferObject} was created. */
+    private int bufferByteLength;
+    /** WebAssembly execution count of the agent when the size of the memory was last checked. */
+    private int checkedExecutionCount;
 
-    protected JSWebAssemblyMemoryObject(Shape shape, Object wasmMemory, DynamicObject bufferObject) {
+    protected JSWebAssemblyMemoryObject(Shape shape, JSContext context, Object wasmMemory) {
         super(shape);
-        assert JSArrayBuffer.isJSAbstractBuffer(bufferObject);
+        this.context = context;
         this.wasmMemory = wasmMemory;
-        this.bufferObject = bufferObject;
+        createBufferObject();
     }
 
     public Object getWASMMemory() {
         return wasmMemory;
     }
 
+    /**
+     * Returns the ArrayBuffer for the current contents of the memory. The memory can also be grown
+     * by WebAssembly code, so its size is checked again if WebAssembly code has been executed since
+     * the last check: if it has changed, the previous buffer is detached and replaced, as if
+     * {@code grow()} had been called from JavaScript.
+     */
     public DynamicObject getBufferObject() {
+        JSAgent agent = context.getRealm().getAgent();
+        int executionCount = agent.getWebAssemblyExecutionCount();
+        if (executionCount != checkedExecutionCount) {
+            checkedExecutionCount = executionCount;
+            if (JSWebAssemblyMemory.getByteLength(context, wasmMemory) != bufferByteLength) {
+                resetBufferObject();
+            }
+        }
         return bufferObject;
     }
 
     public void resetBufferObject() {
-        DynamicObject oldBufferObject = bufferObject;
-        JSArrayBuffer.detachArrayBuffer(oldBufferObject);
-        bufferObject = JSWebAssemblyMemory.createBufferObject(JSObject.getJSContext(oldBufferObject), wasmMemory);
+        JSArrayBuffer.detachArrayBuffer(bufferObject);
+        createBufferObject();
+    }
+
+    private void createBufferObject() {
+        bufferObject = JSWebAssemblyMemory.createBufferObject(context, wasmMemory);
+        assert JSArrayBuffer.isJSAbstractBuffer(bufferObject);
+        bufferByteLength = InteropBufferAccess.getByteLength((JSArrayBufferObject) bufferObject);
+        checkedExecutionCount = context.getRealm().getAgent().getWebAssemblyExecutionCount();
     }
 
 }
@@ -57,14 +57,18 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.object.HiddenKey;
+import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JSGuards;
+import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.access.ReadElementNode;
 import com.oracle.truffle.js.nodes.access.WriteElementNode;
 import com.oracle.truffle.js.nodes.interop.ExportValueNode;
@@ -84,6 +88,7 @@ import com.oracle.truffle.js.runtime.builtins.JSArrayBase;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSObjectPrototype;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSTypedArrayObject;
 import com.oracle.truffle.js.runtime.interop.InteropArray;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
@@ -127,16 +132,27 @@ public abstract class JSObject extends JSDynamicObject {
         return true;
     }
 
-    @ImportStatic({JSGuards.class, JSObject.class})
+    @ImportStatic({JSConfig.class, JSGuards.class, JSObject.class})
     @ExportMessage
     public abstract static class GetMembers {
+        /**
+         * The enumerable own names of an ordinary object are determined by its shape, so the
+         * (immutable) member array can be shared by all objects of that shape.
+         */
+        @Specialization(guards = {"isJSOrdinaryObject(target)", "target.getShape() == cachedShape"}, assumptions = "cachedShape.getValidAssumption()", limit = "PropertyCacheLimit")
+        public static Object ordinaryShapeCached(@SuppressWarnings("unused") JSObject target, @SuppressWarnings("unused") boolean internal,
+                        @Cached("target.getShape()") @SuppressWarnings("unused") Shape cachedShape,
+                        @Cached("create(enumerableOwnNames(target))") InteropArray cachedMembers) {
+            return cachedMembers;
+        }
+
         @Specialization(guards = {"cachedJSClass != null", "getJSClass(target) == cachedJSClass"})
         public static Object nonArrayCached(JSObject target, @SuppressWarnings("unused") boolean internal,
                         @Cached("getJSClass(target)") @SuppressWarnings("unused") JSClass cachedJSClass) {
             return InteropArray.create(JSObject.enumerableOwnNames(target));
         }
 
-        @Specialization(replaces = "nonArrayCached")
+        @Specialization(replaces = {"ordinaryShapeCached", "nonArrayCached"})
         public static Object nonArrayUncached(JSObject target, @SuppressWarnings("unused") boolean internal) {
             return InteropArray.create(JSObject.enumerableOwnNames(target));
         }
@@ -156,23 +172,55 @@ public abstract class JSObject extends JSDynamicObject {
         return names.toArray(EMPTY_STRING_ARRAY);
     }
 
+    @ImportStatic({JSConfig.class, JSGuards.class, JSRuntime.class})
     @ExportMessage
-    public final Object readMember(String key,
-                    @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
-                    @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedRead()") ReadElementNode readNode,
-                    @Cached(value = "languageRef.get().bindMemberFunctions()", allowUncached = true) boolean bindMemberFunctions,
-                    @Cached @Exclusive ExportValueNode exportNode) throws UnknownIdentifierException {
-        DynamicObject target = this;
-        Object result;
-        if (readNode == null) {
-            result = JSObject.getOrDefault(target, key, target, null);
-        } else {
-            result = readNode.executeWithTargetAndIndexOrDefault(target, key, null);
+    public abstract static class ReadMember {
+        /**
+         * Members that are read repeatedly use a property get node specialized on the key, which in
+         * turn caches on the receiver's shape.
+         */
+        @Specialization(guards = {"cachedKey.equals(key)", "!isArrayIndex(cachedKey)", "!isJSArrayBufferView(target)"}, limit = "PropertyCacheLimit")
+        public static Object cachedKey(JSObject target, @SuppressWarnings("unused") String key,
+                        @Cached("key") String cachedKey,
+                        @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
+                        @Cached("create(cachedKey, languageRef.get().getJSContext())") PropertyGetNode getNode,
+                        @Cached("languageRef.get().bindMemberFunctions()") boolean bindMemberFunctions,
+                        @Cached @Exclusive ExportValueNode exportNode) throws UnknownIdentifierException {
+            Object result = getNode.getValueOrDefault(target, null);
+            if (result == null) {
+                throw UnknownIdentifierException.create(cachedKey);
+            }
+            return exportNode.execute(result, target, bindMemberFunctions);
         }
-        if (result == null) {
-            throw UnknownIdentifierException.create(key);
+
+        @Specialization(replaces = "cachedKey")
+        public static Object generic(JSObject target, String key,
+                        @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
+                        @CachedLibrary(limit = "PropertyCacheLimit") DynamicObjectLibrary objectLibrary,
+                        @Cached(value = "create(languageRef.get().getJSContext())", uncached = "getUncachedRead()") ReadElementNode readNode,
+                        @Cached(value = "languageRef.get().bindMemberFunctions()", allowUncached = true) boolean bindMemberFunctions,
+                        @Cached @Exclusive ExportValueNode exportNode) throws UnknownIdentifierException {
+            Object result;
+            if (isOrdinaryDataProperty(target, objectLibrary.getProperty(target, key))) {
+                result = objectLibrary.getOrDefault(target, key, null);
+            } else if (readNode == null) {
+                result = JSObject.getOrDefault(target, key, target, null);
+            } else {
+                result = readNode.executeWithTargetAndIndexOrDefault(target, key, null);
+            }
+            if (result == null) {
+                throw UnknownIdentifierException.create(key);
+            }
+            return exportNode.execute(result, target, bindMemberFunctions);
         }
-        return exportNode.execute(result, target, bindMemberFunctions);
+    }
+
+    /**
+     * Whether the property is a plain own data property of an ordinary object, i.e. whether it can
+     * be accessed directly in the object's storage without going through [[Get]] or [[Set]].
+     */
+    static boolean isOrdinaryDataProperty(DynamicObject target, Property property) {
+        return property != null && JSProperty.isData(property) && !JSProperty.isProxy(property) && JSOrdinary.isJSOrdinaryObject(target);
     }
 
     @ExportMessage
@@ -186,9 +234,16 @@ public abstract class JSObject extends JSDynamicObject {
                     @Shared("keyInfo") @Cached KeyInfoNode keyInfo,
                     @Cached ImportValueNode castValueNode,
                     @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
-                    @Cached(value = "createCachedInterop(languageRef)", uncached = "getUncachedWrite()") WriteElementNode writeNode)
+                    @Cached(value = "createCachedInterop(languageRef)", uncached = "getUncachedWrite()") WriteElementNode writeNode,
+                    @CachedLibrary(limit = "2") DynamicObjectLibrary objectLibrary)
                     throws UnknownIdentifierException, UnsupportedMessageException {
         DynamicObject target = this;
+        Property property = objectLibrary.getProperty(target, key);
+        if (isOrdinaryDataProperty(target, property) && JSProperty.isWritable(property)) {
+            // existing writable own data property: [[Set]] just replaces the value
+            objectLibrary.put(target, key, castValueNode.executeWithTarget(value));
+            return;
+        }
         if (testIntegrityLevel(true)) {
             throw UnsupportedMessageException.create();
         }
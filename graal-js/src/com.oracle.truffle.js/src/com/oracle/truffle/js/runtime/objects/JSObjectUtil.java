@@ -309,6 +309,24 @@ public final class JSObjectUtil {
         return prototypeData.getOrAddProtoChildTree(jsclass, createChildRootShape(obj, jsclass, context));
     }
 
+    /**
+     * Get or create the prototype child shape of ordinary objects with the
+     * {@link JSOrdinaryObject.LargeLayout large layout} inheriting from this object.
+     */
+    public static Shape getLargeLayoutProtoChildShape(DynamicObject obj, JSContext context) {
+        CompilerAsserts.neverPartOfCompilation();
+        assert JSRuntime.isObject(obj) && !context.isMultiContext();
+        JSPrototypeData prototypeData = getPrototypeData(obj);
+        if (prototypeData == null) {
+            prototypeData = putPrototypeData(obj);
+        }
+        Shape protoChild = prototypeData.getLargeLayoutProtoChildTree();
+        if (protoChild != null) {
+            return protoChild;
+        }
+        return prototypeData.getOrAddLargeLayoutProtoChildTree(JSShape.createLargeLayoutObjectShape(context, obj));
+    }
+
     private static Shape createChildRootShape(DynamicObject proto, JSClass jsclass, JSContext context) {
         CompilerAsserts.neverPartOfCompilation();
         assert proto != null && proto != Null.instance;
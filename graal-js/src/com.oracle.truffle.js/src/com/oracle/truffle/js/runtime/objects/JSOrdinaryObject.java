@@ -51,6 +51,9 @@ public abstract class JSOrdinaryObject extends JSNonProxyObject implements JSCop
     }
 
     public static JSOrdinaryObject create(Shape shape) {
+        if (JSShape.isLargeLayout(shape)) {
+            return new LargeLayout(shape);
+        }
         return new DefaultLayout(shape);
     }
 
@@ -71,7 +74,10 @@ public abstract class JSOrdinaryObject extends JSNonProxyObject implements JSCop
         return true;
     }
 
-    public static final class DefaultLayout extends JSOrdinaryObject {
+    public static class DefaultLayout extends JSOrdinaryObject {
+        /** Number of in-object property slots. */
+        public static final int FIELD_COUNT = 7;
+
         @DynamicField Object o0;
         @DynamicField Object o1;
         @DynamicField Object o2;
@@ -89,4 +95,41 @@ public abstract class JSOrdinaryObject extends JSNonProxyObject implements JSCop
             return new DefaultLayout(shape);
         }
     }
+
+    /**
+     * Layout with more in-object property slots, used for instances that are known to end up with
+     * many properties. Extends {@link DefaultLayout} so that it can still adopt default shapes,
+     * e.g. after a prototype change or a transition to dictionary mode.
+     */
+    public static final class LargeLayout extends DefaultLayout {
+        /** Number of in-object property slots. */
+        public static final int FIELD_COUNT = 24;
+
+        @DynamicField Object o4;
+        @DynamicField Object o5;
+        @DynamicField Object o6;
+        @DynamicField Object o7;
+        @DynamicField Object o8;
+        @DynamicField Object o9;
+        @DynamicField Object o10;
+        @DynamicField Object o11;
+        @DynamicField Object o12;
+        @DynamicField Object o13;
+        @DynamicField Object o14;
+        @DynamicField Object o15;
+        @DynamicField long p3;
+        @DynamicField long p4;
+        @DynamicField long p5;
+        @DynamicField long p6;
+        @DynamicField long p7;
+
+        protected LargeLayout(Shape shape) {
+            super(shape);
+        }
+
+        @Override
+        protected JSObject copyWithoutProperties(Shape shape) {
+            return JSOrdinaryObject.create(shape);
+        }
+    }
 }
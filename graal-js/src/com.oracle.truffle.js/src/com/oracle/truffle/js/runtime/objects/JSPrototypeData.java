@@ -52,6 +52,7 @@ import com.oracle.truffle.js.runtime.builtins.JSClass;
 public final class JSPrototypeData {
     private static final Shape[] EMPTY_SHAPE_ARRAY = new Shape[0];
     private volatile Shape[] protoChildTrees;
+    private volatile Shape largeLayoutProtoChildTree;
 
     public JSPrototypeData() {
         this.protoChildTrees = EMPTY_SHAPE_ARRAY;
@@ -78,4 +79,18 @@ public final class JSPrototypeData {
         }
         return existingRootShape;
     }
+
+    public Shape getLargeLayoutProtoChildTree() {
+        return largeLayoutProtoChildTree;
+    }
+
+    public synchronized Shape getOrAddLargeLayoutProtoChildTree(Shape newRootShape) {
+        CompilerAsserts.neverPartOfCompilation();
+        Shape existingRootShape = largeLayoutProtoChildTree;
+        if (existingRootShape == null) {
+            largeLayoutProtoChildTree = newRootShape;
+            return newRootShape;
+        }
+        return existingRootShape;
+    }
 }
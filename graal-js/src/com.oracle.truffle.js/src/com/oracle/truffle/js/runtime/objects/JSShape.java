@@ -51,6 +51,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSDictionary;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.util.ForInEnumCache;
 import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
 import com.oracle.truffle.js.runtime.util.UnmodifiablePropertyKeyList;
 
@@ -73,6 +74,11 @@ public final class JSShape {
      */
     public static final int EXTERNAL_PROPERTIES_FLAG = 1 << 3;
 
+    /**
+     * If this flag is set, objects of this shape use the {@link JSOrdinaryObject.LargeLayout}.
+     */
+    public static final int LARGE_LAYOUT_FLAG = 1 << 4;
+
     private JSShape() {
     }
 
@@ -90,6 +96,15 @@ public final class JSShape {
         return Shape.newBuilder(rootShape).addConstantProperty(JSObject.HIDDEN_PROTO, prototype, 0).build();
     }
 
+    static Shape createLargeLayoutObjectShape(JSContext context, DynamicObject prototype) {
+        Shape rootShape = newBuilder(context, JSOrdinary.INSTANCE, prototype).layout(JSOrdinaryObject.LargeLayout.class).shapeFlags(LARGE_LAYOUT_FLAG).build();
+        return Shape.newBuilder(rootShape).addConstantProperty(JSObject.HIDDEN_PROTO, prototype, 0).build();
+    }
+
+    public static boolean isLargeLayout(Shape shape) {
+        return (shape.getFlags() & LARGE_LAYOUT_FLAG) != 0;
+    }
+
     public static JSClass getJSClass(Shape shape) {
         return (JSClass) shape.getDynamicType();
     }
@@ -169,6 +184,16 @@ public final class JSShape {
         return JSShapeData.getPropertiesIfHasEnumerablePropertyNames(shape);
     }
 
+    public static ForInEnumCache getForInEnumCache(Shape shape) {
+        assert JSConfig.FastOwnKeys;
+        return JSShapeData.getForInEnumCache(shape);
+    }
+
+    public static void setForInEnumCache(Shape shape, ForInEnumCache cache) {
+        assert JSConfig.FastOwnKeys;
+        JSShapeData.setForInEnumCache(shape, cache);
+    }
+
     /**
      * Internal constructor for null and undefined shapes.
      */
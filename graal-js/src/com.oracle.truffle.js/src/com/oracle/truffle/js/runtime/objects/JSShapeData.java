@@ -53,6 +53,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
+import com.oracle.truffle.js.runtime.util.ForInEnumCache;
 import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
 import com.oracle.truffle.js.runtime.util.UnmodifiablePropertyKeyList;
 
@@ -72,6 +73,8 @@ public final class JSShapeData {
     private Property[] propertyArray;
     /** Only enumerable properties with string keys (no symbols). */
     private String[] enumerablePropertyNames;
+    /** For-in keys of objects with this shape, including the prototype chain. */
+    private ForInEnumCache forInEnumCache;
 
     private JSShapeData() {
     }
@@ -221,10 +224,23 @@ public final class JSShapeData {
         return UnmodifiablePropertyKeyList.create(propertyArray, start, end);
     }
 
+    static ForInEnumCache getForInEnumCache(Shape shape) {
+        CompilerAsserts.neverPartOfCompilation();
+        return getShapeData(shape).forInEnumCache;
+    }
+
+    static void setForInEnumCache(Shape shape, ForInEnumCache cache) {
+        CompilerAsserts.neverPartOfCompilation();
+        assert cache.getReceiverShape() == shape;
+        forInEnumCacheAllocCount.inc();
+        getShapeData(shape).forInEnumCache = cache;
+    }
+
     private static <T> UnmodifiableArrayList<T> asUnmodifiableList(T[] array) {
         return new UnmodifiableArrayList<>(array);
     }
 
     private static final DebugCounter enumerablePropertyListAllocCount = DebugCounter.create("Enumerable property lists allocated");
+    private static final DebugCounter forInEnumCacheAllocCount = DebugCounter.create("For-in enum caches allocated");
     private static final DebugCounter propertyListAllocCount = DebugCounter.create("Property lists allocated");
 }
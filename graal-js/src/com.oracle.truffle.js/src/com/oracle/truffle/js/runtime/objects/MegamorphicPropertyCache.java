@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.builtins.JSClass;
+import com.oracle.truffle.js.runtime.builtins.JSDictionary;
+import com.oracle.truffle.js.runtime.builtins.JSModuleNamespace;
+import com.oracle.truffle.js.runtime.builtins.JSNonProxy;
+import com.oracle.truffle.js.runtime.java.JavaImporter;
+import com.oracle.truffle.js.runtime.java.JavaPackage;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
+/**
+ * Global (per-context) hashed property lookup cache, keyed by (receiver shape, property key).
+ *
+ * Used by megamorphic property accesses, i.e. property cache nodes that have exceeded the property
+ * cache limit, to avoid a full property lookup on the object and its prototype chain. An entry
+ * records the shapes of the receiver and its prototypes up to the object holding the property (the
+ * holder). An entry is only valid if all these objects still have the recorded shapes. Entries are
+ * immutable, so concurrent readers see either a complete old or a complete new entry.
+ *
+ * Only objects whose property lookup is fully determined by their shape are cached, i.e., no
+ * proxies, dictionary objects, module namespaces, or numeric keys (array elements).
+ */
+public final class MegamorphicPropertyCache {
+    /** Returned by {@link #get} if the cache does not have a matching entry. */
+    public static final Object MISS = new Object();
+
+    private static final Shape[] EMPTY_SHAPE_ARRAY = new Shape[0];
+    private static final int MAX_PROTOTYPE_DEPTH = 8;
+
+    private final Entry[] entries;
+    private final int mask;
+    private final AtomicInteger megamorphicSiteCount = new AtomicInteger();
+
+    private static final class Entry {
+        final Shape shape;
+        final Object key;
+        /** Shapes of the prototypes, up to and including the holder of the property. */
+        final Shape[] prototypeShapes;
+        /** The property, or {@code null} if the property is not present in the prototype chain. */
+        final Property property;
+
+        Entry(Shape shape, Object key, Shape[] prototypeShapes, Property property) {
+            this.shape = shape;
+            this.key = key;
+            this.prototypeShapes = prototypeShapes;
+            this.property = property;
+        }
+    }
+
+    public MegamorphicPropertyCache(int size) {
+        assert size > 0;
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private int index(Shape shape, Object key) {
+        int hash = System.identityHashCode(shape) * 31 + key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Gets the value of the property from the object or its prototype chain.
+     *
+     * @return the property value, {@code null} if the property is known to be absent, or
+     *         {@link #MISS} if there is no valid cache entry.
+     */
+    @TruffleBoundary
+    public Object get(DynamicObject obj, Object key, Object receiver, Node encapsulatingNode) {
+        Shape shape = obj.getShape();
+        Entry entry = entries[index(shape, key)];
+        if (entry != null && entry.shape == shape && key.equals(entry.key)) {
+            DynamicObject holder = obj;
+            for (Shape prototypeShape : entry.prototypeShapes) {
+                holder = JSObjectUtil.getPrototype(holder);
+                if (holder.getShape() != prototypeShape) {
+                    missCount.inc();
+                    return MISS;
+                }
+            }
+            if (entry.property == null) {
+                if (JSObjectUtil.getPrototype(holder) != Null.instance) {
+                    missCount.inc();
+                    return MISS;
+                }
+                hitCount.inc();
+                return null;
+            }
+            hitCount.inc();
+            return JSProperty.getValue(entry.property, holder, receiver, encapsulatingNode);
+        }
+        missCount.inc();
+        return MISS;
+    }
+
+    /**
+     * Sets the value of an existing, writable own data property of the object.
+     *
+     * @return true if the value has been set, false if there is no valid cache entry.
+     */
+    @TruffleBoundary
+    public boolean set(DynamicObject obj, Object key, Object value) {
+        Shape shape = obj.getShape();
+        Entry entry = entries[index(shape, key)];
+        if (entry != null && entry.shape == shape && key.equals(entry.key) && entry.prototypeShapes.length == 0) {
+            Property property = entry.property;
+            if (property != null && JSProperty.isData(property) && !JSProperty.isProxy(property) && JSProperty.isWritable(property)) {
+                if (DynamicObjectLibrary.getUncached().putIfPresent(obj, key, value)) {
+                    hitCount.inc();
+                    return true;
+                }
+            }
+        }
+        missCount.inc();
+        return false;
+    }
+
+    /**
+     * Adds an entry for the current shape of the object and its prototype chain, if cacheable.
+     */
+    @TruffleBoundary
+    public void add(DynamicObject obj, Object key) {
+        if (!isCacheableKey(key)) {
+            return;
+        }
+        Shape shape = obj.getShape();
+        if (!shape.isValid() || !isCacheableObject(obj)) {
+            return;
+        }
+        Property property = shape.getProperty(key);
+        Shape[] prototypeShapes = EMPTY_SHAPE_ARRAY;
+        if (property == null) {
+            int depth = 0;
+            Shape[] chain = new Shape[MAX_PROTOTYPE_DEPTH];
+            DynamicObject current = JSObjectUtil.getPrototype(obj);
+            while (current != Null.instance) {
+                Shape currentShape = current.getShape();
+                if (depth == MAX_PROTOTYPE_DEPTH || !currentShape.isValid() || !isCacheableObject(current)) {
+                    return;
+                }
+                chain[depth++] = currentShape;
+                property = currentShape.getProperty(key);
+                if (property != null) {
+                    break;
+                }
+                current = JSObjectUtil.getPrototype(current);
+            }
+            prototypeShapes = Arrays.copyOf(chain, depth);
+        }
+        entries[index(shape, key)] = new Entry(shape, key, prototypeShapes, property);
+        entryCount.inc();
+    }
+
+    private static boolean isCacheableKey(Object key) {
+        return key instanceof Symbol || (key instanceof String && JSRuntime.canonicalNumericIndexString((String) key) == Undefined.instance);
+    }
+
+    private static boolean isCacheableObject(DynamicObject obj) {
+        JSClass jsclass = JSObject.getJSClass(obj);
+        return jsclass instanceof JSNonProxy && jsclass != JSDictionary.INSTANCE && jsclass != JSModuleNamespace.INSTANCE &&
+                        !(jsclass instanceof JavaPackage) && !(jsclass instanceof JavaImporter);
+    }
+
+    /**
+     * Called when a property cache node goes megamorphic.
+     */
+    public void incrementMegamorphicSiteCount() {
+        megamorphicSiteCount.incrementAndGet();
+    }
+
+    /**
+     * Number of property access sites that have gone megamorphic in this context.
+     */
+    public int getMegamorphicSiteCount() {
+        return megamorphicSiteCount.get();
+    }
+
+    private static final DebugCounter hitCount = DebugCounter.create("Megamorphic property cache hits");
+    private static final DebugCounter missCount = DebugCounter.create("Megamorphic property cache misses");
+    private static final DebugCounter entryCount = DebugCounter.create("Megamorphic property cache entries added");
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import java.lang.ref.WeakReference;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.JSContext;
+
+/**
+ * Allocation site feedback for ordinary objects (slack tracking).
+ *
+ * While tracking, every allocation records the number of properties that the previously allocated
+ * instance has reached in the meantime. After {@value #TRACKED_INSTANCES} instances, if they ended
+ * up with more properties than the default layout has in-object slots, later instances with the
+ * same prototype are allocated with the {@link JSOrdinaryObject.LargeLayout large layout}, so that
+ * their properties do not have to be stored in extension arrays.
+ *
+ * Tracking state is compilation final; callers have to deoptimize before calling
+ * {@link #track}.
+ */
+public final class ObjectAllocationSite {
+    static final int TRACKED_INSTANCES = 8;
+
+    @CompilationFinal private boolean tracking;
+    @CompilationFinal private Shape largeLayoutShape;
+    @CompilationFinal private DynamicObject largeLayoutPrototype;
+    private int instanceCount;
+    private int maxPropertyCount;
+    private WeakReference<DynamicObject> lastInstance;
+
+    private ObjectAllocationSite(int instanceCount, int maxPropertyCount) {
+        this.tracking = true;
+        this.instanceCount = instanceCount;
+        this.maxPropertyCount = maxPropertyCount;
+    }
+
+    public static ObjectAllocationSite create() {
+        return new ObjectAllocationSite(0, 0);
+    }
+
+    /**
+     * Creates an allocation site for objects that are known to get at least the given number of
+     * properties, e.g. object literals. If these do not fit into the default layout, the large
+     * layout is used from the first instance on.
+     */
+    public static ObjectAllocationSite create(int expectedPropertyCount) {
+        if (expectedPropertyCount > JSOrdinaryObject.DefaultLayout.FIELD_COUNT) {
+            return new ObjectAllocationSite(TRACKED_INSTANCES, expectedPropertyCount);
+        }
+        return create();
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Returns the shape for new instances with the given prototype.
+     */
+    public Shape getShape(Shape defaultShape, DynamicObject prototype) {
+        Shape shape = largeLayoutShape;
+        if (shape != null && prototype == largeLayoutPrototype) {
+            return shape;
+        }
+        return defaultShape;
+    }
+
+    /**
+     * Records a new instance and completes tracking after {@value #TRACKED_INSTANCES} instances.
+     */
+    public void track(DynamicObject instance, DynamicObject prototype, JSContext context) {
+        CompilerAsserts.neverPartOfCompilation();
+        assert tracking;
+        DynamicObject previous = lastInstance == null ? null : lastInstance.get();
+        if (previous != null) {
+            maxPropertyCount = Math.max(maxPropertyCount, previous.getShape().getPropertyCount());
+        }
+        if (++instanceCount <= TRACKED_INSTANCES) {
+            lastInstance = new WeakReference<>(instance);
+            return;
+        }
+        lastInstance = null;
+        tracking = false;
+        if (maxPropertyCount > JSOrdinaryObject.DefaultLayout.FIELD_COUNT && !context.isMultiContext() && JSObject.isJSObject(prototype)) {
+            largeLayoutPrototype = prototype;
+            largeLayoutShape = JSObjectUtil.getLargeLayoutProtoChildShape(prototype, context);
+        }
+    }
+}
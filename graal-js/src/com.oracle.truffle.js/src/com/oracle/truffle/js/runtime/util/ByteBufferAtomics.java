@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Atomic accesses to aligned 32-bit and 64-bit values in a direct {@link ByteBuffer} in native byte
+ * order, as used by shared array buffers.
+ */
+public final class ByteBufferAtomics {
+    private ByteBufferAtomics() {
+    }
+
+    @TruffleBoundary
+    public static int getIntVolatile(ByteBuffer buffer, int index) {
+        synchronized (buffer) {
+            return buffer.getInt(index);
+        }
+    }
+
+    @TruffleBoundary
+    public static void setIntVolatile(ByteBuffer buffer, int index, int value) {
+        synchronized (buffer) {
+            buffer.putInt(index, value);
+        }
+    }
+
+    @TruffleBoundary
+    public static int compareAndExchangeInt(ByteBuffer buffer, int index, int expected, int newValue) {
+        synchronized (buffer) {
+            int witness = buffer.getInt(index);
+            if (witness == expected) {
+                buffer.putInt(index, newValue);
+            }
+            return witness;
+        }
+    }
+
+    @TruffleBoundary
+    public static int getAndAddInt(ByteBuffer buffer, int index, int delta) {
+        synchronized (buffer) {
+            int previous = buffer.getInt(index);
+            buffer.putInt(index, previous + delta);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static int getAndBitwiseAndInt(ByteBuffer buffer, int index, int mask) {
+        synchronized (buffer) {
+            int previous = buffer.getInt(index);
+            buffer.putInt(index, previous & mask);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static int getAndBitwiseOrInt(ByteBuffer buffer, int index, int mask) {
+        synchronized (buffer) {
+            int previous = buffer.getInt(index);
+            buffer.putInt(index, previous | mask);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static int getAndBitwiseXorInt(ByteBuffer buffer, int index, int mask) {
+        synchronized (buffer) {
+            int previous = buffer.getInt(index);
+            buffer.putInt(index, previous ^ mask);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static int getAndSetInt(ByteBuffer buffer, int index, int newValue) {
+        synchronized (buffer) {
+            int previous = buffer.getInt(index);
+            buffer.putInt(index, newValue);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static long getLongVolatile(ByteBuffer buffer, int index) {
+        synchronized (buffer) {
+            return buffer.getLong(index);
+        }
+    }
+
+    @TruffleBoundary
+    public static void setLongVolatile(ByteBuffer buffer, int index, long value) {
+        synchronized (buffer) {
+            buffer.putLong(index, value);
+        }
+    }
+
+    @TruffleBoundary
+    public static long compareAndExchangeLong(ByteBuffer buffer, int index, long expected, long newValue) {
+        synchronized (buffer) {
+            long witness = buffer.getLong(index);
+            if (witness == expected) {
+                buffer.putLong(index, newValue);
+            }
+            return witness;
+        }
+    }
+
+    @TruffleBoundary
+    public static long getAndAddLong(ByteBuffer buffer, int index, long delta) {
+        synchronized (buffer) {
+            long previous = buffer.getLong(index);
+            buffer.putLong(index, previous + delta);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static long getAndBitwiseAndLong(ByteBuffer buffer, int index, long mask) {
+        synchronized (buffer) {
+            long previous = buffer.getLong(index);
+            buffer.putLong(index, previous & mask);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static long getAndBitwiseOrLong(ByteBuffer buffer, int index, long mask) {
+        synchronized (buffer) {
+            long previous = buffer.getLong(index);
+            buffer.putLong(index, previous | mask);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static long getAndBitwiseXorLong(ByteBuffer buffer, int index, long mask) {
+        synchronized (buffer) {
+            long previous = buffer.getLong(index);
+            buffer.putLong(index, previous ^ mask);
+            return previous;
+        }
+    }
+
+    @TruffleBoundary
+    public static long getAndSetLong(ByteBuffer buffer, int index, long newValue) {
+        synchronized (buffer) {
+            long previous = buffer.getLong(index);
+            buffer.putLong(index, newValue);
+            return previous;
+        }
+    }
+}
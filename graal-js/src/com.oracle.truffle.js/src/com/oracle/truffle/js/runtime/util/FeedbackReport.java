@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.objects.MegamorphicPropertyCache;
+
+/**
+ * Records the state of inline caches (property caches, function call caches, element access type
+ * caches) per source location, and every transition between states, for reporting at exit.
+ *
+ * Enabled with the {@code js.feedback-report} option. Sites are only recorded on cache transitions,
+ * which are slow-path operations, so there is no overhead in compiled code.
+ */
+public final class FeedbackReport {
+
+    public enum State {
+        MONOMORPHIC,
+        POLYMORPHIC,
+        MEGAMORPHIC
+    }
+
+    /** Maximum number of distinct names and transition reasons recorded per site. */
+    private static final int MAX_REASONS = 8;
+
+    private final Map<SiteKey, Site> sites = new LinkedHashMap<>();
+
+    /**
+     * Identifies a site by its source section, so that a polymorphic site is reported once, with
+     * all property keys or callee names seen there. Nodes without a source section are identified
+     * by the node itself.
+     */
+    private static final class SiteKey {
+        final Object site;
+        final String kind;
+
+        SiteKey(Object site, String kind) {
+            this.site = site;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SiteKey)) {
+                return false;
+            }
+            SiteKey other = (SiteKey) obj;
+            return site.equals(other.site) && kind.equals(other.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(site, kind);
+        }
+    }
+
+    private static final class Site {
+        final SiteKey key;
+        final String location;
+        final String code;
+        State state;
+        int entryCount;
+        int maxEntryCount;
+        int transitionCount;
+        final Set<String> names = new LinkedHashSet<>();
+        final Set<String> reasons = new LinkedHashSet<>();
+
+        Site(SiteKey key, String location, String code) {
+            this.key = key;
+            this.location = location;
+            this.code = code;
+        }
+
+        String getNames() {
+            return String.join("|", names);
+        }
+    }
+
+    /**
+     * Records a cache transition of an inline cache node.
+     *
+     * @param node the cache node
+     * @param kind the kind of site, e.g. "property get" or "call"
+     * @param name the property key or function name, if known
+     * @param entryCount the number of cached entries after the transition
+     * @param generic whether the cache has been replaced with a generic case, or has grown past the
+     *            cache limit (megamorphic)
+     * @param reason description of the transition
+     */
+    @TruffleBoundary
+    public void recordTransition(Node node, String kind, Object name, int entryCount, boolean generic, String reason) {
+        SourceSection sourceSection = node.getEncapsulatingSourceSection();
+        boolean hasSourceSection = sourceSection != null && sourceSection.isAvailable();
+        SiteKey key = new SiteKey(hasSourceSection ? sourceSection : node, kind);
+        synchronized (this) {
+            Site site = sites.get(key);
+            if (site == null) {
+                site = new Site(key, formatLocation(sourceSection), formatCode(sourceSection));
+                sites.put(key, site);
+            }
+            site.state = generic ? State.MEGAMORPHIC : (entryCount <= 1 ? State.MONOMORPHIC : State.POLYMORPHIC);
+            site.entryCount = entryCount;
+            site.maxEntryCount = Math.max(site.maxEntryCount, entryCount);
+            site.transitionCount++;
+            if (name != null && site.names.size() < MAX_REASONS) {
+                site.names.add(String.valueOf(name));
+            }
+            if (site.reasons.size() < MAX_REASONS) {
+                site.reasons.add(reason);
+            }
+        }
+    }
+
+    /**
+     * Removes all recorded sites.
+     */
+    public synchronized void reset() {
+        sites.clear();
+    }
+
+    private static String formatLocation(SourceSection sourceSection) {
+        if (sourceSection == null || !sourceSection.isAvailable()) {
+            return "<unknown>";
+        }
+        return sourceSection.getSource().getName() + ":" + sourceSection.getStartLine() + ":" + sourceSection.getStartColumn();
+    }
+
+    private static String formatCode(SourceSection sourceSection) {
+        if (sourceSection == null || !sourceSection.isAvailable()) {
+            return "";
+        }
+        String code = sourceSection.getCharacters().toString().replaceAll("\\s+", " ");
+        return code.length() > 60 ? code.substring(0, 57) + "..." : code;
+    }
+
+    private synchronized List<Site> getSortedSites() {
+        List<Site> list = new ArrayList<>(sites.values());
+        // megamorphic sites first, then by number of cache entries
+        list.sort(Comparator.comparing((Site s) -> s.state).reversed().thenComparing(Comparator.comparingInt((Site s) -> s.maxEntryCount).reversed()));
+        return list;
+    }
+
+    /**
+     * Prints the report as text.
+     *
+     * @param megamorphicCache the context's megamorphic property cache, or {@code null} if it is
+     *            disabled
+     */
+    @TruffleBoundary
+    public void printText(PrintWriter out, MegamorphicPropertyCache megamorphicCache) {
+        List<Site> list = getSortedSites();
+        int[] stateCounts = new int[State.values().length];
+        for (Site site : list) {
+            stateCounts[site.state.ordinal()]++;
+        }
+        out.println("Inline cache feedback report: " + list.size() + " sites (" + stateCounts[State.MEGAMORPHIC.ordinal()] + " megamorphic, " +
+                        stateCounts[State.POLYMORPHIC.ordinal()] + " polymorphic, " + stateCounts[State.MONOMORPHIC.ordinal()] + " monomorphic)");
+        if (megamorphicCache != null) {
+            out.println("Megamorphic property access sites using the lookup cache: " + megamorphicCache.getMegamorphicSiteCount());
+        }
+        for (Site site : list) {
+            out.printf("%-12s %-14s %-20s entries=%d max=%d transitions=%d at %s%n", site.state, site.key.kind, site.getNames(), site.entryCount, site.maxEntryCount, site.transitionCount,
+                            site.location);
+            if (!site.code.isEmpty()) {
+                out.println("    code:    " + site.code);
+            }
+            out.println("    reasons: " + String.join("; ", site.reasons));
+        }
+        out.flush();
+    }
+
+    /**
+     * Prints the report as JSON.
+     *
+     * @param megamorphicCache the context's megamorphic property cache, or {@code null} if it is
+     *            disabled
+     */
+    @TruffleBoundary
+    public void printJSON(PrintWriter out, MegamorphicPropertyCache megamorphicCache) {
+        List<Site> list = getSortedSites();
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        if (megamorphicCache != null) {
+            sb.append("\"megamorphicPropertySites\":").append(megamorphicCache.getMegamorphicSiteCount()).append(',');
+        }
+        sb.append("\"sites\":[");
+        boolean first = true;
+        for (Site site : list) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append("{\"location\":").append(JSRuntime.quote(site.location));
+            sb.append(",\"kind\":").append(JSRuntime.quote(site.key.kind));
+            sb.append(",\"name\":").append(JSRuntime.quote(site.getNames()));
+            sb.append(",\"code\":").append(JSRuntime.quote(site.code));
+            sb.append(",\"state\":").append(JSRuntime.quote(site.state.name().toLowerCase(Locale.ROOT)));
+            sb.append(",\"entries\":").append(site.entryCount);
+            sb.append(",\"maxEntries\":").append(site.maxEntryCount);
+            sb.append(",\"transitions\":").append(site.transitionCount);
+            sb.append(",\"reasons\":[");
+            boolean firstReason = true;
+            for (String reason : site.reasons) {
+                if (!firstReason) {
+                    sb.append(',');
+                }
+                firstReason = false;
+                sb.append(JSRuntime.quote(reason));
+            }
+            sb.append("]}");
+        }
+        sb.append("]}");
+        out.println(sb.toString());
+        out.flush();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.collections.EconomicSet;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
+
+/**
+ * The complete list of for-in keys of an object and its prototype chain, in enumeration order.
+ *
+ * Only applicable if the receiver and all of its prototypes have only shape properties. The cache
+ * is associated with the receiver shape and valid as long as the prototype chain consists of
+ * objects with the same shapes as when the cache was created.
+ *
+ * @see ForInIterator
+ */
+public final class ForInEnumCache {
+    /** Prototype chains longer than this are not cached. */
+    public static final int MAX_PROTOTYPE_CHAIN_LENGTH = 8;
+    private static final int MAX_PROTO_DEPTH = 1000;
+
+    private static final String[] EMPTY_STRING_ARRAY = new String[0];
+    private static final Shape[] EMPTY_SHAPE_ARRAY = new Shape[0];
+
+    private final Shape receiverShape;
+    /** Shapes of the prototypes, in prototype chain order. */
+    private final Shape[] prototypeShapes;
+    /** Enumerable string keys that are not shadowed by a preceding object in the chain. */
+    private final String[] keys;
+    /** Number of keys that are own properties of the receiver. */
+    private final int ownKeyCount;
+
+    private ForInEnumCache(Shape receiverShape, Shape[] prototypeShapes, String[] keys, int ownKeyCount) {
+        this.receiverShape = receiverShape;
+        this.prototypeShapes = prototypeShapes;
+        this.keys = keys;
+        this.ownKeyCount = ownKeyCount;
+    }
+
+    public Shape getReceiverShape() {
+        return receiverShape;
+    }
+
+    public Shape[] getPrototypeShapes() {
+        return prototypeShapes;
+    }
+
+    public String[] getKeys() {
+        return keys;
+    }
+
+    public int getOwnKeyCount() {
+        return ownKeyCount;
+    }
+
+    /**
+     * Returns the cached for-in keys of the object, creating and caching them if necessary, or
+     * {@code null} if the object or one of its prototypes is not eligible for caching.
+     */
+    @TruffleBoundary
+    public static ForInEnumCache lookup(DynamicObject receiver) {
+        assert JSConfig.FastOwnKeys;
+        if (!JSObject.getJSClass(receiver).hasOnlyShapeProperties(receiver)) {
+            return null;
+        }
+        Shape shape = receiver.getShape();
+        ForInEnumCache cache = JSShape.getForInEnumCache(shape);
+        if (cache != null && cache.isValidFor(receiver)) {
+            return cache;
+        }
+        cache = create(receiver);
+        if (cache != null) {
+            JSShape.setForInEnumCache(shape, cache);
+        }
+        return cache;
+    }
+
+    private static ForInEnumCache create(DynamicObject receiver) {
+        List<Shape> prototypeShapes = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        EconomicSet<Object> visitedKeys = EconomicSet.create();
+        int ownKeyCount = 0;
+        DynamicObject current = receiver;
+        while (current != Null.instance) {
+            if (prototypeShapes.size() > MAX_PROTOTYPE_CHAIN_LENGTH || !JSObject.getJSClass(current).hasOnlyShapeProperties(current)) {
+                return null;
+            }
+            Shape currentShape = current.getShape();
+            if (current != receiver) {
+                prototypeShapes.add(currentShape);
+            }
+            for (Property property : JSShape.getProperties(currentShape)) {
+                Object key = property.getKey();
+                if (key instanceof String && visitedKeys.add(key) && JSProperty.isEnumerable(property)) {
+                    keys.add((String) key);
+                }
+            }
+            if (current == receiver) {
+                ownKeyCount = keys.size();
+            }
+            current = JSObject.getPrototype(current);
+        }
+        return new ForInEnumCache(receiver.getShape(), prototypeShapes.toArray(EMPTY_SHAPE_ARRAY), keys.toArray(EMPTY_STRING_ARRAY), ownKeyCount);
+    }
+
+    /**
+     * Checks that the object still has the receiver shape and that its prototype chain is
+     * unchanged, i.e., all of the cached keys are still present and enumerable.
+     */
+    @TruffleBoundary
+    public boolean isValidFor(DynamicObject receiver) {
+        if (receiver.getShape() != receiverShape || !JSObject.getJSClass(receiver).hasOnlyShapeProperties(receiver)) {
+            return false;
+        }
+        DynamicObject current = receiver;
+        for (Shape prototypeShape : prototypeShapes) {
+            current = JSObject.getPrototype(current);
+            if (current.getShape() != prototypeShape || !JSObject.getJSClass(current).hasOnlyShapeProperties(current)) {
+                return false;
+            }
+        }
+        return JSObject.getPrototype(current) == Null.instance;
+    }
+
+    /**
+     * Slow path used when the object or its prototype chain has been modified during iteration.
+     * Returns true if the key is still present on the prototype chain and enumerable.
+     */
+    @TruffleBoundary
+    public static boolean isEnumerableInPrototypeChain(DynamicObject receiver, String key) {
+        DynamicObject current = receiver;
+        for (int depth = 0; current != Null.instance; depth++) {
+            // check for Proxy prototype cycles
+            if (depth > MAX_PROTO_DEPTH) {
+                throw Errors.createRangeErrorStackOverflow();
+            }
+            PropertyDescriptor desc = JSObject.getOwnProperty(current, key);
+            if (desc != null) {
+                return desc.getEnumerable();
+            }
+            current = JSObject.getPrototype(current);
+        }
+        return false;
+    }
+}
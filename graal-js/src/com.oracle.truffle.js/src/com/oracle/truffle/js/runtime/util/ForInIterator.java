@@ -64,15 +64,26 @@ public class ForInIterator {
     public boolean fastOwnKeys;
     public int protoDepth;
     public final boolean iterateValues;
+    /** Cached keys of the whole prototype chain, or {@code null} if not used. */
+    public final ForInEnumCache enumCache;
+    public int enumCacheIndex;
 
     public ForInIterator(DynamicObject obj, boolean iterateValues) {
+        this(obj, iterateValues, null);
+    }
+
+    public ForInIterator(DynamicObject obj, boolean iterateValues, ForInEnumCache enumCache) {
+        assert enumCache == null || enumCache.getReceiverShape() == obj.getShape();
         this.object = obj;
         this.iterateValues = iterateValues;
-        this.visitedShapes = new Shape[4];
+        this.enumCache = enumCache;
     }
 
     public void addVisitedShape(Shape shape, BranchProfile growBranch) {
-        if (visitedShapesSize >= visitedShapes.length) {
+        if (visitedShapes == null) {
+            growBranch.enter();
+            visitedShapes = new Shape[4];
+        } else if (visitedShapesSize >= visitedShapes.length) {
             growBranch.enter();
             visitedShapes = Arrays.copyOf(visitedShapes, visitedShapes.length * 2);
         }
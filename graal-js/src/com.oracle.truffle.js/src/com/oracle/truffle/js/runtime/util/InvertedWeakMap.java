@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Per-key storage of the values associated with the key by {@link WeakMap}s, referenced from the
+ * key object via a hidden property.
+ *
+ * The first two maps are stored inline; only keys that are used in more maps at the same time
+ * spill over into a {@link WeakHashMap}. Maps are referenced weakly via their
+ * {@link WeakMap#getReference() shared reference}, so inline entries can be matched by identity
+ * without dereferencing. Values are referenced strongly, i.e., they stay alive as long as the key
+ * object is alive and the map has not been collected; entries of collected maps are cleared
+ * whenever the key is accessed.
+ */
+public final class InvertedWeakMap {
+    private WeakReference<WeakMap> map0;
+    private Object value0;
+    private WeakReference<WeakMap> map1;
+    private Object value1;
+    private WeakHashMap<WeakMap, Object> overflow;
+
+    InvertedWeakMap() {
+    }
+
+    /**
+     * Returns the value associated with the map, or {@code null} if there is none.
+     */
+    public Object get(WeakMap map) {
+        WeakReference<WeakMap> ref = map.getReference();
+        if (map0 == ref) {
+            expungeStaleEntry1();
+            return value0;
+        } else if (map1 == ref) {
+            expungeStaleEntry0();
+            return value1;
+        }
+        return getSlowPath(map);
+    }
+
+    public boolean containsKey(WeakMap map) {
+        WeakReference<WeakMap> ref = map.getReference();
+        if (map0 == ref) {
+            expungeStaleEntry1();
+            return true;
+        } else if (map1 == ref) {
+            expungeStaleEntry0();
+            return true;
+        }
+        return containsKeySlowPath(map);
+    }
+
+    @TruffleBoundary
+    private Object getSlowPath(WeakMap map) {
+        expungeStaleEntries();
+        return overflow != null ? overflow.get(map) : null;
+    }
+
+    @TruffleBoundary
+    private boolean containsKeySlowPath(WeakMap map) {
+        expungeStaleEntries();
+        return overflow != null && overflow.containsKey(map);
+    }
+
+    /**
+     * Associates the value with the map and returns the previous value, or {@code null}.
+     */
+    public Object put(WeakMap map, Object value) {
+        assert value != null;
+        WeakReference<WeakMap> ref = map.getReference();
+        if (map0 == ref) {
+            expungeStaleEntry1();
+            Object previous = value0;
+            value0 = value;
+            return previous;
+        } else if (map1 == ref) {
+            expungeStaleEntry0();
+            Object previous = value1;
+            value1 = value;
+            return previous;
+        }
+        return putSlowPath(map, ref, value);
+    }
+
+    @TruffleBoundary
+    private Object putSlowPath(WeakMap map, WeakReference<WeakMap> ref, Object value) {
+        if (overflow != null && overflow.containsKey(map)) {
+            return overflow.put(map, value);
+        }
+        if (map0 == null || map0.get() == null) {
+            map0 = ref;
+            value0 = value;
+        } else if (map1 == null || map1.get() == null) {
+            map1 = ref;
+            value1 = value;
+        } else {
+            if (overflow == null) {
+                overflow = new WeakHashMap<>();
+            }
+            overflow.put(map, value);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value associated with the map and returns it, or {@code null} if there was none.
+     */
+    @TruffleBoundary
+    public Object remove(WeakMap map) {
+        WeakReference<WeakMap> ref = map.getReference();
+        Object previous = null;
+        if (map0 == ref) {
+            previous = value0;
+            map0 = null;
+            value0 = null;
+        } else if (map1 == ref) {
+            previous = value1;
+            map1 = null;
+            value1 = null;
+        } else if (overflow != null) {
+            previous = overflow.remove(map);
+        }
+        expungeStaleEntries();
+        return previous;
+    }
+
+    /**
+     * Clears entries of maps that have been collected, so that their values do not stay reachable
+     * from the key. Called on every access, including reads.
+     */
+    private void expungeStaleEntries() {
+        expungeStaleEntry0();
+        expungeStaleEntry1();
+        if (overflow != null && overflow.isEmpty()) {
+            overflow = null;
+        }
+    }
+
+    private void expungeStaleEntry0() {
+        if (map0 != null && map0.get() == null) {
+            map0 = null;
+            value0 = null;
+        }
+    }
+
+    private void expungeStaleEntry1() {
+        if (map1 != null && map1.get() == null) {
+            map1 = null;
+            value1 = null;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSShape;
+
+/**
+ * Counts, per {@link Shape}, the number of allocated instances, property reads and writes through
+ * cached and uncached (generic) property access paths, shape transitions out of the shape, and
+ * conversions to dictionary mode, for finding object types that degrade performance.
+ *
+ * Enabled with the {@code js.shape-statistics} option, which prints a ranked report at exit. The
+ * current statistics are also available via {@code Graal.shapeStatistics()}. Cached accesses are
+ * counted by the property cache entry for the shape, so there is no map lookup on the fast path.
+ * Accesses with computed property keys ({@code obj[key]}) are counted, but integer-indexed element
+ * accesses are not, since elements are not stored in the shape. Counters are not synchronized and
+ * therefore approximate when multiple threads are involved.
+ *
+ * Shapes are only weakly referenced, so that the statistics do not keep shapes, their prototypes and
+ * realms alive. An entry keeps a description of its shape and remains in the report after the
+ * shape has been collected.
+ */
+public final class ShapeStatistics {
+
+    /** Maximum number of property keys included in the description of a shape. */
+    private static final int MAX_KEYS = 6;
+
+    private final Map<Shape, Entry> entriesByShape = new WeakHashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private long dictionaryConversions;
+
+    public static final class Counter {
+        private long count;
+
+        public void increment() {
+            count++;
+        }
+
+        public long get() {
+            return count;
+        }
+
+        void reset() {
+            count = 0;
+        }
+    }
+
+    public static final class Entry {
+        final String description;
+        final Counter allocations = new Counter();
+        final Counter cachedReads = new Counter();
+        final Counter cachedWrites = new Counter();
+        final Counter uncachedReads = new Counter();
+        final Counter uncachedWrites = new Counter();
+        final Counter transitions = new Counter();
+        final Counter dictionaryConversions = new Counter();
+        String dictionaryReason;
+
+        Entry(String description) {
+            this.description = description;
+        }
+
+        public Counter getCachedReads() {
+            return cachedReads;
+        }
+
+        public Counter getCachedWrites() {
+            return cachedWrites;
+        }
+
+        public Counter getTransitions() {
+            return transitions;
+        }
+
+        void reset() {
+            allocations.reset();
+            cachedReads.reset();
+            cachedWrites.reset();
+            uncachedReads.reset();
+            uncachedWrites.reset();
+            transitions.reset();
+            dictionaryConversions.reset();
+            dictionaryReason = null;
+        }
+
+        long getAccessCount() {
+            return cachedReads.get() + cachedWrites.get() + uncachedReads.get() + uncachedWrites.get();
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized Entry getEntry(Shape shape) {
+        Entry entry = entriesByShape.get(shape);
+        if (entry == null) {
+            entry = new Entry(describe(shape));
+            entriesByShape.put(shape, entry);
+            entries.add(entry);
+        }
+        return entry;
+    }
+
+    private Entry getEntry(DynamicObject object) {
+        return getEntry(object.getShape());
+    }
+
+    @TruffleBoundary
+    public void recordAllocation(DynamicObject object) {
+        getEntry(object).allocations.increment();
+    }
+
+    @TruffleBoundary
+    public void recordUncachedRead(DynamicObject object) {
+        getEntry(object).uncachedReads.increment();
+    }
+
+    /**
+     * Records a write through the generic property access path.
+     *
+     * @param shapeBefore the shape of the object before the write
+     */
+    @TruffleBoundary
+    public void recordUncachedWrite(DynamicObject object, Shape shapeBefore) {
+        Entry entry = getEntry(shapeBefore);
+        entry.uncachedWrites.increment();
+        if (object.getShape() != shapeBefore) {
+            entry.transitions.increment();
+        }
+    }
+
+    @TruffleBoundary
+    public void recordDictionaryConversion(DynamicObject object, String reason) {
+        Entry entry = getEntry(object);
+        entry.dictionaryConversions.increment();
+        entry.dictionaryReason = reason;
+        synchronized (this) {
+            dictionaryConversions++;
+        }
+    }
+
+    /**
+     * Resets all counters. Entries of collected shapes are removed; the other entries are kept,
+     * since property caches keep counting into them.
+     */
+    public synchronized void reset() {
+        Set<Entry> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        live.addAll(entriesByShape.values());
+        entries.retainAll(live);
+        for (Entry entry : entries) {
+            entry.reset();
+        }
+        dictionaryConversions = 0;
+    }
+
+    /**
+     * Name of the constructor of the prototype stored in the shape, if any.
+     */
+    private static String getTypeName(Shape shape) {
+        Property protoProperty = JSShape.getPrototypeProperty(shape);
+        if (protoProperty != null && protoProperty.getLocation().isConstant()) {
+            Object proto = protoProperty.getLocation().get(null);
+            if (proto instanceof DynamicObject) {
+                Object constructor = JSDynamicObject.getOrNull((DynamicObject) proto, JSObject.CONSTRUCTOR);
+                if (JSFunction.isJSFunction(constructor)) {
+                    return JSFunction.getName((DynamicObject) constructor);
+                }
+            }
+        }
+        return "";
+    }
+
+    private static String describe(Shape shape) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(JSShape.getJSClass(shape).getClass().getSimpleName());
+        String typeName = getTypeName(shape);
+        if (!typeName.isEmpty()) {
+            sb.append(' ').append(typeName);
+        }
+        sb.append(" {");
+        List<Object> keys = JSShape.getPropertyKeyList(shape, true, true);
+        for (int i = 0; i < keys.size() && i < MAX_KEYS; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keys.get(i));
+        }
+        if (keys.size() > MAX_KEYS) {
+            sb.append(", ... (").append(keys.size()).append(" properties)");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    private synchronized List<Entry> getSortedEntries() {
+        List<Entry> list = new ArrayList<>(entries);
+        // shapes converted to dictionary mode first, then by number of property accesses
+        list.sort(Comparator.comparingLong((Entry e) -> e.dictionaryConversions.get()).reversed().thenComparing(
+                        Comparator.comparingLong((Entry e) -> e.getAccessCount() + e.allocations.get()).reversed()));
+        return list;
+    }
+
+    @TruffleBoundary
+    public void printText(PrintWriter out) {
+        List<Entry> list = getSortedEntries();
+        out.println("Shape statistics: " + list.size() + " shapes, " + dictionaryConversions + " dictionary mode conversions");
+        for (Entry entry : list) {
+            out.printf("%s%n    allocations=%d cachedReads=%d cachedWrites=%d uncachedReads=%d uncachedWrites=%d transitions=%d dictionaryConversions=%d%n", entry.description,
+                            entry.allocations.get(), entry.cachedReads.get(), entry.cachedWrites.get(), entry.uncachedReads.get(), entry.uncachedWrites.get(), entry.transitions.get(),
+                            entry.dictionaryConversions.get());
+            if (entry.dictionaryReason != null) {
+                out.println("    dictionary mode reason: " + entry.dictionaryReason);
+            }
+        }
+        out.flush();
+    }
+
+    @TruffleBoundary
+    public String toJSON() {
+        List<Entry> list = getSortedEntries();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"dictionaryConversions\":").append(dictionaryConversions);
+        sb.append(",\"shapes\":[");
+        boolean first = true;
+        for (Entry entry : list) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append("{\"shape\":").append(JSRuntime.quote(entry.description));
+            sb.append(",\"allocations\":").append(entry.allocations.get());
+            sb.append(",\"cachedReads\":").append(entry.cachedReads.get());
+            sb.append(",\"cachedWrites\":").append(entry.cachedWrites.get());
+            sb.append(",\"uncachedReads\":").append(entry.uncachedReads.get());
+            sb.append(",\"uncachedWrites\":").append(entry.uncachedWrites.get());
+            sb.append(",\"transitions\":").append(entry.transitions.get());
+            sb.append(",\"dictionaryConversions\":").append(entry.dictionaryConversions.get());
+            if (entry.dictionaryReason != null) {
+                sb.append(",\"dictionaryReason\":").append(JSRuntime.quote(entry.dictionaryReason));
+            }
+            sb.append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    @TruffleBoundary
+    public void printJSON(PrintWriter out) {
+        out.println(toJSON());
+        out.flush();
+    }
+}
@@ -40,11 +40,10 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.HiddenKey;
@@ -56,12 +55,25 @@ import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 
 /**
- * JavaScript WeakMap.
+ * JavaScript WeakMap and WeakSet.
+ *
+ * Entries are not stored in the map itself but in an {@link InvertedWeakMap} attached to the key
+ * object, so that an entry does not outlive its key.
  */
 public class WeakMap implements Map<DynamicObject, Object> {
     private static final HiddenKey INVERTED_WEAK_MAP_KEY = new HiddenKey("InvertedWeakMap");
 
+    private final WeakReference<WeakMap> reference;
+
     public WeakMap() {
+        this.reference = new WeakReference<>(this);
+    }
+
+    /**
+     * Weak reference to this map, shared by all entries of this map.
+     */
+    WeakReference<WeakMap> getReference() {
+        return reference;
     }
 
     public static PropertyGetNode createInvertedKeyMapGetNode(JSContext context) {
@@ -79,21 +91,12 @@ public class WeakMap implements Map<DynamicObject, Object> {
         return (DynamicObject) key;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<WeakMap, Object> getInvertedMap(DynamicObject k, boolean put) {
-        if (JSDynamicObject.hasProperty(k, INVERTED_WEAK_MAP_KEY)) {
-            return (WeakHashMap<WeakMap, Object>) JSDynamicObject.getOrNull(k, INVERTED_WEAK_MAP_KEY);
-        } else {
-            if (put) {
-                return putInvertedMap(k);
-            } else {
-                return Collections.emptyMap();
-            }
-        }
+    private static InvertedWeakMap getInvertedMap(DynamicObject k) {
+        return (InvertedWeakMap) JSDynamicObject.getOrNull(k, INVERTED_WEAK_MAP_KEY);
     }
 
-    private static WeakHashMap<WeakMap, Object> putInvertedMap(DynamicObject k) {
-        WeakHashMap<WeakMap, Object> invertedMap = new WeakHashMap<>();
+    private static InvertedWeakMap putInvertedMap(DynamicObject k) {
+        InvertedWeakMap invertedMap = new InvertedWeakMap();
         boolean wasExtensible = false;
         assert (wasExtensible = ((JSDynamicObject.getObjectFlags(k) & JSShape.NOT_EXTENSIBLE_FLAG) == 0)) || Boolean.TRUE;
         JSObjectUtil.putHiddenProperty(k, INVERTED_WEAK_MAP_KEY, invertedMap);
@@ -103,26 +106,30 @@ public class WeakMap implements Map<DynamicObject, Object> {
 
     @Override
     public boolean containsKey(Object key) {
-        DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).containsKey(this);
+        InvertedWeakMap invertedMap = getInvertedMap(checkKey(key));
+        return invertedMap != null && invertedMap.containsKey(this);
     }
 
     @Override
     public Object get(Object key) {
-        DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).get(this);
+        InvertedWeakMap invertedMap = getInvertedMap(checkKey(key));
+        return invertedMap == null ? null : invertedMap.get(this);
     }
 
     @Override
     public Object put(DynamicObject key, Object value) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, true).put(this, value);
+        InvertedWeakMap invertedMap = getInvertedMap(k);
+        if (invertedMap == null) {
+            invertedMap = putInvertedMap(k);
+        }
+        return invertedMap.put(this, value);
     }
 
     @Override
     public Object remove(Object key) {
-        DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).remove(this);
+        InvertedWeakMap invertedMap = getInvertedMap(checkKey(key));
+        return invertedMap == null ? null : invertedMap.remove(this);
     }
 
     @Override